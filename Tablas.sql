@@ -1,9 +1,13 @@
 -- Secuencia para productos
+-- INCREMENT BY debe coincidir con allocationSize de la entidad: Hibernate reserva bloques de 50 IDs (pooled-lo)
+-- Empieza después de los IDs fijos de los productos de ejemplo (1 a 3)
 CREATE SEQUENCE seq_productos 
-    START WITH 1 
-    INCREMENT BY 1 
+    START WITH 51 
+    INCREMENT BY 50 
     CACHE 20 
     NOCYCLE;
+-- Para una base existente creada con INCREMENT BY 1:
+-- ALTER SEQUENCE seq_productos INCREMENT BY 50;
 -- Tabla de productos
 CREATE TABLE productos (
     id NUMBER PRIMARY KEY,
@@ -12,11 +16,30 @@ CREATE TABLE productos (
     descripcion CLOB,
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    activo CHAR(1) DEFAULT 'Y' CHECK (activo IN ('Y', 'N'))
+    activo CHAR(1) DEFAULT 'Y' CHECK (activo IN ('Y', 'N')),
+    -- Nombre en mayúsculas y sin tildes (lo calcula la aplicación) y su versión solo para activos
+    nombre_normalizado VARCHAR2(255),
+    nombre_activo VARCHAR2(255) GENERATED ALWAYS AS (CASE WHEN activo = 'Y' THEN nombre_normalizado END) VIRTUAL
 );
 -- Índices para optimizar consultas
 CREATE INDEX idx_productos_nombre ON productos(nombre);
 CREATE INDEX idx_productos_activo ON productos(activo);
+-- Índice compuesto para la paginación por cursor (WHERE activo = ? AND id > ? ORDER BY id)
+CREATE INDEX idx_productos_activo_id ON productos(activo, id);
+-- Índice para rangos de precio (WHERE activo = ? AND precio BETWEEN ? AND ? ORDER BY precio, id)
+CREATE INDEX idx_productos_activo_precio ON productos(activo, precio);
+-- Índice para el feed de cambios (WHERE (fecha_actualizacion, id) > (?, ?) ORDER BY fecha_actualizacion, id)
+CREATE INDEX idx_productos_fecha_act_id ON productos(fecha_actualizacion, id);
+-- Unicidad del nombre entre productos activos (los NULL de inactivos no entran al índice)
+CREATE UNIQUE INDEX ux_productos_nombre_activo ON productos(nombre_activo);
+-- Para una base existente:
+-- ALTER TABLE productos ADD (nombre_normalizado VARCHAR2(255));
+-- ALTER TABLE productos ADD (nombre_activo VARCHAR2(255) GENERATED ALWAYS AS (CASE WHEN activo = 'Y' THEN nombre_normalizado END) VIRTUAL);
+-- Arrancar la aplicación: completa nombre_normalizado con la misma normalización que usa al insertar
+-- (RellenoNombresNormalizados). No calcularlo con TRANSLATE/TRIM: no descarta todas las marcas diacríticas
+-- ni los caracteres de control y el índice único dejaría pasar duplicados. Después, revisar los duplicados
+-- que reporte el log y crear el índice:
+-- CREATE UNIQUE INDEX ux_productos_nombre_activo ON productos(nombre_activo);
 -- Trigger para auto-incrementar ID y actualizar fecha
 CREATE OR REPLACE TRIGGER trg_productos_bi
     BEFORE INSERT ON productos
@@ -109,17 +132,17 @@ BEGIN
 END;
 /
 
--- Insertar productos de ejemplo (los IDs se generan automáticamente)
-INSERT INTO productos (nombre, precio, descripcion) VALUES 
-('Laptop Dell XPS 13', 1299.99, 'Laptop ultrabook con procesador Intel i7');
+-- Insertar productos de ejemplo con IDs fijos: la secuencia avanza de 50 en 50 y el inventario los referencia
+INSERT INTO productos (id, nombre, precio, descripcion) VALUES 
+(1, 'Laptop Dell XPS 13', 1299.99, 'Laptop ultrabook con procesador Intel i7');
 
-INSERT INTO productos (nombre, precio, descripcion) VALUES 
-('Mouse Logitech MX Master', 89.99, 'Mouse inalámbrico ergonómico');
+INSERT INTO productos (id, nombre, precio, descripcion) VALUES 
+(2, 'Mouse Logitech MX Master', 89.99, 'Mouse inalámbrico ergonómico');
 
-INSERT INTO productos (nombre, precio, descripcion) VALUES 
-('Teclado Mecánico Keychron K2', 79.95, 'Teclado mecánico inalámbrico compacto');
+INSERT INTO productos (id, nombre, precio, descripcion) VALUES 
+(3, 'Teclado Mecánico Keychron K2', 79.95, 'Teclado mecánico inalámbrico compacto');
 
--- Insertar inventario inicial (usando los IDs generados)
+-- Insertar inventario inicial (IDs de los productos de ejemplo)
 INSERT INTO inventario (producto_id, cantidad, cantidad_minima) VALUES 
 (1, 25, 5);
 
@@ -0,0 +1,78 @@
+package com.jsuarez.inventario_api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Presupuesto global de reintentos hacia el microservicio de productos
+ * Cada llamada aporta una fracción de reintento (proporcion) y cada reintento gasta uno completo, con un
+ * máximo acumulable: los reintentos no superan esa proporción de las llamadas más la reserva inicial.
+ * Cuando el microservicio falla de forma sostenida el presupuesto se agota y las fallas se reportan
+ * sin reintentar, en lugar de multiplicar la carga sobre un servicio que ya no responde
+ */
+@Component
+@Slf4j
+public class PresupuestoReintentos {
+
+    private final double proporcion;
+    private final double maximo;
+    private final Counter rechazados;
+
+    // Protegido por this
+    private double disponibles;
+
+    @Autowired
+    public PresupuestoReintentos(@Value("${microservicio.productos.reintentos.proporcion:0.1}") double proporcion,
+                                 @Value("${microservicio.productos.reintentos.maximo:10}") double maximo,
+                                 MeterRegistry meterRegistry) {
+        this.proporcion = proporcion;
+        this.maximo = maximo;
+        this.disponibles = maximo;
+
+        this.rechazados = Counter.builder("inventario.productos.reintentos.rechazados")
+                .description("Reintentos no realizados por falta de presupuesto")
+                .register(meterRegistry);
+        Gauge.builder("inventario.productos.reintentos.disponibles", this, PresupuestoReintentos::getDisponibles)
+                .description("Reintentos disponibles en el presupuesto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra una llamada al microservicio: aporta su fracción al presupuesto
+     */
+    public synchronized void registrarLlamada() {
+        disponibles = Math.min(maximo, disponibles + proporcion);
+    }
+
+    /**
+     * Indica si el presupuesto alcanza para un reintento, sin gastarlo
+     */
+    public synchronized boolean hayDisponibles() {
+        return disponibles >= 1;
+    }
+
+    /**
+     * Gasta un reintento ya decidido. Dos reintentos concurrentes pueden pasar la misma verificación:
+     * el saldo puede quedar brevemente negativo y se recupera con las llamadas siguientes
+     */
+    public synchronized void gastarReintento() {
+        disponibles -= 1;
+    }
+
+    /**
+     * Registra una falla transitoria que no se reintentó por falta de presupuesto
+     */
+    public void registrarRechazo() {
+        rechazados.increment();
+        log.warn("⚠️ Presupuesto de reintentos agotado, no se reintenta la llamada al microservicio de productos");
+    }
+
+    public synchronized double getDisponibles() {
+        return disponibles;
+    }
+}
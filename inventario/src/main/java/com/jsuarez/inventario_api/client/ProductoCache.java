@@ -0,0 +1,120 @@
+package com.jsuarez.inventario_api.client;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.jsuarez.inventario_api.dto.ProductoSimple;
+import com.jsuarez.inventario_api.dto.ProductosPorIdsResultado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache local de los datos de productos delante de ProductoClient
+ * Una entrada con más de ttl-segundos se sigue entregando mientras se refresca en segundo plano
+ * (stale-while-revalidate); si el refresco falla porque el microservicio no responde se conserva la
+ * entrada anterior. Pasados antiguedad-maxima-segundos sin un refresco exitoso la entrada se descarta
+ * y la siguiente consulta vuelve a ir al microservicio. Los productos no encontrados no se guardan
+ */
+@Component
+@Slf4j
+public class ProductoCache {
+
+    private final ProductoClient productoClient;
+    private final LoadingCache<Long, ProductoSimple> cache;
+
+    @Autowired
+    public ProductoCache(ProductoClient productoClient,
+                         @Value("${microservicio.productos.cache.maximo-elementos:10000}") long maximoElementos,
+                         @Value("${microservicio.productos.cache.ttl-segundos:60}") long ttlSegundos,
+                         @Value("${microservicio.productos.cache.antiguedad-maxima-segundos:3600}") long antiguedadMaximaSegundos) {
+        // Los refrescos esperan la respuesta HTTP en un hilo virtual
+        this(productoClient, maximoElementos, Duration.ofSeconds(ttlSegundos), Duration.ofSeconds(antiguedadMaximaSegundos),
+                Ticker.systemTicker(), Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ProductoCache(ProductoClient productoClient, long maximoElementos, Duration ttl, Duration antiguedadMaxima,
+                  Ticker ticker, Executor executor) {
+        this.productoClient = productoClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximoElementos)
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(antiguedadMaxima)
+                .ticker(ticker)
+                .executor(executor)
+                .build(this::cargar);
+    }
+
+    /**
+     * Obtiene un producto de la cache o, si no está, del microservicio de productos
+     *
+     * @param productoId ID del producto
+     * @return Optional con el producto si existe
+     * @throws RuntimeException si el producto no está en la cache y el microservicio no responde
+     */
+    public Optional<ProductoSimple> obtenerProductoPorId(Long productoId) {
+        return Optional.ofNullable(cache.get(productoId));
+    }
+
+    /**
+     * Obtiene varios productos: los que están en la cache se entregan sin consultar al microservicio
+     * (los vencidos se refrescan en segundo plano) y los demás se piden en bloque con ProductoClient
+     *
+     * @param productoIds IDs de los productos (se ignoran repetidos y nulos)
+     * @return Productos encontrados por ID y los IDs que no se pudieron consultar
+     */
+    public ProductosPorIdsResultado obtenerProductosPorIds(Collection<Long> productoIds) {
+        Map<Long, ProductoSimple> encontrados = new HashMap<>();
+        List<Long> faltantes = productoIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(id -> {
+                    ProductoSimple producto = cache.getIfPresent(id);
+                    if (producto != null) {
+                        encontrados.put(id, producto);
+                    }
+                    return producto == null;
+                })
+                .toList();
+
+        if (faltantes.isEmpty()) {
+            return new ProductosPorIdsResultado(encontrados, new HashSet<>());
+        }
+
+        log.debug("Productos en cache: {}, a consultar en el microservicio: {}", encontrados.size(), faltantes.size());
+        ProductosPorIdsResultado consultados = productoClient.obtenerProductosPorIds(faltantes);
+        consultados.getEncontrados().forEach((id, producto) -> {
+            ProductoSimple sellado = sellar(producto);
+            cache.put(id, sellado);
+            encontrados.put(id, sellado);
+        });
+        return new ProductosPorIdsResultado(encontrados, consultados.getNoDisponibles());
+    }
+
+    /**
+     * Carga o refresca una entrada; retornar null quita el producto de la cache (ya no existe)
+     * y una excepción en un refresco conserva la entrada anterior
+     */
+    private ProductoSimple cargar(Long productoId) {
+        return productoClient.obtenerProductoPorId(productoId)
+                .map(this::sellar)
+                .orElse(null);
+    }
+
+    private ProductoSimple sellar(ProductoSimple producto) {
+        return new ProductoSimple(producto.getId(), producto.getNombre(), producto.getPrecio(), Instant.now());
+    }
+}
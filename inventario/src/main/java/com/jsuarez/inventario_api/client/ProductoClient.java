@@ -1,23 +1,45 @@
 package com.jsuarez.inventario_api.client;
 
 import com.jsuarez.inventario_api.dto.*;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class ProductoClient {
+public class ProductoClient implements DisposableBean {
 
     private final RestTemplate restTemplate;
+    private final ResilienciaProductos resiliencia;
 
     @Value("${microservicio.productos.url:http://localhost:8080}")
     private String productosBaseUrl;
@@ -25,6 +47,18 @@ public class ProductoClient {
     @Value("${api.key}")
     private String apiKey;
 
+    @Value("${microservicio.productos.ids-por-peticion:25}")
+    private int idsPorPeticion = 25;
+
+    @Value("${microservicio.productos.peticiones-simultaneas:4}")
+    private int peticionesSimultaneas = 4;
+
+    @Value("${microservicio.productos.timeout-pagina-ms:3000}")
+    private long timeoutPaginaMs = 3000;
+
+    // Un hilo virtual por petición: la espera de la respuesta HTTP no ocupa un hilo de plataforma
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
     /**
      * Obtiene un producto por su ID desde el microservicio de productos
      * 
@@ -47,12 +81,12 @@ public class ProductoClient {
             log.debug("Realizando petición GET a: {}", url);
             
             // Usar ProductoIndividualResponse para productos individuales
-            ResponseEntity<ProductoIndividualResponse> response = restTemplate.exchange(
+            ResponseEntity<ProductoIndividualResponse> response = resiliencia.ejecutar(() -> restTemplate.exchange(
                 url, 
                 HttpMethod.GET, 
                 entity, 
                 ProductoIndividualResponse.class
-            );
+            ));
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 ProductoIndividualResponse individualResponse = response.getBody();
@@ -79,16 +113,134 @@ public class ProductoClient {
             
         } catch (ResourceAccessException e) {
             log.error("❌ Error de conectividad al consultar producto ID {}: {}", productoId, e.getMessage());
-            System.out.println("❌ No se puede conectar con el microservicio de productos - Verifique que esté ejecutándose");
             throw new RuntimeException("No se pudo conectar con el microservicio de productos. Verifique que esté ejecutándose.");
             
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // Rechazo inmediato sin llamar al microservicio: circuito abierto o demasiadas llamadas en curso
+            log.warn("⚡ Consulta del producto ID {} rechazada: {}", productoId, e.getMessage());
+            throw new RuntimeException("No se pudo conectar con el microservicio de productos: " + e.getMessage());
+            
         } catch (Exception e) {
             log.error("❌ Error inesperado al consultar producto ID {}: {}", productoId, e.getMessage(), e);
-            System.out.println("❌ Error interno al comunicarse con microservicio de productos");
             throw new RuntimeException("Error interno al consultar producto: " + e.getMessage());
         }
     }
 
+    /**
+     * Obtiene varios productos por ID con una petición por cada bloque de IDs (GET /productos?ids=)
+     * en lugar de una petición por producto. Los bloques se consultan en paralelo (como máximo
+     * peticiones-simultaneas a la vez) y todos deben responder antes de timeout-pagina-ms.
+     * Los IDs de un bloque que falla o no responde a tiempo quedan como no disponibles
+     * 
+     * @param productoIds IDs de los productos (se ignoran repetidos y nulos)
+     * @return Productos encontrados por ID y los IDs que no se pudieron consultar
+     */
+    public ProductosPorIdsResultado obtenerProductosPorIds(Collection<Long> productoIds) {
+        List<Long> ids = productoIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutPaginaMs);
+        Semaphore permisos = new Semaphore(peticionesSimultaneas);
+        
+        Map<List<Long>, Future<List<ProductoSimple>>> peticiones = new LinkedHashMap<>();
+        for (int desde = 0; desde < ids.size(); desde += idsPorPeticion) {
+            List<Long> bloque = ids.subList(desde, Math.min(desde + idsPorPeticion, ids.size()));
+            peticiones.put(bloque, executor.submit(() -> consultarBloque(bloque, permisos, limite)));
+        }
+        
+        Map<Long, ProductoSimple> encontrados = new HashMap<>();
+        Set<Long> noDisponibles = new HashSet<>();
+        
+        Iterator<Map.Entry<List<Long>, Future<List<ProductoSimple>>>> pendientes = peticiones.entrySet().iterator();
+        while (pendientes.hasNext()) {
+            Map.Entry<List<Long>, Future<List<ProductoSimple>>> peticion = pendientes.next();
+            List<Long> bloque = peticion.getKey();
+            try {
+                long restante = Math.max(limite - System.nanoTime(), 0);
+                for (ProductoSimple producto : peticion.getValue().get(restante, TimeUnit.NANOSECONDS)) {
+                    encontrados.put(producto.getId(), producto);
+                }
+            } catch (TimeoutException e) {
+                peticion.getValue().cancel(true);
+                log.warn("⏱️ {} productos sin respuesta antes de {} ms, se marcan como no disponibles", 
+                        bloque.size(), timeoutPaginaMs);
+                noDisponibles.addAll(bloque);
+            } catch (ExecutionException e) {
+                log.error("❌ Error al consultar {} productos en el microservicio de productos: {}", 
+                         bloque.size(), e.getCause().getMessage());
+                noDisponibles.addAll(bloque);
+            } catch (InterruptedException e) {
+                // Se abandona la página: los bloques que no terminaron (este incluido) quedan no disponibles
+                Thread.currentThread().interrupt();
+                log.warn("⚠️ Consulta de productos interrumpida, los bloques pendientes se marcan como no disponibles");
+                recogerSinEsperar(peticion, encontrados, noDisponibles);
+                pendientes.forEachRemaining(pendiente -> recogerSinEsperar(pendiente, encontrados, noDisponibles));
+                break;
+            }
+        }
+        
+        log.debug("Productos por ID - pedidos: {}, encontrados: {}, no disponibles: {}, peticiones: {}", 
+                 ids.size(), encontrados.size(), noDisponibles.size(), peticiones.size());
+        return new ProductosPorIdsResultado(encontrados, noDisponibles);
+    }
+
+    /**
+     * Toma los productos de un bloque que ya respondió; si no terminó bien lo cancela y marca sus IDs como no disponibles
+     */
+    private static void recogerSinEsperar(Map.Entry<List<Long>, Future<List<ProductoSimple>>> peticion,
+                                          Map<Long, ProductoSimple> encontrados, Set<Long> noDisponibles) {
+        Future<List<ProductoSimple>> futuro = peticion.getValue();
+        if (futuro.state() == Future.State.SUCCESS) {
+            futuro.resultNow().forEach(producto -> encontrados.put(producto.getId(), producto));
+        } else {
+            futuro.cancel(true);
+            noDisponibles.addAll(peticion.getKey());
+        }
+    }
+
+    /**
+     * Consulta un bloque cuando hay un permiso libre; si no lo obtiene antes del límite no hace la petición
+     */
+    private List<ProductoSimple> consultarBloque(List<Long> bloque, Semaphore permisos, long limite) 
+            throws InterruptedException, TimeoutException {
+        if (!permisos.tryAcquire(Math.max(limite - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Sin permiso para consultar antes del límite de la página");
+        }
+        try {
+            return consultarBloque(bloque);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private List<ProductoSimple> consultarBloque(List<Long> bloque) {
+        String url = UriComponentsBuilder.fromUriString(productosBaseUrl)
+                .path("/productos")
+                .queryParam("ids", bloque.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .toUriString();
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-Key", apiKey);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        
+        log.debug("Realizando petición GET a: {}", url);
+        
+        ResponseEntity<ProductosPorIdsResponse> response = resiliencia.ejecutar(() -> restTemplate.exchange(
+            url,
+            HttpMethod.GET,
+            new HttpEntity<>(headers),
+            ProductosPorIdsResponse.class
+        ));
+        
+        ProductosPorIdsResponse body = response.getBody();
+        if (body == null || body.getData() == null) {
+            throw new IllegalStateException("Respuesta sin datos del microservicio de productos");
+        }
+        return body.getData().getProductos() != null ? body.getData().getProductos() : List.of();
+    }
+
     /**
      * Verifica si un producto existe en el microservicio de productos
      * 
@@ -99,4 +251,9 @@ public class ProductoClient {
         log.debug("Verificando existencia del producto ID: {}", productoId);
         return obtenerProductoPorId(productoId).isPresent();
     }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.jsuarez.inventario_api.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.function.Supplier;
+
+/**
+ * Protección de las llamadas al microservicio de productos (instancias "productos" de Resilience4j)
+ * - Retry: reintenta las fallas transitorias con espera exponencial aleatoria, dentro del PresupuestoReintentos
+ * - Bulkhead: limita las llamadas en curso; las que no obtienen lugar fallan sin esperar al microservicio
+ * - Circuit breaker: cuando la tasa de fallas o de llamadas lentas supera el umbral, las llamadas fallan
+ *   de inmediato (CallNotPermittedException) en lugar de esperar los timeouts de conexión y lectura
+ * Configuración en application.properties (resilience4j.*.instances.productos)
+ */
+@Component
+@Slf4j
+public class ResilienciaProductos {
+
+    public static final String INSTANCIA = "productos";
+
+    private final Retry retry;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final PresupuestoReintentos presupuesto;
+
+    public ResilienciaProductos(RetryRegistry retryRegistry, BulkheadRegistry bulkheadRegistry,
+                                CircuitBreakerRegistry circuitBreakerRegistry, PresupuestoReintentos presupuesto) {
+        this.retry = retryRegistry.retry(INSTANCIA);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCIA);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCIA);
+        this.presupuesto = presupuesto;
+
+        circuitBreaker.getEventPublisher().onStateTransition(evento ->
+                log.warn("⚡ Circuit breaker del microservicio de productos: {}", evento.getStateTransition()));
+
+        // El presupuesto se gasta solo en los reintentos que realmente se hacen; una falla transitoria
+        // ignorada por el predicado de reintentos es una rechazada por falta de presupuesto
+        retry.getEventPublisher()
+                .onRetry(evento -> presupuesto.gastarReintento())
+                .onIgnoredError(evento -> {
+                    if (esFallaTransitoria(evento.getLastThrowable())) {
+                        presupuesto.registrarRechazo();
+                    }
+                });
+    }
+
+    /**
+     * Ejecuta una llamada al microservicio con reintentos, bulkhead y circuit breaker
+     * El bulkhead queda fuera del circuit breaker: los rechazos por exceso de llamadas en curso
+     * no cuentan como fallas del microservicio. Las esperas entre reintentos no ocupan lugar en el bulkhead
+     *
+     * @param llamada Petición HTTP al microservicio
+     * @return Resultado de la llamada
+     */
+    public <T> T ejecutar(Supplier<T> llamada) {
+        Supplier<T> protegida = Retry.decorateSupplier(retry,
+                Bulkhead.decorateSupplier(bulkhead,
+                        CircuitBreaker.decorateSupplier(circuitBreaker, llamada)));
+        presupuesto.registrarLlamada();
+        return protegida.get();
+    }
+
+    /**
+     * Fallas que vale la pena reintentar: errores de E/S (conexión rechazada, timeout) y respuestas 5xx
+     * Los 4xx, el circuito abierto y el bulkhead lleno no se reintentan
+     */
+    public static boolean esFallaTransitoria(Throwable error) {
+        return error instanceof ResourceAccessException || error instanceof HttpServerErrorException;
+    }
+}
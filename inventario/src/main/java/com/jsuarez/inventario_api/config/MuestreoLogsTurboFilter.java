@@ -0,0 +1,85 @@
+package com.jsuarez.inventario_api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copia deliberada de com.pruebatec.productos.config.MuestreoLogsTurboFilter (solo cambia el paquete):
+ * la documentación está en esa clase y cualquier cambio debe aplicarse en los dos microservicios
+ */
+public class MuestreoLogsTurboFilter extends TurboFilter {
+
+    private static final Categoria SIN_CATEGORIA = new Categoria("", 1);
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final Map<String, Categoria> categoriaPorLogger = new ConcurrentHashMap<>();
+
+    /**
+     * Agrega una categoría con el formato prefijo=N (por ejemplo com.jsuarez.inventario_api.controller=10)
+     * Si varios prefijos coinciden se usa el más largo
+     */
+    public void addCategoria(String definicion) {
+        int separador = definicion.lastIndexOf('=');
+        if (separador <= 0) {
+            addError("Categoría de muestreo inválida, se esperaba prefijo=N: " + definicion);
+            return;
+        }
+
+        String prefijo = definicion.substring(0, separador).trim();
+        try {
+            int cada = Integer.parseInt(definicion.substring(separador + 1).trim());
+            categorias.add(new Categoria(prefijo, Math.max(cada, 1)));
+            categorias.sort((a, b) -> Integer.compare(b.prefijo.length(), a.prefijo.length()));
+            categoriaPorLogger.clear();
+        } catch (NumberFormatException e) {
+            addError("Tasa de muestreo inválida para " + prefijo + ": " + definicion);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Los niveles deshabilitados los descarta el logger; no deben consumir el contador
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Categoria categoria = categoriaPorLogger.computeIfAbsent(logger.getName(), this::buscarCategoria);
+        if (categoria.cada == 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return categoria.contador.getAndIncrement() % categoria.cada == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Categoria buscarCategoria(String nombreLogger) {
+        for (Categoria categoria : categorias) {
+            if (nombreLogger.startsWith(categoria.prefijo)) {
+                return categoria;
+            }
+        }
+        return SIN_CATEGORIA;
+    }
+
+    private static final class Categoria {
+
+        private final String prefijo;
+        private final int cada;
+        private final AtomicLong contador = new AtomicLong();
+
+        private Categoria(String prefijo, int cada) {
+            this.prefijo = prefijo;
+            this.cada = cada;
+        }
+    }
+}
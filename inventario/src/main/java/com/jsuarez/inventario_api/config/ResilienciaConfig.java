@@ -0,0 +1,29 @@
+package com.jsuarez.inventario_api.config;
+
+import com.jsuarez.inventario_api.client.PresupuestoReintentos;
+import com.jsuarez.inventario_api.client.ResilienciaProductos;
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.retry.RetryConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Predicate;
+
+@Configuration
+public class ResilienciaConfig {
+
+    /**
+     * Completa la configuración de reintentos de application.properties: solo se reintentan las fallas
+     * transitorias y solo mientras quede presupuesto. El predicado no gasta el presupuesto: Resilience4j lo
+     * evalúa también en el último intento, que ya no se reintenta. ResilienciaProductos gasta un reintento
+     * por cada evento onRetry
+     */
+    @Bean
+    public RetryConfigCustomizer productosRetryConfigCustomizer(PresupuestoReintentos presupuesto) {
+        Predicate<Throwable> reintentable = error -> ResilienciaProductos.esFallaTransitoria(error)
+                && presupuesto.hayDisponibles();
+        // RetryConfigCustomizer entrega el builder sin tipo; retryOnException no depende del tipo del resultado
+        return RetryConfigCustomizer.of(ResilienciaProductos.INSTANCIA,
+                builder -> ((RetryConfig.Builder<?>) builder).retryOnException(reintentable));
+    }
+}
@@ -1,29 +1,93 @@
 package com.jsuarez.inventario_api.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Cliente HTTP para la comunicación con el microservicio de productos
+ * Usa un pool de conexiones keep-alive (Apache HttpClient 5): las ráfagas de consultas de productos
+ * reutilizan conexiones abiertas en lugar de pagar el establecimiento TCP en cada petición.
+ * HttpClient pide y descomprime las respuestas gzip por sí solo
+ */
 @Configuration
 @Slf4j
 public class RestTemplateConfig {
 
+    /**
+     * Pool de conexiones hacia el microservicio de productos
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager productosConnectionManager(
+            @Value("${microservicio.productos.http.max-conexiones:50}") int maxConexiones,
+            @Value("${microservicio.productos.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${microservicio.productos.http.read-timeout-ms:10000}") long readTimeoutMs) {
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                // Un solo destino: todo el pool está disponible para la ruta del microservicio
+                .setMaxConnTotal(maxConexiones)
+                .setMaxConnPerRoute(maxConexiones)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // Comprueba las conexiones que llevan un rato sin uso antes de reutilizarlas
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient productosHttpClient(
+            PoolingHttpClientConnectionManager productosConnectionManager,
+            @Value("${microservicio.productos.http.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${microservicio.productos.http.espera-conexion-ms:2000}") long esperaConexionMs,
+            @Value("${microservicio.productos.http.inactividad-maxima-ms:30000}") long inactividadMaximaMs) {
+
+        return HttpClients.custom()
+                .setConnectionManager(productosConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(esperaConexionMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Cierra las conexiones inactivas antes de que el servidor las cierre por su lado
+                .evictIdleConnections(TimeValue.ofMilliseconds(inactividadMaximaMs))
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient productosHttpClient) {
         log.debug("Configurando RestTemplate para comunicación entre microservicios");
-        
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        
-        // Configurar timeouts
-        factory.setConnectTimeout(5000); // 5 segundos para conectar
-        factory.setReadTimeout(10000);   // 10 segundos para leer respuesta
-        
-        RestTemplate restTemplate = new RestTemplate(factory);
-        
-        log.info("RestTemplate configurado con timeouts - Connect: 5s, Read: 10s");
-        
+
+        // Construido con RestTemplateBuilder para que actuator registre las métricas http.client.requests
+        RestTemplate restTemplate = builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(productosHttpClient))
+                .build();
+
+        log.info("RestTemplate configurado con pool de conexiones keep-alive y gzip");
+
         return restTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Métricas del pool (httpcomponents.httpclient.pool.*): conexiones disponibles, en uso y peticiones en espera
+     */
+    @Bean
+    public MeterBinder productosConnectionPoolMetrics(PoolingHttpClientConnectionManager productosConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(productosConnectionManager, "productos");
+    }
+}
@@ -47,7 +47,9 @@ public class InventarioController {
     
     @GetMapping("/completo")
     @Operation(summary = "Obtener todos los inventarios con información de productos (paginado)", 
-               description = "Retorna una lista paginada de inventarios enriquecidos con datos de productos desde el microservicio")
+               description = "Retorna una lista paginada de inventarios enriquecidos con datos de productos desde el microservicio. " +
+                             "Si el microservicio no responde a tiempo las filas afectadas llegan como SERVICIO NO DISPONIBLE " +
+                             "y meta.degradado es true")
     public ResponseEntity<JsonApiResponse<InventarioConProductoDTO>> obtenerTodosLosInventariosCompletos(
             @PageableDefault(size = 10, page = 0) Pageable pageable) {
         log.debug("GET /api/v1/inventario/completo - Obteniendo inventarios completos paginados");
@@ -59,6 +61,17 @@ public class InventarioController {
                 "Inventarios completos obtenidos exitosamente"
             );
             
+            // Filas cuyo producto no respondió a tiempo: se retornan igual y se marca la respuesta como degradada
+            long degradados = inventariosPage.getContent().stream()
+                    .filter(InventarioConProductoDTO::isProductoNoDisponible)
+                    .count();
+            if (degradados > 0) {
+                response.getMeta().setDegradado(true);
+                response.getMeta().setElementosDegradados((int) degradados);
+                log.warn("⚠️ Respuesta degradada: {} de {} inventarios sin datos del producto", 
+                        degradados, inventariosPage.getContent().size());
+            }
+            
             log.info("✅ Se obtuvieron {} inventarios completos de {} totales", 
                     inventariosPage.getContent().size(), inventariosPage.getTotalElements());
             
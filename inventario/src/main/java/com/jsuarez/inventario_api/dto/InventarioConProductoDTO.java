@@ -1,6 +1,7 @@
 package com.jsuarez.inventario_api.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,10 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class InventarioConProductoDTO {
     
+    // Nombre del producto cuando no se pudo completar con el microservicio
+    public static final String PRODUCTO_NO_ENCONTRADO = "PRODUCTO NO ENCONTRADO";
+    public static final String SERVICIO_NO_DISPONIBLE = "SERVICIO NO DISPONIBLE";
+    
     // Datos del inventario
     private Long inventarioId;
     private Long productoId;
@@ -24,6 +29,9 @@ public class InventarioConProductoDTO {
     private String nombreProducto;
     private BigDecimal precioProducto;
     
+    // Segundos desde que se consultaron los datos del producto (pueden venir de la cache local)
+    private Long antiguedadDatosProductoSegundos;
+    
     // Información calculada
     private BigDecimal valorTotalInventario;
     private String estadoStock;
@@ -48,6 +56,24 @@ public class InventarioConProductoDTO {
         this.estadoStock = determinarEstadoStock(cantidadEnStock);
     }
     
+    /**
+     * Constructor con todos los valores ya calculados, sin antigüedad de los datos del producto
+     */
+    public InventarioConProductoDTO(Long inventarioId, Long productoId, Integer cantidadEnStock, 
+                                   String nombreProducto, BigDecimal precioProducto, 
+                                   BigDecimal valorTotalInventario, String estadoStock) {
+        this(inventarioId, productoId, cantidadEnStock, nombreProducto, precioProducto, null, 
+             valorTotalInventario, estadoStock);
+    }
+    
+    /**
+     * Indica si los datos del producto faltan porque el microservicio no respondió
+     */
+    @JsonIgnore
+    public boolean isProductoNoDisponible() {
+        return SERVICIO_NO_DISPONIBLE.equals(nombreProducto);
+    }
+    
     /**
      * Determina el estado del stock basado en la cantidad
      */
@@ -19,4 +19,12 @@ public class MetaPaginacion {
     private int totalPages;
     private boolean first;
     private boolean last;
+    
+    // Respuesta degradada: elementos de la página sin datos del producto por falla o timeout del microservicio
+    private boolean degradado;
+    private int elementosDegradados;
+    
+    public MetaPaginacion(int page, int size, long totalElements, int totalPages, boolean first, boolean last) {
+        this(page, size, totalElements, totalPages, first, last, false, 0);
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Data
 @NoArgsConstructor
@@ -14,6 +15,11 @@ public class ProductoSimple {
     private Long id;
     private String nombre;
     private BigDecimal precio;
+    private Instant obtenidoEn;  // Momento en que se consultó al microservicio (lo asigna la cache local)
+    
+    public ProductoSimple(Long id, String nombre, BigDecimal precio) {
+        this(id, nombre, precio, null);
+    }
     
     // Constructor para convertir desde ProductoData
     public ProductoSimple(ProductoData data) {
@@ -0,0 +1,31 @@
+package com.jsuarez.inventario_api.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de varios productos por ID (GET /productos?ids=1,2,3)
+ * El microservicio de productos responde en snake_case
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductosPorIdsResponse {
+    private boolean success;
+    private String message;
+    private Datos data;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Datos {
+        private List<ProductoSimple> productos;   // En el orden en que se pidieron los IDs
+        @JsonProperty("ids_no_encontrados")
+        private List<Long> idsNoEncontrados;      // IDs inexistentes o de productos inactivos
+    }
+}
@@ -0,0 +1,30 @@
+package com.jsuarez.inventario_api.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resultado de consultar varios productos por ID en el microservicio de productos
+ * Distingue los productos que no existen de los que no se pudieron consultar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductosPorIdsResultado {
+    private Map<Long, ProductoSimple> encontrados;
+    private Set<Long> noDisponibles;   // IDs de peticiones que fallaron (timeout, error de conexión o HTTP)
+    
+    public Optional<ProductoSimple> obtener(Long productoId) {
+        return Optional.ofNullable(encontrados.get(productoId));
+    }
+    
+    public boolean estaDisponible(Long productoId) {
+        return !noDisponibles.contains(productoId);
+    }
+}
@@ -8,13 +8,20 @@ import com.jsuarez.inventario_api.repository.*;
 import com.jsuarez.inventario_api.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +29,12 @@ import java.util.Optional;
 @Transactional
 public class InventarioServiceImpl implements InventarioService {
     
+    // Eventos de negocio en un logger propio: no entran en el muestreo de logs del servicio
+    private static final Logger eventos = LoggerFactory.getLogger("com.jsuarez.inventario_api.eventos");
+    
     private final InventarioRepository inventarioRepository;
     private final ProductoClient productoClient;
+    private final ProductoCache productoCache;
     
     @Override
     @Transactional(readOnly = true)
@@ -47,19 +58,18 @@ public class InventarioServiceImpl implements InventarioService {
         
         Inventario inventario = inventarioOpt.get();
         
-        // 2. Obtener información del producto desde microservicio
+        // 2. Obtener información del producto (cache local o microservicio)
         try {
-            Optional<ProductoSimple> productoOpt = productoClient.obtenerProductoPorId(productoId);
+            Optional<ProductoSimple> productoOpt = productoCache.obtenerProductoPorId(productoId);
             
             if (productoOpt.isEmpty()) {
                 log.warn("No se encontró producto ID: {} en microservicio de productos", productoId);
-                System.out.println("⚠️ Producto ID " + productoId + " no encontrado en microservicio de productos");
                 // Retornar inventario sin información del producto
                 return Optional.of(new InventarioConProductoDTO(
                     inventario.getId(),
                     inventario.getProductoId(),
                     inventario.getCantidad(),
-                    "PRODUCTO NO ENCONTRADO",
+                    InventarioConProductoDTO.PRODUCTO_NO_ENCONTRADO,
                     null
                 ));
             }
@@ -74,6 +84,7 @@ public class InventarioServiceImpl implements InventarioService {
                 producto.getNombre(),
                 producto.getPrecio()
             );
+            resultado.setAntiguedadDatosProductoSegundos(antiguedadSegundos(producto));
             
             log.info("✅ Inventario completo obtenido - Producto: {}, Stock: {}, Valor total: {}", 
                     producto.getNombre(), inventario.getCantidad(), resultado.getValorTotalInventario());
@@ -82,14 +93,13 @@ public class InventarioServiceImpl implements InventarioService {
             
         } catch (RuntimeException e) {
             log.error("❌ Error al comunicarse con microservicio de productos: {}", e.getMessage());
-            System.out.println("❌ Error de comunicación con microservicio de productos");
             
             // Retornar inventario básico sin información del producto
             return Optional.of(new InventarioConProductoDTO(
                 inventario.getId(),
                 inventario.getProductoId(),
                 inventario.getCantidad(),
-                "SERVICIO NO DISPONIBLE",
+                InventarioConProductoDTO.SERVICIO_NO_DISPONIBLE,
                 null
             ));
         }
@@ -142,7 +152,8 @@ public class InventarioServiceImpl implements InventarioService {
                 
         } catch (RuntimeException e) {
             if (e.getMessage().contains("conectar")) {
-                System.out.println("❌ No se puede validar producto - Microservicio de productos no disponible");
+                log.error("❌ No se puede validar producto ID {} - Microservicio de productos no disponible",
+                        inventario.getProductoId());
             }
             throw e;
         }
@@ -160,7 +171,7 @@ public class InventarioServiceImpl implements InventarioService {
         
         log.info("✅ Cantidad actualizada para producto ID: {} - Nueva cantidad: {}", productoId, nuevaCantidad);
         // Evento simple de cambio de inventario
-        System.out.println("📦 EVENTO: Inventario actualizado - Producto ID: " + productoId + ", Nueva cantidad: " + nuevaCantidad);
+        eventos.info("📦 EVENTO: Inventario actualizado - Producto ID: {}, Nueva cantidad: {}", productoId, nuevaCantidad);
         
         return saved;
     }
@@ -184,22 +195,20 @@ public class InventarioServiceImpl implements InventarioService {
         // Obtener información del producto para la respuesta
         String nombreProducto = "Producto ID " + productoId;
         try {
-            Optional<ProductoSimple> producto = productoClient.obtenerProductoPorId(productoId);
+            Optional<ProductoSimple> producto = productoCache.obtenerProductoPorId(productoId);
             if (producto.isPresent()) {
                 nombreProducto = producto.get().getNombre();
             }
         } catch (Exception e) {
             log.warn("No se pudo obtener nombre del producto para la respuesta de compra");
-            System.out.println("⚠️ No se pudo obtener info del producto para respuesta de compra");
         }
         
         log.info("🛒 Compra procesada - Producto ID: {}, Cantidad comprada: {}, Stock restante: {}", 
                 productoId, cantidadComprada, cantidadRestante);
         
         // Evento simple de cambio de inventario
-        System.out.println("🛒 EVENTO: Compra procesada - Producto: " + nombreProducto + 
-                          ", Cantidad comprada: " + cantidadComprada + 
-                          ", Stock restante: " + cantidadRestante);
+        eventos.info("🛒 EVENTO: Compra procesada - Producto: {}, Cantidad comprada: {}, Stock restante: {}",
+                nombreProducto, cantidadComprada, cantidadRestante);
         
         return new CompraResponse(
             saved.getId(),
@@ -226,8 +235,15 @@ public class InventarioServiceImpl implements InventarioService {
         // Obtener inventarios paginados
         Page<Inventario> inventariosPage = inventarioRepository.findAll(pageable);
         
-        // Mapear a DTOs completos
-        Page<InventarioConProductoDTO> resultado = inventariosPage.map(this::mapearInventarioCompleto);
+        // Consultar todos los productos de la página en bloque, no uno por fila
+        List<Long> productoIds = inventariosPage.getContent().stream()
+                .map(Inventario::getProductoId)
+                .toList();
+        ProductosPorIdsResultado productos = obtenerProductos(productoIds);
+        
+        // Mapear a DTOs completos conservando el orden de la página
+        Page<InventarioConProductoDTO> resultado = inventariosPage.map(
+                inventario -> mapearInventarioCompleto(inventario, productos));
         
         log.info("✅ Se obtuvieron {} inventarios completos de {} totales", 
                 resultado.getContent().size(), resultado.getTotalElements());
@@ -243,7 +259,7 @@ public class InventarioServiceImpl implements InventarioService {
         if (inventario.isPresent()) {
             inventarioRepository.delete(inventario.get());
             log.info("✅ Inventario eliminado para producto ID: {}", productoId);
-            System.out.println("🗑️ EVENTO: Inventario eliminado - Producto ID: " + productoId);
+            eventos.info("🗑️ EVENTO: Inventario eliminado - Producto ID: {}", productoId);
             return true;
         }
         
@@ -252,40 +268,64 @@ public class InventarioServiceImpl implements InventarioService {
     }
     
     /**
-     * Mapea un inventario a InventarioConProductoDTO obteniendo información del producto
+     * Consulta los productos en la cache local y en el microservicio; si la llamada falla por completo
+     * todos quedan como no disponibles
      */
-    private InventarioConProductoDTO mapearInventarioCompleto(Inventario inventario) {
+    private ProductosPorIdsResultado obtenerProductos(List<Long> productoIds) {
+        if (productoIds.isEmpty()) {
+            return new ProductosPorIdsResultado(Map.of(), Set.of());
+        }
         try {
-            Optional<ProductoSimple> producto = productoClient.obtenerProductoPorId(inventario.getProductoId());
-            
-            if (producto.isPresent()) {
-                return new InventarioConProductoDTO(
-                    inventario.getId(),
-                    inventario.getProductoId(),
-                    inventario.getCantidad(),
-                    producto.get().getNombre(),
-                    producto.get().getPrecio()
-                );
-            } else {
-                log.warn("Producto ID {} no encontrado al mapear inventario", inventario.getProductoId());
-                return new InventarioConProductoDTO(
-                    inventario.getId(),
-                    inventario.getProductoId(),
-                    inventario.getCantidad(),
-                    "PRODUCTO NO ENCONTRADO",
-                    null
-                );
-            }
+            return productoCache.obtenerProductosPorIds(productoIds);
         } catch (Exception e) {
-            log.warn("❌ Error al obtener producto ID {} al mapear inventario: {}", 
-                    inventario.getProductoId(), e.getMessage());
+            log.warn("❌ Error al obtener {} productos al mapear inventarios: {}", productoIds.size(), e.getMessage());
+            return new ProductosPorIdsResultado(Map.of(), new HashSet<>(productoIds));
+        }
+    }
+    
+    /**
+     * Mapea un inventario a InventarioConProductoDTO con el producto ya consultado
+     */
+    private InventarioConProductoDTO mapearInventarioCompleto(Inventario inventario, ProductosPorIdsResultado productos) {
+        Optional<ProductoSimple> producto = productos.obtener(inventario.getProductoId());
+        
+        if (producto.isPresent()) {
+            InventarioConProductoDTO dto = new InventarioConProductoDTO(
+                inventario.getId(),
+                inventario.getProductoId(),
+                inventario.getCantidad(),
+                producto.get().getNombre(),
+                producto.get().getPrecio()
+            );
+            dto.setAntiguedadDatosProductoSegundos(antiguedadSegundos(producto.get()));
+            return dto;
+        } else if (productos.estaDisponible(inventario.getProductoId())) {
+            log.warn("Producto ID {} no encontrado al mapear inventario", inventario.getProductoId());
             return new InventarioConProductoDTO(
                 inventario.getId(),
                 inventario.getProductoId(),
                 inventario.getCantidad(),
-                "SERVICIO NO DISPONIBLE",
+                InventarioConProductoDTO.PRODUCTO_NO_ENCONTRADO,
                 null
             );
+        } else {
+            return new InventarioConProductoDTO(
+                inventario.getId(),
+                inventario.getProductoId(),
+                inventario.getCantidad(),
+                InventarioConProductoDTO.SERVICIO_NO_DISPONIBLE,
+                null
+            );
+        }
+    }
+    
+    /**
+     * Segundos transcurridos desde que se consultó el producto al microservicio (null si no se conoce)
+     */
+    private Long antiguedadSegundos(ProductoSimple producto) {
+        if (producto.getObtenidoEn() == null) {
+            return null;
         }
+        return Math.max(Duration.between(producto.getObtenidoEn(), Instant.now()).toSeconds(), 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.jsuarez.inventario_api.client;
+
+import com.jsuarez.inventario_api.dto.ProductoSimple;
+import com.jsuarez.inventario_api.dto.ProductosPorIdsResultado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ProductoCache")
+class ProductoCacheTest {
+
+    @Mock
+    private ProductoClient productoClient;
+
+    // Reloj manual para avanzar el tiempo de la cache sin esperar
+    private final AtomicLong nanos = new AtomicLong();
+
+    // Tareas en segundo plano de la cache (refrescos): se ejecutan cuando el test lo indica
+    private final List<Runnable> tareas = new ArrayList<>();
+
+    private ProductoCache productoCache;
+
+    @BeforeEach
+    void setUp() {
+        productoCache = new ProductoCache(productoClient, 100, Duration.ofSeconds(60), Duration.ofSeconds(3600),
+                nanos::get, tareas::add);
+    }
+
+    private void avanzar(Duration duracion) {
+        nanos.addAndGet(duracion.toNanos());
+    }
+
+    private void ejecutarTareas() {
+        while (!tareas.isEmpty()) {
+            tareas.remove(0).run();
+        }
+    }
+
+    private static ProductoSimple producto(long id, String nombre) {
+        return new ProductoSimple(id, nombre, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductoPorId - Consulta el microservicio una sola vez mientras la entrada está vigente")
+    void obtenerProductoPorId_EntradaVigente() {
+        // Given
+        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.of(producto(10L, "Cloro granulado")));
+
+        // When
+        ProductoSimple primero = productoCache.obtenerProductoPorId(10L).orElseThrow();
+        avanzar(Duration.ofSeconds(30));
+        ProductoSimple segundo = productoCache.obtenerProductoPorId(10L).orElseThrow();
+
+        // Then
+        assertEquals("Cloro granulado", segundo.getNombre());
+        assertNotNull(primero.getObtenidoEn());
+        assertEquals(primero.getObtenidoEn(), segundo.getObtenidoEn());
+        verify(productoClient, times(1)).obtenerProductoPorId(10L);
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductoPorId - Entrega la entrada vencida y la refresca en segundo plano")
+    void obtenerProductoPorId_RefrescaEntradaVencida() {
+        // Given
+        when(productoClient.obtenerProductoPorId(10L))
+                .thenReturn(Optional.of(producto(10L, "Cloro granulado")))
+                .thenReturn(Optional.of(producto(10L, "Cloro granulado 90%")));
+        productoCache.obtenerProductoPorId(10L);
+        avanzar(Duration.ofSeconds(61));
+
+        // When
+        ProductoSimple vencido = productoCache.obtenerProductoPorId(10L).orElseThrow();
+        ejecutarTareas();
+        ProductoSimple refrescado = productoCache.obtenerProductoPorId(10L).orElseThrow();
+
+        // Then
+        assertEquals("Cloro granulado", vencido.getNombre());
+        assertEquals("Cloro granulado 90%", refrescado.getNombre());
+        verify(productoClient, times(2)).obtenerProductoPorId(10L);
+    }
+
+    @Test
+    @DisplayName("⚠️ obtenerProductoPorId - Conserva la entrada vencida si el microservicio no responde")
+    void obtenerProductoPorId_MicroservicioNoDisponible() {
+        // Given
+        when(productoClient.obtenerProductoPorId(10L))
+                .thenReturn(Optional.of(producto(10L, "Cloro granulado")))
+                .thenThrow(new RuntimeException("No se pudo conectar con el microservicio de productos"));
+        productoCache.obtenerProductoPorId(10L);
+        avanzar(Duration.ofSeconds(61));
+
+        // When
+        Optional<ProductoSimple> resultado = productoCache.obtenerProductoPorId(10L);
+        ejecutarTareas();
+
+        // Then
+        assertEquals("Cloro granulado", resultado.orElseThrow().getNombre());
+        verify(productoClient, times(2)).obtenerProductoPorId(10L);
+        assertEquals("Cloro granulado", productoCache.obtenerProductoPorId(10L).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("❌ obtenerProductoPorId - Descarta la entrada después de la antigüedad máxima")
+    void obtenerProductoPorId_AntiguedadMaxima() {
+        // Given
+        when(productoClient.obtenerProductoPorId(10L))
+                .thenReturn(Optional.of(producto(10L, "Cloro granulado")))
+                .thenThrow(new RuntimeException("No se pudo conectar con el microservicio de productos"));
+        productoCache.obtenerProductoPorId(10L);
+        avanzar(Duration.ofSeconds(3601));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> productoCache.obtenerProductoPorId(10L));
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductoPorId - No guarda los productos no encontrados")
+    void obtenerProductoPorId_NoEncontradoNoSeGuarda() {
+        // Given
+        when(productoClient.obtenerProductoPorId(999L)).thenReturn(Optional.empty());
+
+        // When
+        productoCache.obtenerProductoPorId(999L);
+        Optional<ProductoSimple> resultado = productoCache.obtenerProductoPorId(999L);
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verify(productoClient, times(2)).obtenerProductoPorId(999L);
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductosPorIds - Solo consulta en bloque los productos que no están en cache")
+    void obtenerProductosPorIds_SoloFaltantes() {
+        // Given
+        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.of(producto(10L, "Cloro granulado")));
+        productoCache.obtenerProductoPorId(10L);
+        when(productoClient.obtenerProductosPorIds(List.of(20L, 30L)))
+                .thenReturn(new ProductosPorIdsResultado(Map.of(20L, producto(20L, "Alguicida")), Set.of(30L)));
+
+        // When
+        ProductosPorIdsResultado resultado = productoCache.obtenerProductosPorIds(List.of(10L, 20L, 10L, 30L));
+        ProductosPorIdsResultado siguiente = productoCache.obtenerProductosPorIds(List.of(10L, 20L));
+
+        // Then
+        assertEquals("Cloro granulado", resultado.obtener(10L).orElseThrow().getNombre());
+        assertEquals("Alguicida", resultado.obtener(20L).orElseThrow().getNombre());
+        assertNotNull(resultado.obtener(20L).orElseThrow().getObtenidoEn());
+        assertEquals(Set.of(30L), resultado.getNoDisponibles());
+
+        assertEquals(2, siguiente.getEncontrados().size());
+        assertTrue(siguiente.getNoDisponibles().isEmpty());
+        verify(productoClient, times(1)).obtenerProductosPorIds(any());
+    }
+}
@@ -0,0 +1,280 @@
+package com.jsuarez.inventario_api.client;
+
+import com.jsuarez.inventario_api.dto.ProductosPorIdsResultado;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+@DisplayName("Tests para ProductoClient")
+class ProductoClientTest {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private MockRestServiceServer servidor;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProductoClient productoClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        servidor = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+        // Sin reintentos: cada expectativa del servidor corresponde a una sola petición
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        ResilienciaProductos resiliencia = new ResilienciaProductos(
+                RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()),
+                BulkheadRegistry.ofDefaults(),
+                circuitBreakerRegistry,
+                new PresupuestoReintentos(0.1, 10, new SimpleMeterRegistry()));
+
+        productoClient = new ProductoClient(restTemplate, resiliencia);
+        ReflectionTestUtils.setField(productoClient, "productosBaseUrl", BASE_URL);
+        ReflectionTestUtils.setField(productoClient, "apiKey", "clave-test");
+        ReflectionTestUtils.setField(productoClient, "idsPorPeticion", 2);
+        ReflectionTestUtils.setField(productoClient, "peticionesSimultaneas", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoClient.destroy();
+    }
+
+    private static String respuesta(String productos, String idsNoEncontrados) {
+        return """
+            {"success":true,"message":"Productos obtenidos exitosamente",
+             "data":{"productos":[%s],"ids_no_encontrados":[%s]},
+             "meta":{"total":3,"count":2},"timestamp":"2025-07-27T15:45:30"}
+            """.formatted(productos, idsNoEncontrados);
+    }
+
+    private static String producto(long id, String nombre, String precio) {
+        return """
+            {"id":%d,"nombre":"%s","precio":%s,"fecha_creacion":"2025-07-27T10:30:00","activo":"Y"}
+            """.formatted(id, nombre, precio);
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductosPorIds - Una petición por bloque de IDs")
+    void obtenerProductosPorIds_PeticionPorBloque() {
+        // Given
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=1,2"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-API-Key", "clave-test"))
+                .andRespond(withSuccess(respuesta(
+                        producto(1, "Cloro granulado", "15000.00") + "," + producto(2, "Alguicida", "32000.50"), ""),
+                        MediaType.APPLICATION_JSON));
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=3"))
+                .andRespond(withSuccess(respuesta("", "3"), MediaType.APPLICATION_JSON));
+
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 1L, 3L));
+
+        // Then
+        servidor.verify();
+        assertEquals(2, resultado.getEncontrados().size());
+        assertEquals("Cloro granulado", resultado.obtener(1L).orElseThrow().getNombre());
+        assertEquals(new BigDecimal("32000.50"), resultado.obtener(2L).orElseThrow().getPrecio());
+        assertTrue(resultado.obtener(3L).isEmpty());
+        assertTrue(resultado.estaDisponible(3L));
+        assertTrue(resultado.getNoDisponibles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("⚠️ obtenerProductosPorIds - Un bloque fallido no afecta a los demás")
+    void obtenerProductosPorIds_BloqueFallido() {
+        // Given
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=1,2"))
+                .andRespond(withServerError());
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=3"))
+                .andRespond(withSuccess(respuesta(producto(3, "Clarificador", "18000.00"), ""),
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 3L));
+
+        // Then
+        servidor.verify();
+        assertEquals(Set.of(1L, 2L), resultado.getNoDisponibles());
+        assertFalse(resultado.estaDisponible(1L));
+        assertTrue(resultado.obtener(1L).isEmpty());
+        assertEquals("Clarificador", resultado.obtener(3L).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("❌ obtenerProductosPorIds - Respuesta sin datos marca el bloque como no disponible")
+    void obtenerProductosPorIds_RespuestaSinDatos() {
+        // Given
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=7"))
+                .andRespond(withSuccess("{\"success\":false,\"message\":\"Error\"}", MediaType.APPLICATION_JSON));
+
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(7L));
+
+        // Then
+        assertEquals(Set.of(7L), resultado.getNoDisponibles());
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductosPorIds - Bloques en paralelo sin superar el máximo de peticiones simultáneas")
+    void obtenerProductosPorIds_BloquesEnParalelo() {
+        // Given - cada respuesta espera a que haya otra petición en curso: en serie no terminarían
+        ReflectionTestUtils.setField(productoClient, "idsPorPeticion", 1);
+        CountDownLatch enCurso = new CountDownLatch(2);
+        AtomicInteger simultaneas = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        for (long id = 1; id <= 6; id++) {
+            long productoId = id;
+            servidor.expect(requestTo(BASE_URL + "/productos?ids=" + id))
+                    .andRespond(request -> {
+                        maximo.accumulateAndGet(simultaneas.incrementAndGet(), Math::max);
+                        enCurso.countDown();
+                        try {
+                            enCurso.await(2, TimeUnit.SECONDS);
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        simultaneas.decrementAndGet();
+                        return withSuccess(respuesta(producto(productoId, "Producto " + productoId, "10.00"), ""),
+                                MediaType.APPLICATION_JSON).createResponse(request);
+                    });
+        }
+
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+        // Then
+        servidor.verify();
+        assertEquals(6, resultado.getEncontrados().size());
+        assertTrue(resultado.getNoDisponibles().isEmpty());
+        assertEquals(2, maximo.get(), "Máximo de peticiones simultáneas configurado");
+    }
+
+    @Test
+    @DisplayName("⚠️ obtenerProductosPorIds - Bloques sin respuesta antes del límite quedan no disponibles")
+    void obtenerProductosPorIds_LimiteDePagina() {
+        // Given - límite holgado para el bloque rápido; el lento no responde hasta después de las aserciones
+        ReflectionTestUtils.setField(productoClient, "timeoutPaginaMs", 2000L);
+        CountDownLatch liberar = new CountDownLatch(1);
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=1,2"))
+                .andRespond(withSuccess(respuesta(producto(1, "Cloro granulado", "15000.00"), "2"),
+                        MediaType.APPLICATION_JSON));
+        servidor.expect(requestTo(BASE_URL + "/productos?ids=3"))
+                .andRespond(request -> {
+                    try {
+                        liberar.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess(respuesta(producto(3, "Clarificador", "18000.00"), ""),
+                            MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        try {
+            // When
+            ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 3L));
+
+            // Then - el bloque rápido se entrega y solo el lento queda no disponible
+            assertTrue(resultado.obtener(1L).isPresent(), "El bloque rápido debe estar en la página");
+            assertEquals("Cloro granulado", resultado.obtener(1L).get().getNombre());
+            assertTrue(resultado.estaDisponible(2L));
+            assertTrue(resultado.obtener(3L).isEmpty());
+            assertEquals(Set.of(3L), resultado.getNoDisponibles());
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("⚠️ obtenerProductosPorIds - Si se interrumpe, todos los bloques pendientes quedan no disponibles")
+    void obtenerProductosPorIds_Interrumpido() {
+        // Given - ningún bloque responde antes de la interrupción
+        CountDownLatch liberar = new CountDownLatch(1);
+        for (String ids : List.of("1,2", "3,4", "5")) {
+            servidor.expect(requestTo(BASE_URL + "/productos?ids=" + ids))
+                    .andRespond(request -> {
+                        try {
+                            liberar.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return withSuccess(respuesta("", ""), MediaType.APPLICATION_JSON).createResponse(request);
+                    });
+        }
+
+        // When
+        Thread.currentThread().interrupt();
+        ProductosPorIdsResultado resultado;
+        try {
+            resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 3L, 4L, 5L));
+        } finally {
+            liberar.countDown();
+        }
+
+        // Then
+        assertTrue(Thread.interrupted(), "Debe conservar el estado de interrupción");
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), resultado.getNoDisponibles());
+    }
+
+    @Test
+    @DisplayName("⚠️ obtenerProductosPorIds - Con el circuito abierto no hace peticiones")
+    void obtenerProductosPorIds_CircuitoAbierto() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker(ResilienciaProductos.INSTANCIA).transitionToOpenState();
+
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of(1L, 2L, 3L));
+
+        // Then
+        servidor.verify();
+        assertEquals(Set.of(1L, 2L, 3L), resultado.getNoDisponibles());
+    }
+
+    @Test
+    @DisplayName("❌ obtenerProductoPorId - Con el circuito abierto falla sin hacer la petición")
+    void obtenerProductoPorId_CircuitoAbierto() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker(ResilienciaProductos.INSTANCIA).transitionToOpenState();
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class, () -> productoClient.obtenerProductoPorId(1L));
+
+        // Then
+        servidor.verify();
+        assertTrue(error.getMessage().contains("No se pudo conectar"));
+    }
+
+    @Test
+    @DisplayName("✅ obtenerProductosPorIds - Sin IDs no hace peticiones")
+    void obtenerProductosPorIds_SinIds() {
+        // When
+        ProductosPorIdsResultado resultado = productoClient.obtenerProductosPorIds(List.of());
+
+        // Then
+        servidor.verify();
+        assertTrue(resultado.getEncontrados().isEmpty());
+        assertTrue(resultado.getNoDisponibles().isEmpty());
+    }
+}
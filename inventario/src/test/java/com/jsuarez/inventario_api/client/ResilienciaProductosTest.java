@@ -0,0 +1,189 @@
+package com.jsuarez.inventario_api.client;
+
+import com.jsuarez.inventario_api.config.ResilienciaConfig;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ResilienciaProductos")
+class ResilienciaProductosTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger llamadas = new AtomicInteger();
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private PresupuestoReintentos presupuesto;
+
+    /**
+     * Crea la protección con la misma estructura que application.properties y tiempos cortos
+     */
+    private ResilienciaProductos crear(int maxIntentos, double presupuestoMaximo, int maxLlamadasEnCurso) {
+        presupuesto = new PresupuestoReintentos(0.1, presupuestoMaximo, meterRegistry);
+
+        RetryConfig.Builder<Object> retry = RetryConfig.custom()
+                .maxAttempts(maxIntentos)
+                .waitDuration(Duration.ofMillis(10));
+        new ResilienciaConfig().productosRetryConfigCustomizer(presupuesto).customize(retry);
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+
+        return new ResilienciaProductos(
+                RetryRegistry.of(retry.build()),
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(maxLlamadasEnCurso)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                circuitBreakerRegistry,
+                presupuesto);
+    }
+
+    private CircuitBreaker circuito() {
+        return circuitBreakerRegistry.circuitBreaker(ResilienciaProductos.INSTANCIA);
+    }
+
+    private String fallarConexion() {
+        llamadas.incrementAndGet();
+        throw new ResourceAccessException("Connection refused");
+    }
+
+    @Test
+    @DisplayName("✅ ejecutar - Reintenta las fallas transitorias hasta obtener respuesta")
+    void ejecutar_ReintentaFallasTransitorias() {
+        // Given
+        ResilienciaProductos resiliencia = crear(3, 10, 10);
+
+        // When
+        String resultado = resiliencia.ejecutar(() -> {
+            if (llamadas.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        // Then
+        assertEquals("ok", resultado);
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    @DisplayName("✅ ejecutar - No reintenta ni cuenta como falla un 4xx")
+    void ejecutar_NoReintentaErrorCliente() {
+        // Given
+        ResilienciaProductos resiliencia = crear(3, 10, 10);
+
+        // When
+        assertThrows(HttpClientErrorException.class, () -> resiliencia.ejecutar(() -> {
+            llamadas.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+
+        // Then
+        assertEquals(1, llamadas.get());
+        assertEquals(0, circuito().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("⚠️ ejecutar - Con el presupuesto agotado falla sin reintentar")
+    void ejecutar_PresupuestoAgotado() {
+        // Given - el presupuesto alcanza para un solo reintento
+        ResilienciaProductos resiliencia = crear(3, 1, 10);
+
+        // When
+        assertThrows(ResourceAccessException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+        int llamadasConReintento = llamadas.getAndSet(0);
+        assertThrows(ResourceAccessException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+
+        // Then
+        assertEquals(2, llamadasConReintento);
+        assertEquals(1, llamadas.get());
+        assertEquals(2.0, meterRegistry.get("inventario.productos.reintentos.rechazados").counter().count());
+    }
+
+    @Test
+    @DisplayName("⚠️ ejecutar - Gasta un solo reintento del presupuesto por cada reintento realizado")
+    void ejecutar_AgotaIntentosGastaSoloLosReintentos() {
+        // Given
+        ResilienciaProductos resiliencia = crear(2, 10, 10);
+
+        // When
+        assertThrows(ResourceAccessException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+
+        // Then - el último intento fallido no gasta presupuesto ni cuenta como rechazado
+        assertEquals(2, llamadas.get());
+        assertEquals(9.0, presupuesto.getDisponibles(), 0.001);
+        assertEquals(0.0, meterRegistry.get("inventario.productos.reintentos.rechazados").counter().count());
+    }
+
+    @Test
+    @DisplayName("❌ ejecutar - Abre el circuito y rechaza las llamadas sin ejecutarlas")
+    void ejecutar_CircuitoAbierto() {
+        // Given
+        ResilienciaProductos resiliencia = crear(1, 10, 10);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+        }
+
+        // When
+        assertThrows(CallNotPermittedException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuito().getState());
+        assertEquals(4, llamadas.get());
+        assertEquals(1, circuito().getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    @Test
+    @DisplayName("⚠️ ejecutar - Rechaza las llamadas que superan el bulkhead sin abrir el circuito")
+    void ejecutar_BulkheadLleno() throws Exception {
+        // Given
+        ResilienciaProductos resiliencia = crear(3, 10, 1);
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> ocupada = CompletableFuture.supplyAsync(() -> resiliencia.ejecutar(() -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // When
+        assertThrows(BulkheadFullException.class, () -> resiliencia.ejecutar(this::fallarConexion));
+        liberar.countDown();
+
+        // Then
+        assertEquals("ok", ocupada.get(5, TimeUnit.SECONDS));
+        assertEquals(0, llamadas.get());
+        assertEquals(0, circuito().getMetrics().getNumberOfFailedCalls());
+    }
+}
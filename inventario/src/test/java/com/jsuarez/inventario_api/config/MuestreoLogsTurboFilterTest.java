@@ -0,0 +1,85 @@
+package com.jsuarez.inventario_api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para MuestreoLogsTurboFilter")
+class MuestreoLogsTurboFilterTest {
+
+    private LoggerContext contexto;
+    private MuestreoLogsTurboFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        contexto = new LoggerContext();
+        contexto.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+
+        filtro = new MuestreoLogsTurboFilter();
+        filtro.setContext(contexto);
+        filtro.addCategoria("com.jsuarez.inventario_api.service=10");
+        filtro.addCategoria("com.jsuarez.inventario_api.controller=1");
+        filtro.start();
+    }
+
+    private long aceptados(String nombreLogger, Level level, int eventos) {
+        Logger logger = contexto.getLogger(nombreLogger);
+        return IntStream.range(0, eventos)
+                .mapToObj(i -> filtro.decide(null, logger, level, "mensaje {}", new Object[]{i}, null))
+                .filter(respuesta -> respuesta == FilterReply.NEUTRAL)
+                .count();
+    }
+
+    @Test
+    @DisplayName("✅ Deja pasar uno de cada N eventos INFO de la categoría")
+    void muestreaEventosInfo() {
+        assertEquals(10, aceptados("com.jsuarez.inventario_api.service.impl.InventarioServiceImpl", Level.INFO, 100));
+    }
+
+    @Test
+    @DisplayName("✅ Deja pasar siempre WARN y ERROR")
+    void dejaPasarWarnYError() {
+        assertEquals(20, aceptados("com.jsuarez.inventario_api.service.impl.InventarioServiceImpl", Level.WARN, 20));
+        assertEquals(20, aceptados("com.jsuarez.inventario_api.service.impl.InventarioServiceImpl", Level.ERROR, 20));
+    }
+
+    @Test
+    @DisplayName("✅ Deja pasar todo fuera de las categorías o con tasa 1")
+    void dejaPasarSinMuestreo() {
+        assertEquals(20, aceptados("com.jsuarez.inventario_api.eventos", Level.INFO, 20));
+        assertEquals(20, aceptados("com.jsuarez.inventario_api.controller.InventarioController", Level.INFO, 20));
+    }
+
+    @Test
+    @DisplayName("✅ No cuenta los eventos de niveles deshabilitados")
+    void noCuentaNivelesDeshabilitados() {
+        Logger logger = contexto.getLogger("com.jsuarez.inventario_api.service.impl.InventarioServiceImpl");
+        aceptados(logger.getName(), Level.DEBUG, 7);
+
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, logger, Level.INFO, "mensaje", null, null),
+                "El primer INFO debe seguir siendo el que pasa");
+    }
+
+    @Test
+    @DisplayName("✅ Ignora categorías mal formadas")
+    void ignoraCategoriasInvalidas() {
+        MuestreoLogsTurboFilter otro = new MuestreoLogsTurboFilter();
+        otro.setContext(contexto);
+        otro.addCategoria("sin-tasa");
+        otro.addCategoria("com.jsuarez=diez");
+        otro.start();
+
+        Logger logger = contexto.getLogger("com.jsuarez.inventario_api.Algo");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, otro.decide(null, logger, Level.INFO, "mensaje", null, null));
+        }
+    }
+}
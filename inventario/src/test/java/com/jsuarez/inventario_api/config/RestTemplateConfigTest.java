@@ -0,0 +1,122 @@
+package com.jsuarez.inventario_api.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para RestTemplateConfig")
+class RestTemplateConfigTest {
+
+    private static final String JSON = "{\"success\":true,\"data\":{\"id\":1,\"nombre\":\"Cloro granulado\"}}";
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private final Set<Integer> puertosCliente = ConcurrentHashMap.newKeySet();
+
+    private HttpServer servidor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/productos", this::responder);
+        servidor.start();
+        url = "http://localhost:" + servidor.getAddress().getPort() + "/productos";
+
+        connectionManager = config.productosConnectionManager(5, 1000, 2000);
+        httpClient = config.productosHttpClient(connectionManager, 2000, 1000, 30000);
+        restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        servidor.stop(0);
+    }
+
+    /**
+     * Responde comprimido si el cliente lo pide y registra el puerto de cada conexión del cliente
+     */
+    private void responder(HttpExchange exchange) throws IOException {
+        puertosCliente.add(exchange.getRemoteAddress().getPort());
+        byte[] cuerpo = JSON.getBytes(StandardCharsets.UTF_8);
+
+        String aceptada = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (aceptada != null && aceptada.contains("gzip")) {
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+                gzip.write(cuerpo);
+            }
+            cuerpo = comprimido.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, cuerpo.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Pide la respuesta comprimida y la descomprime")
+    void descomprimeRespuestaGzip() {
+        // When
+        String respuesta = restTemplate.getForObject(url, String.class);
+
+        // Then
+        assertEquals(JSON, respuesta);
+    }
+
+    @Test
+    @DisplayName("✅ Reutiliza la conexión keep-alive entre peticiones")
+    void reutilizaConexion() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(JSON, restTemplate.getForObject(url, String.class));
+        }
+
+        // Then
+        assertEquals(1, puertosCliente.size(), "Todas las peticiones deben usar la misma conexión");
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    @DisplayName("✅ Registra las métricas del pool de conexiones")
+    void registraMetricasDelPool() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        config.productosConnectionPoolMetrics(connectionManager).bindTo(registry);
+        restTemplate.getForObject(url, String.class);
+
+        // Then
+        assertEquals(5.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "productos").gauge().value());
+        assertEquals(1.0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "productos").tag("state", "available").gauge().value());
+    }
+}
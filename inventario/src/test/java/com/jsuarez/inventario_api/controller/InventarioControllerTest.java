@@ -131,11 +131,35 @@ class InventarioControllerTest {
                 .andExpect(jsonPath("$.meta.size", is(10)))
                 .andExpect(jsonPath("$.meta.totalElements", is(1)))
                 .andExpect(jsonPath("$.meta.first", is(true)))
-                .andExpect(jsonPath("$.meta.last", is(true)));
+                .andExpect(jsonPath("$.meta.last", is(true)))
+                .andExpect(jsonPath("$.meta.degradado", is(false)))
+                .andExpect(jsonPath("$.meta.elementosDegradados", is(0)));
 
         verify(inventarioService, times(1)).obtenerTodosLosInventariosCompletos(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("⚠️ GET /inventario/completo - Respuesta degradada por productos sin respuesta")
+    void obtenerTodosLosInventariosCompletos_Degradado() throws Exception {
+        // Given
+        InventarioConProductoDTO sinProducto = new InventarioConProductoDTO(
+            2L, 20L, 5, InventarioConProductoDTO.SERVICIO_NO_DISPONIBLE, null
+        );
+        Page<InventarioConProductoDTO> page = new PageImpl<>(
+                Arrays.asList(inventarioCompletoMock, sinProducto), PageRequest.of(0, 10), 2);
+        when(inventarioService.obtenerTodosLosInventariosCompletos(any(Pageable.class))).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/inventario/completo"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[1].nombreProducto", is("SERVICIO NO DISPONIBLE")))
+                .andExpect(jsonPath("$.data[1].productoNoDisponible").doesNotExist())
+                .andExpect(jsonPath("$.meta.degradado", is(true)))
+                .andExpect(jsonPath("$.meta.elementosDegradados", is(1)));
+    }
+
     @Test
     @DisplayName("❌ GET /inventario/completo - Error de microservicio")
     void obtenerTodosLosInventariosCompletos_ErrorMicroservicio() throws Exception {
@@ -1,6 +1,7 @@
 package com.jsuarez.inventario_api.serviceimpl;
 
 
+import com.jsuarez.inventario_api.client.ProductoCache;
 import com.jsuarez.inventario_api.client.ProductoClient;
 import com.jsuarez.inventario_api.dto.*;
 import com.jsuarez.inventario_api.entity.*;
@@ -20,9 +21,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +45,9 @@ class InventarioServiceImplTest {
     @Mock
     private ProductoClient productoClient;
 
+    @Mock
+    private ProductoCache productoCache;
+
     @InjectMocks
     private InventarioServiceImpl inventarioService;
 
@@ -67,6 +75,12 @@ class InventarioServiceImplTest {
         );
     }
 
+    private ProductosPorIdsResultado resultadoProductos(List<ProductoSimple> encontrados, Long... noDisponibles) {
+        Map<Long, ProductoSimple> porId = new HashMap<>();
+        encontrados.forEach(producto -> porId.put(producto.getId(), producto));
+        return new ProductosPorIdsResultado(porId, new HashSet<>(Arrays.asList(noDisponibles)));
+    }
+
     // ====================== TESTS DE CONSULTA ======================
 
     @Test
@@ -106,7 +120,7 @@ class InventarioServiceImplTest {
         // Given
         Long productoId = 10L;
         when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
-        when(productoClient.obtenerProductoPorId(productoId)).thenReturn(Optional.of(productoMock));
+        when(productoCache.obtenerProductoPorId(productoId)).thenReturn(Optional.of(productoMock));
 
         // When
         Optional<InventarioConProductoDTO> resultado = inventarioService.obtenerInventarioCompletoPorProductoId(productoId);
@@ -121,7 +135,25 @@ class InventarioServiceImplTest {
         assertEquals(new BigDecimal("50.00"), dto.getPrecioProducto());
 
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
-        verify(productoClient, times(1)).obtenerProductoPorId(productoId);
+        verify(productoCache, times(1)).obtenerProductoPorId(productoId);
+    }
+
+    @Test
+    @DisplayName("✅ obtenerInventarioCompletoPorProductoId - Informa la antigüedad de los datos del producto")
+    void obtenerInventarioCompletoPorProductoId_AntiguedadDatosProducto() {
+        // Given
+        Long productoId = 10L;
+        ProductoSimple enCache = new ProductoSimple(10L, "Producto Test", new BigDecimal("50.00"),
+                Instant.now().minusSeconds(90));
+        when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
+        when(productoCache.obtenerProductoPorId(productoId)).thenReturn(Optional.of(enCache));
+
+        // When
+        InventarioConProductoDTO dto = inventarioService.obtenerInventarioCompletoPorProductoId(productoId).orElseThrow();
+
+        // Then
+        assertTrue(dto.getAntiguedadDatosProductoSegundos() >= 90);
+        assertTrue(dto.getAntiguedadDatosProductoSegundos() < 120);
     }
 
     @Test
@@ -137,7 +169,7 @@ class InventarioServiceImplTest {
         // Then
         assertFalse(resultado.isPresent());
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
-        verify(productoClient, never()).obtenerProductoPorId(any());
+        verify(productoCache, never()).obtenerProductoPorId(any());
     }
 
     @Test
@@ -146,7 +178,7 @@ class InventarioServiceImplTest {
         // Given
         Long productoId = 10L;
         when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
-        when(productoClient.obtenerProductoPorId(productoId)).thenReturn(Optional.empty());
+        when(productoCache.obtenerProductoPorId(productoId)).thenReturn(Optional.empty());
 
         // When
         Optional<InventarioConProductoDTO> resultado = inventarioService.obtenerInventarioCompletoPorProductoId(productoId);
@@ -158,7 +190,7 @@ class InventarioServiceImplTest {
         assertNull(dto.getPrecioProducto());
 
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
-        verify(productoClient, times(1)).obtenerProductoPorId(productoId);
+        verify(productoCache, times(1)).obtenerProductoPorId(productoId);
     }
 
     @Test
@@ -167,7 +199,7 @@ class InventarioServiceImplTest {
         // Given
         Long productoId = 10L;
         when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
-        when(productoClient.obtenerProductoPorId(productoId))
+        when(productoCache.obtenerProductoPorId(productoId))
                 .thenThrow(new RuntimeException("Error de conectividad"));
 
         // When
@@ -180,7 +212,7 @@ class InventarioServiceImplTest {
         assertNull(dto.getPrecioProducto());
 
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
-        verify(productoClient, times(1)).obtenerProductoPorId(productoId);
+        verify(productoCache, times(1)).obtenerProductoPorId(productoId);
     }
 
     @Test
@@ -208,7 +240,7 @@ class InventarioServiceImplTest {
         Page<Inventario> pageInventarios = new PageImpl<>(inventarios, pageable, 1);
 
         when(inventarioRepository.findAll(pageable)).thenReturn(pageInventarios);
-        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.of(productoMock));
+        when(productoCache.obtenerProductosPorIds(List.of(10L))).thenReturn(resultadoProductos(List.of(productoMock)));
 
         // When
         Page<InventarioConProductoDTO> resultado = inventarioService.obtenerTodosLosInventariosCompletos(pageable);
@@ -221,7 +253,8 @@ class InventarioServiceImplTest {
         assertTrue(resultado.isLast());
 
         verify(inventarioRepository, times(1)).findAll(pageable);
-        verify(productoClient, times(1)).obtenerProductoPorId(10L);
+        verify(productoCache, times(1)).obtenerProductosPorIds(List.of(10L));
+        verify(productoCache, never()).obtenerProductoPorId(any());
     }
 
     // ====================== TESTS DE CREACIÓN/ACTUALIZACIÓN ======================
@@ -284,7 +317,7 @@ class InventarioServiceImplTest {
             .thenReturn(Optional.empty())  // Primera llamada: no existe
             .thenReturn(Optional.of(inventarioGuardado)); // Segunda llamada: ya existe después de guardar
         when(inventarioRepository.save(any(Inventario.class))).thenReturn(inventarioGuardado);
-        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.of(productoMock));
+        when(productoCache.obtenerProductoPorId(10L)).thenReturn(Optional.of(productoMock));
 
         // When
         InventarioConProductoDTO resultado = inventarioService.crearInventarioConValidacion(nuevoInventario);
@@ -390,7 +423,7 @@ class InventarioServiceImplTest {
 
         when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
         when(inventarioRepository.save(any(Inventario.class))).thenReturn(inventarioActualizado);
-        when(productoClient.obtenerProductoPorId(productoId)).thenReturn(Optional.of(productoMock));
+        when(productoCache.obtenerProductoPorId(productoId)).thenReturn(Optional.of(productoMock));
 
         // When
         CompraResponse resultado = inventarioService.reducirCantidadPorCompra(productoId, cantidadComprada);
@@ -407,7 +440,7 @@ class InventarioServiceImplTest {
 
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
         verify(inventarioRepository, times(1)).save(any(Inventario.class));
-        verify(productoClient, times(1)).obtenerProductoPorId(productoId);
+        verify(productoCache, times(1)).obtenerProductoPorId(productoId);
     }
 
     @Test
@@ -430,7 +463,7 @@ class InventarioServiceImplTest {
 
         verify(inventarioRepository, times(1)).findByProductoId(productoId);
         verify(inventarioRepository, never()).save(any());
-        verify(productoClient, never()).obtenerProductoPorId(any());
+        verify(productoCache, never()).obtenerProductoPorId(any());
     }
 
     @Test
@@ -462,7 +495,7 @@ class InventarioServiceImplTest {
 
         when(inventarioRepository.findByProductoId(productoId)).thenReturn(Optional.of(inventarioMock));
         when(inventarioRepository.save(any(Inventario.class))).thenReturn(inventarioActualizado);
-        when(productoClient.obtenerProductoPorId(productoId)).thenThrow(new RuntimeException("Error de comunicación"));
+        when(productoCache.obtenerProductoPorId(productoId)).thenThrow(new RuntimeException("Error de comunicación"));
 
         // When
         CompraResponse resultado = inventarioService.reducirCantidadPorCompra(productoId, cantidadComprada);
@@ -474,7 +507,7 @@ class InventarioServiceImplTest {
         assertEquals(75, resultado.getCantidadRestante());
 
         verify(inventarioRepository, times(1)).save(any(Inventario.class));
-        verify(productoClient, times(1)).obtenerProductoPorId(productoId);
+        verify(productoCache, times(1)).obtenerProductoPorId(productoId);
     }
 
     // ====================== TESTS DE ELIMINACIÓN ======================
@@ -517,7 +550,7 @@ class InventarioServiceImplTest {
     @DisplayName("✅ mapearInventarioCompleto - Mapping exitoso")
     void mapearInventarioCompleto_Exitoso() {
         // Given
-        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.of(productoMock));
+        when(productoCache.obtenerProductosPorIds(List.of(10L))).thenReturn(resultadoProductos(List.of(productoMock)));
 
         // When - Usamos método de paginación que internamente usa mapearInventarioCompleto
         Pageable pageable = PageRequest.of(0, 10);
@@ -533,14 +566,14 @@ class InventarioServiceImplTest {
         assertEquals("Producto Test", dto.getNombreProducto());
         assertEquals(new BigDecimal("50.00"), dto.getPrecioProducto());
 
-        verify(productoClient, times(1)).obtenerProductoPorId(10L);
+        verify(productoCache, times(1)).obtenerProductosPorIds(List.of(10L));
     }
 
     @Test
     @DisplayName("⚠️ mapearInventarioCompleto - Producto no encontrado")
     void mapearInventarioCompleto_ProductoNoEncontrado() {
         // Given
-        when(productoClient.obtenerProductoPorId(10L)).thenReturn(Optional.empty());
+        when(productoCache.obtenerProductosPorIds(List.of(10L))).thenReturn(resultadoProductos(List.of()));
 
         // When
         Pageable pageable = PageRequest.of(0, 10);
@@ -556,14 +589,14 @@ class InventarioServiceImplTest {
         assertEquals("PRODUCTO NO ENCONTRADO", dto.getNombreProducto());
         assertNull(dto.getPrecioProducto());
 
-        verify(productoClient, times(1)).obtenerProductoPorId(10L);
+        verify(productoCache, times(1)).obtenerProductosPorIds(List.of(10L));
     }
 
     @Test
     @DisplayName("❌ mapearInventarioCompleto - Error de comunicación")
     void mapearInventarioCompleto_ErrorComunicacion() {
         // Given
-        when(productoClient.obtenerProductoPorId(10L)).thenThrow(new RuntimeException("Error de red"));
+        when(productoCache.obtenerProductosPorIds(List.of(10L))).thenThrow(new RuntimeException("Error de red"));
 
         // When
         Pageable pageable = PageRequest.of(0, 10);
@@ -579,6 +612,61 @@ class InventarioServiceImplTest {
         assertEquals("SERVICIO NO DISPONIBLE", dto.getNombreProducto());
         assertNull(dto.getPrecioProducto());
 
-        verify(productoClient, times(1)).obtenerProductoPorId(10L);
+        verify(productoCache, times(1)).obtenerProductosPorIds(List.of(10L));
+    }
+
+    @Test
+    @DisplayName("✅ mapearInventarioCompleto - Una consulta por página en el orden de la página")
+    void mapearInventarioCompleto_ConsultaEnBloque() {
+        // Given - el producto 20 no existe y el 30 quedó en un bloque que falló
+        Inventario inventario2 = new Inventario();
+        inventario2.setId(2L);
+        inventario2.setProductoId(20L);
+        inventario2.setCantidad(5);
+        Inventario inventario3 = new Inventario();
+        inventario3.setId(3L);
+        inventario3.setProductoId(30L);
+        inventario3.setCantidad(0);
+        Inventario inventario4 = new Inventario();
+        inventario4.setId(4L);
+        inventario4.setProductoId(10L);
+        inventario4.setCantidad(60);
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Inventario> pageInventarios = new PageImpl<>(
+                Arrays.asList(inventario3, inventarioMock, inventario2, inventario4), pageable, 4);
+        when(inventarioRepository.findAll(pageable)).thenReturn(pageInventarios);
+        when(productoCache.obtenerProductosPorIds(List.of(30L, 10L, 20L, 10L)))
+                .thenReturn(resultadoProductos(List.of(productoMock), 30L));
+
+        // When
+        Page<InventarioConProductoDTO> resultado = inventarioService.obtenerTodosLosInventariosCompletos(pageable);
+
+        // Then
+        List<InventarioConProductoDTO> contenido = resultado.getContent();
+        assertEquals(List.of(3L, 1L, 2L, 4L), contenido.stream().map(InventarioConProductoDTO::getInventarioId).toList());
+        assertEquals("SERVICIO NO DISPONIBLE", contenido.get(0).getNombreProducto());
+        assertEquals("Producto Test", contenido.get(1).getNombreProducto());
+        assertEquals("PRODUCTO NO ENCONTRADO", contenido.get(2).getNombreProducto());
+        assertEquals("Producto Test", contenido.get(3).getNombreProducto());
+        assertEquals(new BigDecimal("3000.00"), contenido.get(3).getValorTotalInventario());
+
+        verify(productoCache, times(1)).obtenerProductosPorIds(any());
+        verify(productoCache, never()).obtenerProductoPorId(any());
+    }
+
+    @Test
+    @DisplayName("✅ obtenerTodosLosInventariosCompletos - Página vacía sin llamar al microservicio")
+    void obtenerTodosLosInventariosCompletos_PaginaVacia() {
+        // Given
+        Pageable pageable = PageRequest.of(3, 10);
+        when(inventarioRepository.findAll(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
+
+        // When
+        Page<InventarioConProductoDTO> resultado = inventarioService.obtenerTodosLosInventariosCompletos(pageable);
+
+        // Then
+        assertTrue(resultado.getContent().isEmpty());
+        verifyNoInteractions(productoCache);
     }
 }
@@ -0,0 +1,103 @@
+package com.pruebatec.productos.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.response.ApiResponse;
+import com.pruebatec.productos.response.ApiResponseBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de armar la respuesta de un listado de productos:
+ * mapeo entidad -> DTO, construcción del sobre ApiResponse y serialización JSON
+ * con la misma configuración de Jackson que application.properties (SNAKE_CASE, NON_NULL)
+ *
+ * Ejecutar con el perfil jmh (incluye el profiler de GC para la tasa de asignación):
+ * mvn -Pjmh -DskipTests test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductoRespuestaBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cantidad;
+
+    private ObjectMapper objectMapper;
+    private List<Producto> productos;
+    private List<ProductoResponseDto> dtos;
+    private ApiResponse<List<ProductoResponseDto>> respuesta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Equivalente a spring.jackson.* de application.properties sobre los valores por defecto de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .failOnEmptyBeans(false)
+                .build();
+
+        LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30);
+        productos = new ArrayList<>(cantidad);
+        for (long id = 1; id <= cantidad; id++) {
+            productos.add(new Producto(id, "Producto de prueba " + id, new BigDecimal("1299.99").add(BigDecimal.valueOf(id)),
+                    "Descripción del producto " + id + " con el largo típico de una ficha de catálogo", fecha, fecha, "Y"));
+        }
+
+        dtos = mapear();
+        respuesta = ApiResponseBuilder.success("Productos obtenidos exitosamente", dtos, dtos.size());
+    }
+
+    @Benchmark
+    public List<ProductoResponseDto> mapearDtos() {
+        return mapear();
+    }
+
+    @Benchmark
+    public ApiResponse<List<ProductoResponseDto>> construirRespuesta() {
+        return ApiResponseBuilder.success("Productos obtenidos exitosamente", dtos, dtos.size());
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return objectMapper.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public byte[] respuestaCompleta() throws Exception {
+        List<ProductoResponseDto> mapeados = mapear();
+        return objectMapper.writeValueAsBytes(
+                ApiResponseBuilder.success("Productos obtenidos exitosamente", mapeados, mapeados.size()));
+    }
+
+    private List<ProductoResponseDto> mapear() {
+        List<ProductoResponseDto> resultado = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            resultado.add(new ProductoResponseDto(producto));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,258 @@
+package com.pruebatec.productos.busqueda;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria para la búsqueda de productos activos por nombre y descripción
+ * Se construye desde la tabla productos al arrancar y se mantiene con los eventos de producto,
+ * de modo que las búsquedas no consultan la base de datos
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceBusquedaProductos {
+
+    static final int PESO_NOMBRE = 3; // Un término del nombre pesa más que uno de la descripción
+    static final int PESO_DESCRIPCION = 1;
+    static final double FACTOR_PREFIJO = 0.5; // Coincidencia parcial del último término ("audi" -> "audifonos")
+
+    private final ProductoRepository productoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Indice indice = new Indice();
+
+    // Eventos recibidos mientras se reconstruye el índice; null cuando no hay reconstrucción en curso
+    private List<ProductoEvento> eventosPendientes;
+
+    /**
+     * Construye el índice con todos los productos activos al terminar el arranque
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo la tabla como stream y lo reemplaza de forma atómica
+     * Las búsquedas siguen usando el índice anterior mientras se construye el nuevo
+     */
+    public void reconstruir() {
+        synchronized (this) {
+            eventosPendientes = new ArrayList<>();
+        }
+
+        long inicio = System.nanoTime();
+        Indice nuevo = new Indice();
+
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(estado -> {
+                try (Stream<Producto> productos = productoRepository.streamByActivoOrderById("Y")) {
+                    productos.forEach(producto -> nuevo.agregar(producto.getId(), producto.getNombre(),
+                            producto.getPrecio(), producto.getDescripcion()));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("⚠️ No se pudo construir el índice de búsqueda: {}", e.getMessage());
+            synchronized (this) {
+                eventosPendientes = null;
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            synchronized (this) {
+                eventosPendientes.forEach(evento -> aplicar(nuevo, evento));
+                eventosPendientes = null;
+            }
+            indice = nuevo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("🔎 Índice de búsqueda construido: {} productos, {} términos en {} ms",
+                nuevo.documentos.size(), nuevo.postings.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Actualiza el índice cuando se confirma un cambio de producto
+     * fallbackExecution permite recibir eventos publicados fuera de una transacción
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoEvento(ProductoEvento evento) {
+        lock.writeLock().lock();
+        try {
+            aplicar(indice, evento);
+            synchronized (this) {
+                if (eventosPendientes != null) {
+                    eventosPendientes.add(evento);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca productos que contengan todos los términos de la consulta
+     * El último término también coincide por prefijo, para búsquedas mientras se escribe
+     * @param consulta Texto a buscar
+     * @param pagina Página a retornar (empieza en 1)
+     * @param tamanoPagina Cantidad de productos por página
+     * @return Página de productos ordenados por relevancia (TF-IDF) y luego por ID
+     */
+    public ResultadoBusquedaDto buscar(String consulta, int pagina, int tamanoPagina) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(Tokenizador.tokenizar(consulta)));
+        if (terminos.isEmpty()) {
+            return new ResultadoBusquedaDto(Collections.emptyList(), 0, pagina, tamanoPagina);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> puntajes = null;
+
+            for (int i = 0; i < terminos.size() && (puntajes == null || !puntajes.isEmpty()); i++) {
+                Map<Long, Double> puntajesTermino = indice.puntuar(terminos.get(i), i == terminos.size() - 1);
+
+                if (puntajes == null) {
+                    puntajes = puntajesTermino;
+                } else {
+                    // Intersección: el producto debe contener todos los términos
+                    puntajes.keySet().retainAll(puntajesTermino.keySet());
+                    puntajes.replaceAll((id, puntaje) -> puntaje + puntajesTermino.get(id));
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(puntajes.entrySet());
+            ordenados.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            // En long: una página enorme desborda int y daría un desplazamiento negativo
+            int desde = (int) Math.min((pagina - 1L) * tamanoPagina, ordenados.size());
+            int hasta = Math.min(desde + tamanoPagina, ordenados.size());
+
+            List<ProductoResumenDto> productos = new ArrayList<>(hasta - desde);
+            for (Map.Entry<Long, Double> entrada : ordenados.subList(desde, hasta)) {
+                productos.add(indice.documentos.get(entrada.getKey()).resumen());
+            }
+
+            return new ResultadoBusquedaDto(productos, ordenados.size(), pagina, tamanoPagina);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cantidad de productos indexados
+     */
+    public int totalProductos() {
+        lock.readLock().lock();
+        try {
+            return indice.documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void aplicar(Indice destino, ProductoEvento evento) {
+        ProductoResponseDto producto = evento.getProducto();
+
+        if (evento.getTipo() == ProductoEvento.Tipo.DESACTIVADO || !"Y".equals(producto.getActivo())) {
+            destino.eliminar(producto.getId());
+        } else {
+            destino.agregar(producto.getId(), producto.getNombre(), producto.getPrecio(), producto.getDescripcion());
+        }
+    }
+
+    /**
+     * Producto indexado: su resumen y los términos con los que aparece en las posting lists
+     */
+    private record Documento(ProductoResumenDto resumen, Set<String> terminos) {
+    }
+
+    /**
+     * Estructura del índice; no es thread-safe, el acceso se protege con el lock de la clase
+     */
+    private static final class Indice {
+
+        // Término -> (ID de producto -> peso del término en el producto), ordenado para buscar por prefijo
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Documento> documentos = new HashMap<>();
+
+        void agregar(Long id, String nombre, BigDecimal precio, String descripcion) {
+            eliminar(id);
+
+            Map<String, Integer> pesos = new HashMap<>();
+            Tokenizador.tokenizar(nombre).forEach(termino -> pesos.merge(termino, PESO_NOMBRE, Integer::sum));
+            Tokenizador.tokenizar(descripcion).forEach(termino -> pesos.merge(termino, PESO_DESCRIPCION, Integer::sum));
+
+            documentos.put(id, new Documento(new ProductoResumenDto(id, nombre, precio), pesos.keySet()));
+            pesos.forEach((termino, peso) -> postings.computeIfAbsent(termino, t -> new HashMap<>()).put(id, peso));
+        }
+
+        void eliminar(Long id) {
+            Documento documento = documentos.remove(id);
+            if (documento == null) {
+                return;
+            }
+
+            for (String termino : documento.terminos()) {
+                Map<Long, Integer> posting = postings.get(termino);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(termino);
+                }
+            }
+        }
+
+        /**
+         * Puntaje TF-IDF de cada producto que contiene el término (o un término que empieza por él)
+         */
+        Map<Long, Double> puntuar(String termino, boolean porPrefijo) {
+            Map<String, Map<Long, Integer>> coincidencias = porPrefijo
+                    ? postings.subMap(termino, true, termino + Character.MAX_VALUE, true)
+                    : postings.containsKey(termino) ? Map.of(termino, postings.get(termino)) : Map.of();
+
+            Map<Long, Double> puntajes = new HashMap<>();
+            coincidencias.forEach((terminoIndexado, posting) -> {
+                double idf = Math.log(1 + (double) documentos.size() / posting.size());
+                double factor = terminoIndexado.equals(termino) ? 1.0 : FACTOR_PREFIJO;
+                // Si varias expansiones del prefijo coinciden en un producto, cuenta la mejor
+                posting.forEach((id, peso) -> puntajes.merge(id, peso * idf * factor, Math::max));
+            });
+
+            return puntajes;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.pruebatec.productos.busqueda;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de productos activos ordenado por precio
+ * Guarda los precios como centavos en un long[] ordenado (con el ID como desempate),
+ * de modo que un rango de precios se resuelve con dos búsquedas binarias sin tocar la base de datos.
+ * Las lecturas usan una instantánea inmutable; cada transacción confirmada publica una instantánea nueva
+ * con todos sus cambios aplicados en una sola pasada
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndicePreciosProductos {
+
+    private final ProductoRepository productoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // null hasta que termina la primera construcción: mientras tanto se usa la base de datos
+    private volatile Instantanea instantanea;
+
+    // Eventos recibidos mientras se reconstruye el índice; null cuando no hay reconstrucción en curso
+    private List<ProductoEvento> eventosPendientes;
+
+    /**
+     * Resultado de una consulta por rango: productos en el orden pedido y total de coincidencias
+     */
+    public record Resultado(List<ProductoResponseDto> productos, int total) {
+    }
+
+    /**
+     * Construye el índice con todos los productos activos al terminar el arranque
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo la tabla como stream y lo publica de forma atómica
+     */
+    public void reconstruir() {
+        synchronized (this) {
+            eventosPendientes = new ArrayList<>();
+        }
+
+        long inicio = System.nanoTime();
+        List<ProductoResponseDto> productos = new ArrayList<>();
+
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(estado -> {
+                try (Stream<Producto> activos = productoRepository.streamByActivoOrderById("Y")) {
+                    activos.forEach(producto -> productos.add(sinDescripcion(new ProductoResponseDto(producto))));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("⚠️ No se pudo construir el índice de precios, se usará la base de datos: {}", e.getMessage());
+            synchronized (this) {
+                eventosPendientes = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            instantanea = Instantanea.de(productos).aplicar(eventosPendientes);
+            eventosPendientes = null;
+        }
+
+        log.info("💲 Índice de precios construido: {} productos en {} ms",
+                productos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Acumula los cambios de producto de la transacción en curso y los aplica juntos al confirmarse:
+     * un lote de N productos copia el índice una vez en lugar de N veces.
+     * Fuera de una transacción el cambio se aplica de inmediato
+     */
+    @EventListener
+    public void onProductoEvento(ProductoEvento evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            aplicar(List.of(evento));
+            return;
+        }
+
+        @SuppressWarnings("unchecked") // Recurso registrado abajo con esta misma clave y tipo
+        List<ProductoEvento> lote = (List<ProductoEvento>) TransactionSynchronizationManager.getResource(this);
+        if (lote == null) {
+            List<ProductoEvento> nuevoLote = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, nuevoLote);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(nuevoLote);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IndicePreciosProductos.this);
+                }
+            });
+            lote = nuevoLote;
+        }
+        lote.add(evento);
+    }
+
+    private synchronized void aplicar(List<ProductoEvento> eventos) {
+        if (eventosPendientes != null) {
+            eventosPendientes.addAll(eventos);
+        }
+        if (instantanea != null) {
+            instantanea = instantanea.aplicar(eventos);
+        }
+    }
+
+    /**
+     * Indica si el índice ya está construido y puede responder consultas
+     */
+    public boolean estaDisponible() {
+        return instantanea != null;
+    }
+
+    /**
+     * Productos con precio dentro del rango (ambos extremos incluidos), ordenados por precio y luego por ID
+     * @param precioMinimo Precio mínimo (null para no acotar)
+     * @param precioMaximo Precio máximo (null para no acotar)
+     * @param descendente true para ordenar de mayor a menor precio
+     * @param limite Cantidad máxima de productos a retornar
+     * @return Productos del rango y total de coincidencias
+     * @throws IllegalStateException si el índice aún no está disponible
+     */
+    public Resultado buscarPorRango(BigDecimal precioMinimo, BigDecimal precioMaximo, boolean descendente, int limite) {
+        Instantanea actual = instantanea;
+        if (actual == null) {
+            throw new IllegalStateException("El índice de precios aún no está disponible");
+        }
+
+        // Un mínimo con fracción de centavo se redondea hacia arriba y un máximo hacia abajo
+        long minimo = precioMinimo != null ? aCentavosAcotados(precioMinimo, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long maximo = precioMaximo != null ? aCentavosAcotados(precioMaximo, RoundingMode.FLOOR) : Long.MAX_VALUE;
+
+        int desde = actual.primeraPosicion(minimo, Long.MIN_VALUE);
+        int hasta = maximo == Long.MAX_VALUE ? actual.centavos.length : actual.primeraPosicion(maximo + 1, Long.MIN_VALUE);
+        hasta = Math.max(hasta, desde);
+
+        int total = hasta - desde;
+        int cantidad = Math.min(total, limite);
+        List<ProductoResponseDto> productos = new ArrayList<>(cantidad);
+
+        for (int i = 0; i < cantidad; i++) {
+            int posicion = descendente ? hasta - 1 - i : desde + i;
+            productos.add(actual.productos.get(actual.ids[posicion]));
+        }
+
+        return new Resultado(productos, total);
+    }
+
+    /**
+     * Cantidad de productos indexados (0 si el índice no está disponible)
+     */
+    public int totalProductos() {
+        Instantanea actual = instantanea;
+        return actual != null ? actual.centavos.length : 0;
+    }
+
+    private static ProductoResponseDto sinDescripcion(ProductoResponseDto producto) {
+        // Los listados por precio no incluyen la descripción (CLOB); se consulta en /productos/{id}/descripcion
+        producto.setDescripcion(null);
+        return producto;
+    }
+
+    static long aCentavos(BigDecimal precio) {
+        return precio.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Límite de un rango en centavos; los valores fuera del rango de long se acotan a sus extremos
+     * (un mínimo enorme no tiene coincidencias y un máximo enorme no acota)
+     */
+    static long aCentavosAcotados(BigDecimal precio, RoundingMode redondeo) {
+        BigInteger centavos = precio.setScale(2, redondeo).unscaledValue();
+        if (centavos.bitLength() > 63) {
+            return centavos.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return centavos.longValue();
+    }
+
+    /**
+     * Estado inmutable del índice: arreglos paralelos ordenados por (centavos, id)
+     */
+    private static final class Instantanea {
+
+        private static final Comparator<ProductoResponseDto> ORDEN =
+                Comparator.<ProductoResponseDto>comparingLong(producto -> aCentavos(producto.getPrecio()))
+                        .thenComparingLong(ProductoResponseDto::getId);
+
+        private final long[] centavos;
+        private final long[] ids;
+        private final Map<Long, ProductoResponseDto> productos;
+
+        private Instantanea(long[] centavos, long[] ids, Map<Long, ProductoResponseDto> productos) {
+            this.centavos = centavos;
+            this.ids = ids;
+            this.productos = productos;
+        }
+
+        static Instantanea de(List<ProductoResponseDto> lista) {
+            List<ProductoResponseDto> ordenados = new ArrayList<>(lista);
+            ordenados.sort(ORDEN);
+
+            long[] centavos = new long[ordenados.size()];
+            long[] ids = new long[ordenados.size()];
+            Map<Long, ProductoResponseDto> productos = new HashMap<>(ordenados.size() * 2);
+
+            for (int i = 0; i < ordenados.size(); i++) {
+                ProductoResponseDto producto = ordenados.get(i);
+                centavos[i] = aCentavos(producto.getPrecio());
+                ids[i] = producto.getId();
+                productos.put(producto.getId(), producto);
+            }
+
+            return new Instantanea(centavos, ids, Collections.unmodifiableMap(productos));
+        }
+
+        /**
+         * Primera posición cuyo par (centavos, id) es mayor o igual al indicado
+         */
+        int primeraPosicion(long centavosBuscados, long id) {
+            int bajo = 0;
+            int alto = centavos.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (centavos[medio] < centavosBuscados || (centavos[medio] == centavosBuscados && ids[medio] < id)) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * Nueva instantánea con los cambios aplicados en una sola pasada: O(n + k log k) para k cambios.
+         * Si un producto cambia varias veces se conserva su último estado
+         */
+        Instantanea aplicar(List<ProductoEvento> eventos) {
+            if (eventos.isEmpty()) {
+                return this;
+            }
+
+            // Último estado de cada producto cambiado: null si queda fuera del índice
+            Map<Long, ProductoResponseDto> cambios = new HashMap<>();
+            for (ProductoEvento evento : eventos) {
+                ProductoResponseDto producto = evento.getProducto();
+                boolean activo = evento.getTipo() != ProductoEvento.Tipo.DESACTIVADO && "Y".equals(producto.getActivo());
+                cambios.put(producto.getId(), activo ? copiar(producto) : null);
+            }
+
+            Map<Long, ProductoResponseDto> nuevosProductos = new HashMap<>(productos);
+            List<ProductoResponseDto> agregados = new ArrayList<>();
+            cambios.forEach((id, producto) -> {
+                nuevosProductos.remove(id);
+                if (producto != null) {
+                    nuevosProductos.put(id, producto);
+                    agregados.add(producto);
+                }
+            });
+            agregados.sort(ORDEN);
+
+            // Mezcla las posiciones conservadas (ya ordenadas) con los agregados ordenados
+            long[] nuevosCentavos = new long[nuevosProductos.size()];
+            long[] nuevosIds = new long[nuevosProductos.size()];
+            int destino = 0;
+            int siguienteAgregado = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (cambios.containsKey(ids[i])) {
+                    continue;
+                }
+                while (siguienteAgregado < agregados.size()
+                        && comparar(agregados.get(siguienteAgregado), centavos[i], ids[i]) < 0) {
+                    ProductoResponseDto agregado = agregados.get(siguienteAgregado++);
+                    nuevosCentavos[destino] = aCentavos(agregado.getPrecio());
+                    nuevosIds[destino++] = agregado.getId();
+                }
+                nuevosCentavos[destino] = centavos[i];
+                nuevosIds[destino++] = ids[i];
+            }
+            while (siguienteAgregado < agregados.size()) {
+                ProductoResponseDto agregado = agregados.get(siguienteAgregado++);
+                nuevosCentavos[destino] = aCentavos(agregado.getPrecio());
+                nuevosIds[destino++] = agregado.getId();
+            }
+
+            return new Instantanea(nuevosCentavos, nuevosIds, Collections.unmodifiableMap(nuevosProductos));
+        }
+
+        private static int comparar(ProductoResponseDto producto, long otrosCentavos, long otroId) {
+            int porPrecio = Long.compare(aCentavos(producto.getPrecio()), otrosCentavos);
+            return porPrecio != 0 ? porPrecio : Long.compare(producto.getId(), otroId);
+        }
+
+        // Copia sin descripción, para no compartir el DTO del evento con otros consumidores
+        private static ProductoResponseDto copiar(ProductoResponseDto original) {
+            ProductoResponseDto copia = new ProductoResponseDto();
+            copia.setId(original.getId());
+            copia.setNombre(original.getNombre());
+            copia.setPrecio(original.getPrecio());
+            copia.setFechaCreacion(original.getFechaCreacion());
+            copia.setFechaActualizacion(original.getFechaActualizacion());
+            copia.setActivo(original.getActivo());
+            return copia;
+        }
+    }
+}
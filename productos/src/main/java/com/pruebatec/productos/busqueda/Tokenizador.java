@@ -0,0 +1,51 @@
+package com.pruebatec.productos.busqueda;
+
+import com.pruebatec.productos.util.NombreNormalizador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Divide textos en términos de búsqueda: minúsculas, sin tildes y sin palabras vacías
+ * "Audífonos inalámbricos con cancelación" -> [audifonos, inalambricos, cancelacion]
+ */
+public final class Tokenizador {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "de", "del", "la", "las", "el", "los", "un", "una", "unos", "unas",
+            "y", "o", "en", "con", "sin", "para", "por", "al", "a", "se", "que");
+
+    private Tokenizador() {
+    }
+
+    /**
+     * Términos del texto en el orden en que aparecen (puede incluir repetidos)
+     * @param texto Texto a dividir (puede ser null)
+     * @return Lista de términos, vacía si el texto no tiene términos útiles
+     */
+    public static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Collections.emptyList();
+        }
+        
+        String normalizado = NombreNormalizador.normalizar(texto).toLowerCase(Locale.ROOT);
+        List<String> terminos = new ArrayList<>();
+        
+        for (String termino : SEPARADORES.split(normalizado)) {
+            // Se descartan letras sueltas, pero no dígitos sueltos (p. ej. "PS 5")
+            if (termino.isEmpty() || PALABRAS_VACIAS.contains(termino)
+                    || (termino.length() == 1 && !Character.isDigit(termino.charAt(0)))) {
+                continue;
+            }
+            terminos.add(termino);
+        }
+        
+        return terminos;
+    }
+}
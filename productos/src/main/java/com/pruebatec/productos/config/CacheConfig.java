@@ -0,0 +1,50 @@
+package com.pruebatec.productos.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de cache en memoria (Caffeine) para consultas de productos por ID
+ * Acotada por tamaño y por tiempo de vida; las estadísticas (hit/miss/eviction)
+ * se publican en actuator como métricas cache.gets y cache.evictions
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String CACHE_PRODUCTOS = "productos";
+
+    @Value("${productos.cache.maximo-elementos:10000}")
+    private long maximoElementos;
+
+    @Value("${productos.cache.ttl-segundos:300}")
+    private long ttlSegundos;
+
+    /**
+     * CacheManager transaccional: las invalidaciones hechas dentro de una transacción
+     * se aplican después del commit, evitando que un lector recargue el valor anterior
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CACHE_PRODUCTOS);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximoElementos)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats());
+        caffeineCacheManager.setAllowNullValues(false);
+
+        log.info("🗃️ Cache de productos configurada - Máximo: {} elementos, TTL: {}s", maximoElementos, ttlSegundos);
+
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -1,27 +1,45 @@
 package com.pruebatec.productos.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.io.Closeable;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Configuración de base de datos con Oracle como principal
  * H2 como fallback (si Oracle no está disponible)
+ * Si se configuran réplicas, las transacciones de solo lectura se envían a ellas
  */
 @Configuration
 @Slf4j
-public class DatabaseConfig {
+public class DatabaseConfig implements DisposableBean {
 
     @Value("${spring.datasource.url}")
     private String oracleUrl;
@@ -41,6 +59,29 @@ public class DatabaseConfig {
     private final String h2Password = "password";
     private final String h2Driver = "org.h2.Driver";
 
+    // Réplicas de solo lectura (opcionales); sin credenciales propias usan las de la base principal
+    @Value("${productos.datasource.replicas.urls:}")
+    private String[] replicaUrls;
+
+    @Value("${productos.datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${productos.datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${productos.datasource.replicas.intervalo-verificacion-segundos:10}")
+    private long intervaloVerificacionReplicas = 10;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    // Límite total para elegir la base al arrancar; las bases que no responden a tiempo se descartan
+    @Value("${productos.datasource.timeout-arranque-ms:10000}")
+    private long timeoutArranqueMs = 10000;
+
+    // Resultado y duración (desde el inicio del sondeo) de cada base candidata
+    private final Map<String, Sondeo> sondeos = new ConcurrentHashMap<>();
+    private Duration tiempoSeleccion;
+
     private final ConfigurableEnvironment environment;
     private String currentDatabase = "Oracle";
 
@@ -50,37 +91,148 @@ public class DatabaseConfig {
 
     /**
      * DataSource principal - Oracle con fallback a H2
+     * Ambas bases se sondean en paralelo con un límite de tiempo total: si Oracle no responde,
+     * H2 ya está verificado y el arranque no espera el timeout de Oracle y luego el de H2
      */
     @Bean
     @Primary
     public DataSource dataSource() {
-        // Intentar Oracle primero (BASE DE DATOS PRINCIPAL)
         DataSource oracleDataSource = createOracleDataSource();
-        if (testConnection(oracleDataSource, "Oracle")) {
+        DataSource h2DataSource = createH2DataSource();
+        
+        Map<String, DataSource> candidatos = new LinkedHashMap<>();
+        candidatos.put("Oracle", oracleDataSource); // BASE DE DATOS PRINCIPAL
+        candidatos.put("H2", h2DataSource);
+        String elegida = sondearEnParalelo(candidatos);
+        
+        if ("Oracle".equals(elegida)) {
             log.info("🟢 CONECTADO A ORACLE DATABASE (PRINCIPAL)");
             log.info("📊 Base de datos: Oracle - Esquema: {}", oracleUsername.toUpperCase());
             currentDatabase = "Oracle";
             configureForOracle();
-            return oracleDataSource;
+            cerrar(h2DataSource);
+            return conReplicas(oracleDataSource, oracleUsername, oraclePassword, null);
         }
         
         // Fallback a H2 si Oracle falla
         log.warn("🔴 Oracle no disponible, cambiando a H2 (FALLBACK)...");
-        DataSource h2DataSource = createH2DataSource();
-        if (testConnection(h2DataSource, "H2")) {
+        cerrar(oracleDataSource);
+        if ("H2".equals(elegida)) {
             log.info("🟡 CONECTADO A H2 DATABASE (FALLBACK)");
             log.info("📊 Base de datos: H2 - URL: {}", h2Url);
             log.info("🌐 Consola H2 disponible en: http://localhost:8080/h2-console");
             currentDatabase = "H2";
             configureForH2();
-            return h2DataSource;
+            return conReplicas(h2DataSource, h2Username, h2Password, h2Driver);
         }
         
         // Si ambas fallan
+        cerrar(h2DataSource);
         log.error("❌ NO SE PUDO CONECTAR A NINGUNA BASE DE DATOS");
         throw new RuntimeException("Error: No se pudo establecer conexión con Oracle ni H2");
     }
 
+    /**
+     * Sondea todas las bases candidatas a la vez y retorna la primera sana en orden de prioridad
+     * Una base que no responde dentro del límite de arranque se descarta; el resultado y la duración
+     * de cada sondeo quedan registrados para las métricas de arranque
+     * @param candidatos DataSources por nombre, en orden de prioridad
+     * @return Nombre de la base elegida, o null si ninguna respondió a tiempo
+     */
+    String sondearEnParalelo(Map<String, DataSource> candidatos) {
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(timeoutArranqueMs);
+        sondeos.clear();
+        
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Map<String, Future<Boolean>> pendientes = new LinkedHashMap<>();
+            candidatos.forEach((nombre, dataSource) -> pendientes.put(nombre, executor.submit(() -> {
+                boolean sana = testConnection(dataSource, nombre);
+                sondeos.putIfAbsent(nombre, new Sondeo(sana ? "ok" : "fallo", Duration.ofNanos(System.nanoTime() - inicio)));
+                return sana;
+            })));
+            
+            for (Map.Entry<String, Future<Boolean>> pendiente : pendientes.entrySet()) {
+                if (esperar(pendiente.getKey(), pendiente.getValue(), limite, inicio)) {
+                    return pendiente.getKey();
+                }
+            }
+            return null;
+        } finally {
+            // Interrumpe los sondeos que siguen en curso (por ejemplo, Oracle esperando su timeout de conexión)
+            executor.shutdownNow();
+            tiempoSeleccion = Duration.ofNanos(System.nanoTime() - inicio);
+            log.info("⏱️ Sondeo de bases de datos: {} en {} ms", sondeos, tiempoSeleccion.toMillis());
+        }
+    }
+
+    /**
+     * Espera el resultado de un sondeo hasta el límite de arranque
+     */
+    private boolean esperar(String nombre, Future<Boolean> sondeo, long limite, long inicio) {
+        try {
+            return sondeo.get(Math.max(limite - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⏱️ {} no respondió dentro del límite de arranque ({} ms)", nombre, timeoutArranqueMs);
+            sondeos.putIfAbsent(nombre, new Sondeo("timeout", Duration.ofNanos(System.nanoTime() - inicio)));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("🔴 Error sondeando {}: {}", nombre, e.getCause().getMessage());
+            sondeos.putIfAbsent(nombre, new Sondeo("fallo", Duration.ofNanos(System.nanoTime() - inicio)));
+            return false;
+        }
+    }
+
+    /**
+     * Cierra el pool de una base descartada
+     */
+    private void cerrar(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("⚠️ Error cerrando DataSource: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Si hay réplicas configuradas, envuelve la base principal en un DataSource que envía las
+     * transacciones readOnly a las réplicas; sin réplicas retorna la principal sin cambios
+     */
+    private DataSource conReplicas(DataSource principal, String username, String password, String driver) {
+        if (replicaUrls == null || replicaUrls.length == 0) {
+            return principal;
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            String nombre = "replica-" + (i + 1);
+            HikariDataSource replica = configurarPool(DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(driver)
+                    .url(replicaUrls[i].trim())
+                    .username(replicaUsername == null || replicaUsername.isBlank() ? username : replicaUsername)
+                    .password(replicaPassword == null || replicaPassword.isBlank() ? password : replicaPassword)
+                    .build(), "productos-" + nombre, "productos.datasource.replicas.hikari");
+            // El pool arranca en la primera conexión: una réplica caída no impide iniciar la aplicación
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(nombre, replica);
+            log.info("🔧 Réplica de lectura {}: {}", nombre, replicaUrls[i].trim());
+        }
+
+        routingDataSource = new ReadWriteRoutingDataSource(principal, replicas,
+                Duration.ofSeconds(intervaloVerificacionReplicas));
+        log.info("🔀 Lecturas readOnly enviadas a {} réplica(s), escrituras a {}", replicas.size(), currentDatabase);
+
+        // La conexión real se pide en la primera sentencia, cuando la transacción ya indicó si es readOnly
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
     /**
      * Configurar propiedades dinámicamente para Oracle
      */
@@ -109,19 +261,15 @@ public class DatabaseConfig {
         h2Props.put("spring.sql.init.continue-on-error", "true");
         h2Props.put("spring.h2.console.enabled", "true");
         
-        // Configuración de pool optimizada para desarrollo
-        h2Props.put("spring.datasource.hikari.maximum-pool-size", "5");
-        h2Props.put("spring.datasource.hikari.minimum-idle", "1");
-        h2Props.put("spring.datasource.hikari.connection-timeout", "30000");
-        h2Props.put("spring.datasource.hikari.idle-timeout", "600000");
+        // El pool de H2 se configura al crearlo (productos.datasource.h2.hikari.*)
         
         // Configuraciones específicas de Hibernate para H2
         h2Props.put("spring.jpa.properties.hibernate.connection.provider_disables_autocommit", "false");
         h2Props.put("spring.jpa.properties.hibernate.connection.autocommit", "true");
         h2Props.put("spring.jpa.show-sql", "true");
         
-        // Forzar ejecución de data.sql
-        h2Props.put("spring.jpa.defer-datasource-initialization", "true");
+        // data.sql se ejecuta porque H2 es una base embebida (spring.sql.init.mode=embedded por defecto)
+        // y después de crear las tablas (spring.jpa.defer-datasource-initialization en application.properties)
         
         addPropertiesToEnvironment(h2Props, "h2-config");
         log.info("⚙️ Configuración aplicada para H2");
@@ -143,12 +291,14 @@ public class DatabaseConfig {
         try {
             log.info("🔧 Configurando Oracle Database (Principal)");
             
-            return DataSourceBuilder.create()
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
                     .driverClassName(oracleDriver)
                     .url(oracleUrl)
                     .username(oracleUsername)
                     .password(oraclePassword)
                     .build();
+            return configurarPool(dataSource, "productos-oracle", "productos.datasource.oracle.hikari");
         } catch (Exception e) {
             log.warn("⚠️ Error creando DataSource de Oracle: {}", e.getMessage());
             return null;
@@ -162,18 +312,33 @@ public class DatabaseConfig {
         try {
             log.info("🔧 Configurando H2 Database (Fallback)");
             
-            return DataSourceBuilder.create()
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
                     .driverClassName(h2Driver)
                     .url(h2Url)
                     .username(h2Username)
                     .password(h2Password)
                     .build();
+            return configurarPool(dataSource, "productos-h2", "productos.datasource.h2.hikari");
         } catch (Exception e) {
             log.warn("⚠️ Error creando DataSource de H2: {}", e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Aplica la configuración del pool antes de que arranque: primero la común a todas las bases
+     * (spring.datasource.hikari.*) y luego la propia de cada una (por ejemplo productos.datasource.oracle.hikari.*)
+     * DataSourceBuilder no lee estas propiedades, y agregarlas al entorno después de crear el pool no tiene efecto
+     */
+    private HikariDataSource configurarPool(HikariDataSource dataSource, String nombrePool, String prefijo) {
+        dataSource.setPoolName(nombrePool);
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind(prefijo, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
     /**
      * Probar conexión a la base de datos
      */
@@ -213,6 +378,47 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Métricas de la base de datos:
+     * - Duración de cada sondeo de arranque (productos.datasource.sondeo, por base y resultado)
+     *   y tiempo total para elegir la base (productos.datasource.seleccion)
+     * - Pool de la principal y de cada réplica, cuando hay réplicas configuradas
+     *   (sin réplicas Spring Boot ya registra las métricas del único pool)
+     */
+    @Bean
+    public MeterBinder databaseMeterBinder(DataSource dataSource) {
+        return registry -> {
+            sondeos.forEach((nombre, sondeo) -> TimeGauge.builder("productos.datasource.sondeo", sondeo,
+                            TimeUnit.NANOSECONDS, s -> s.duracion().toNanos())
+                    .description("Tiempo del sondeo de la base de datos al arrancar")
+                    .tag("base", nombre)
+                    .tag("resultado", sondeo.resultado())
+                    .register(registry));
+            
+            if (tiempoSeleccion != null) {
+                Duration seleccion = tiempoSeleccion;
+                TimeGauge.builder("productos.datasource.seleccion", seleccion, TimeUnit.NANOSECONDS, Duration::toNanos)
+                        .description("Tiempo total para elegir la base de datos al arrancar")
+                        .tag("base", currentDatabase)
+                        .register(registry);
+            }
+            
+            if (routingDataSource != null) {
+                routingDataSource.registrarMetricas(registry);
+            }
+        };
+    }
+
+    /**
+     * Cierra los pools de la principal y de las réplicas (el bean es un proxy sin método close)
+     */
+    @Override
+    public void destroy() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
     /**
      * Bean para saber qué base de datos se está usando
      */
@@ -221,6 +427,12 @@ public class DatabaseConfig {
         return new DatabaseInfo(currentDatabase);
     }
 
+    /**
+     * Resultado del sondeo de una base candidata: ok, fallo o timeout
+     */
+    record Sondeo(String resultado, Duration duracion) {
+    }
+
     /**
      * Clase para exponer información de la base de datos
      */
@@ -0,0 +1,200 @@
+package com.pruebatec.productos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a las réplicas y el resto a la base principal
+ * La decisión se toma al pedir la conexión, por eso debe usarse detrás de un LazyConnectionDataSourceProxy:
+ * así la conexión real se obtiene cuando la transacción ya marcó si es readOnly.
+ * Las réplicas que no responden se marcan como no disponibles y sus lecturas van a la principal
+ * hasta que la verificación periódica las vuelve a encontrar sanas
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRINCIPAL = "principal";
+    static final int TIMEOUT_VALIDACION_SEGUNDOS = 2;
+
+    private final DataSource principal;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<String, Replica> replicasPorNombre = new HashMap<>();
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private final ScheduledExecutorService verificador;
+
+    /**
+     * @param principal DataSource de la base principal (escrituras y lecturas sin réplica disponible)
+     * @param replicas DataSources de las réplicas por nombre, en el orden de la configuración
+     * @param intervaloVerificacion Cada cuánto se verifica la salud de las réplicas
+     */
+    public ReadWriteRoutingDataSource(DataSource principal, Map<String, DataSource> replicas, Duration intervaloVerificacion) {
+        this.principal = principal;
+
+        Map<Object, Object> destinos = new LinkedHashMap<>();
+        destinos.put(PRINCIPAL, principal);
+        replicas.forEach((nombre, dataSource) -> {
+            Replica replica = new Replica(nombre, dataSource);
+            this.replicas.add(replica);
+            this.replicasPorNombre.put(nombre, replica);
+            destinos.put(nombre, dataSource);
+        });
+
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(principal);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        // Las réplicas empiezan como no disponibles: la primera verificación corre de inmediato en segundo plano
+        // para no demorar el arranque si alguna no responde
+        verificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "verificador-replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        verificador.scheduleWithFixedDelay(this::verificarReplicas, 0,
+                intervaloVerificacion.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Principal si no hay transacción de solo lectura; si la hay, la siguiente réplica disponible (round robin)
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRINCIPAL;
+        }
+
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), Math.max(cantidad, 1));
+        for (int i = 0; i < cantidad; i++) {
+            Replica replica = replicas.get((inicio + i) % cantidad);
+            if (replica.disponible) {
+                return replica.nombre;
+            }
+        }
+        return PRINCIPAL;
+    }
+
+    /**
+     * Obtiene la conexión del destino elegido; si una réplica falla se marca como no disponible
+     * y la lectura continúa en la principal
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object clave = determineCurrentLookupKey();
+        Replica replica = replicasPorNombre.get(clave);
+        if (replica == null) {
+            return principal.getConnection();
+        }
+
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            marcar(replica, false, e.getMessage());
+            return principal.getConnection();
+        }
+    }
+
+    /**
+     * Valida una conexión de cada réplica y actualiza su disponibilidad
+     */
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valida = connection.isValid(TIMEOUT_VALIDACION_SEGUNDOS);
+                marcar(replica, valida, valida ? null : "conexión no válida");
+            } catch (SQLException | RuntimeException e) {
+                marcar(replica, false, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Indica si la réplica está recibiendo lecturas
+     */
+    public boolean isReplicaDisponible(String nombre) {
+        Replica replica = replicasPorNombre.get(nombre);
+        return replica != null && replica.disponible;
+    }
+
+    /**
+     * Registra las métricas de pool de cada destino (hikaricp.connections.*, etiquetadas por nombre de pool)
+     * y la disponibilidad de cada réplica
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        getResolvedDataSources().values().forEach(dataSource -> {
+            // Spring Boot ya pudo haber registrado la principal: Hikari solo admite un tracker por pool
+            if (dataSource instanceof HikariDataSource hikari
+                    && hikari.getMetricRegistry() == null && hikari.getMetricsTrackerFactory() == null) {
+                hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+
+        replicas.forEach(replica -> Gauge.builder("productos.datasource.replica.disponible", replica, r -> r.disponible ? 1 : 0)
+                .description("1 si la réplica está recibiendo lecturas, 0 si están yendo a la principal")
+                .tag("replica", replica.nombre)
+                .register(registry));
+    }
+
+    /**
+     * Detiene la verificación de réplicas y cierra los pools
+     */
+    @Override
+    public void close() {
+        verificador.shutdownNow();
+        getResolvedDataSources().values().forEach(dataSource -> {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("⚠️ Error cerrando DataSource: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void marcar(Replica replica, boolean disponible, String motivo) {
+        if (replica.disponible != disponible || !replica.verificada) {
+            if (disponible) {
+                log.info("🟢 Réplica {} disponible: recibe lecturas", replica.nombre);
+            } else {
+                log.warn("🔴 Réplica {} no disponible, sus lecturas van a la principal: {}", replica.nombre, motivo);
+            }
+        }
+        replica.disponible = disponible;
+        replica.verificada = true;
+    }
+
+    private static final class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible;
+        private volatile boolean verificada;
+
+        private Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+    }
+}
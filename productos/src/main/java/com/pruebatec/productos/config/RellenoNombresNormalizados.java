@@ -0,0 +1,77 @@
+package com.pruebatec.productos.config;
+
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.repository.ProductoRepository;
+import com.pruebatec.productos.util.NombreNormalizador;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Completa nombre_normalizado en las filas que no lo tienen (bases anteriores a la columna, data.sql, SQL directo)
+ * La clave se calcula con NombreNormalizador, igual que al insertar: una normalización en SQL (TRANSLATE/TRIM)
+ * no descarta todas las marcas diacríticas ni los caracteres de control y dejaría pasar duplicados.
+ * Corre al terminar de crear los beans, antes de que el servidor acepte peticiones
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RellenoNombresNormalizados implements SmartInitializingSingleton {
+
+    static final int FILAS_POR_LOTE = 500;
+
+    private final ProductoRepository productoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rellenar();
+    }
+
+    /**
+     * Completa las claves pendientes; cada fila se confirma por separado para que un nombre duplicado
+     * entre productos activos no impida completar las demás
+     *
+     * @return Cantidad de filas completadas
+     */
+    public int rellenar() {
+        // Transacciones de escritura: la búsqueda también va a la base principal
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        int completadas = 0;
+        int duplicadas = 0;
+        long ultimoId = 0;
+        List<ProductoResumenDto> lote;
+
+        do {
+            long desde = ultimoId;
+            lote = transaccion.execute(estado ->
+                    productoRepository.findSinNombreNormalizado(desde, Limit.of(FILAS_POR_LOTE)));
+
+            for (ProductoResumenDto fila : lote) {
+                String clave = NombreNormalizador.normalizar(fila.getNombre());
+                try {
+                    Integer filas = transaccion.execute(estado ->
+                            productoRepository.completarNombreNormalizado(fila.getId(), clave));
+                    completadas += filas != null ? filas : 0;
+                } catch (DataIntegrityViolationException e) {
+                    duplicadas++;
+                    log.warn("⚠️ El producto ID {} ('{}') duplica el nombre de otro producto activo ({}), queda sin clave",
+                            fila.getId(), fila.getNombre(), clave);
+                }
+                ultimoId = fila.getId();
+            }
+        } while (lote.size() == FILAS_POR_LOTE);
+
+        if (completadas > 0 || duplicadas > 0) {
+            log.info("🔤 Nombres normalizados completados: {} - duplicados sin completar: {}", completadas, duplicadas);
+        }
+        return completadas;
+    }
+}
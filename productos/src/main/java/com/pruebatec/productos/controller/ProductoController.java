@@ -1,9 +1,22 @@
 package com.pruebatec.productos.controller;
 
+import com.pruebatec.productos.dto.CambioProductoDto;
+import com.pruebatec.productos.dto.CambiosProductosDto;
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoPaginaDto;
 import com.pruebatec.productos.dto.ProductoRequestDto;
 import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ProductosPorIdsDto;
+import com.pruebatec.productos.dto.ProductosPorPrecioDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.dto.ResultadoLoteDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+import com.pruebatec.productos.exception.ProductoException;
 import com.pruebatec.productos.response.ApiResponse;
 import com.pruebatec.productos.response.ApiResponseBuilder;
+import com.pruebatec.productos.response.ETagBuilder;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
 import com.pruebatec.productos.service.ProductoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,11 +28,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/productos")
@@ -36,6 +57,25 @@ public class ProductoController {
         description = """
             Retorna una lista de todos los productos activos en el sistema.
             Los productos se ordenan por ID de forma ascendente.
+            
+            **Paginación por cursor (opcional):**
+            - Si se envía `after` o `limit` se retorna solo una página
+            - `after`: ID del último producto recibido (omitir en la primera página)
+            - `limit`: tamaño de la página (por defecto 50, máximo 500)
+            - El cursor de la siguiente página llega en `meta.additional.next_cursor`
+            
+            **Rango y orden por precio (opcional):**
+            - `precioMin` / `precioMax`: extremos del rango, ambos incluidos
+            - `sort`: `precio` (ascendente, por defecto) o `-precio` (descendente); empates por ID
+            - `limit`: cantidad máxima de productos (por defecto todos los del rango)
+            - `meta.total` es la cantidad de productos del rango y `meta.count` los retornados
+            - No incluye la descripción ni se combina con `after`
+            
+            **GET condicional:** la respuesta incluye un ETag del catálogo; si se envía
+            `If-None-Match` con ese valor y el catálogo no cambió se responde 304 sin cuerpo.
+            
+            **Listado completo:** se sirve desde una respuesta ya serializada para la versión actual
+            del catálogo (comprimida con gzip si se envía `Accept-Encoding: gzip`).
             """,
         tags = {"Productos"}
     )
@@ -73,6 +113,10 @@ public class ProductoController {
                 )
             )
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "El catálogo no cambió desde el ETag enviado en If-None-Match"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "500",
             description = "Error interno del servidor",
@@ -83,7 +127,78 @@ public class ProductoController {
         )
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductoResponseDto>>> obtenerTodosLosProductos() {
+    public ResponseEntity<?> obtenerTodosLosProductos(
+            @Parameter(
+                description = "Cursor: ID del último producto de la página anterior",
+                example = "50",
+                schema = @Schema(type = "integer", format = "int64", minimum = "0")
+            )
+            @RequestParam(required = false) Long after,
+            @Parameter(
+                description = "Cantidad máxima de productos por página",
+                example = "50",
+                schema = @Schema(type = "integer", minimum = "1", maximum = "500")
+            )
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                description = "Precio mínimo (incluido)",
+                example = "100.00",
+                schema = @Schema(type = "number", minimum = "0")
+            )
+            @RequestParam(required = false) BigDecimal precioMin,
+            @Parameter(
+                description = "Precio máximo (incluido)",
+                example = "1500.00",
+                schema = @Schema(type = "number", minimum = "0")
+            )
+            @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(
+                description = "Orden por precio: precio (ascendente) o -precio (descendente)",
+                example = "precio",
+                schema = @Schema(type = "string", allowableValues = {"precio", "-precio"})
+            )
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest) {
+        // Versión del catálogo (agregados cacheados durante productos.catalogo.version-ttl-ms):
+        // si el cliente ya la tiene, 304 sin leer filas
+        VersionCatalogoDto version = productoService.obtenerVersionCatalogo();
+        
+        if (precioMin != null || precioMax != null || sort != null) {
+            if (after != null) {
+                throw ProductoException.validacion("after", after, 
+                        "El cursor no se puede combinar con el rango u orden por precio");
+            }
+            String etag = ETagBuilder.deCatalogo(version, 
+                    "p" + precioMin + "-" + precioMax + "s" + sort + "l" + limit);
+            if (webRequest.checkNotModified(etag)) {
+                log.info("♻️ GET /productos?precioMin={}&precioMax={}&sort={} - 304 Not Modified", 
+                        precioMin, precioMax, sort);
+                return null;
+            }
+            return obtenerProductosPorPrecio(precioMin, precioMax, sort, limit, etag);
+        }
+        
+        if (after != null || limit != null) {
+            String etag = ETagBuilder.deCatalogo(version, "a" + after + "l" + limit);
+            if (webRequest.checkNotModified(etag)) {
+                log.info("♻️ GET /productos?after={}&limit={} - 304 Not Modified", after, limit);
+                return null;
+            }
+            return obtenerPaginaDeProductos(after, limit, etag);
+        }
+        
+        String etag = ETagBuilder.deCatalogo(version);
+        if (webRequest.checkNotModified(etag)) {
+            log.info("♻️ GET /productos - 304 Not Modified");
+            return null;
+        }
+        
+        // Respuesta ya serializada para esta versión del catálogo: se escriben los bytes sin consultar ni serializar
+        InstantaneaCatalogo.Contenido instantanea = productoService.obtenerCatalogoSerializado(version);
+        if (instantanea != null) {
+            return responderInstantanea(instantanea, etag, webRequest);
+        }
+        
         log.info("🔍 GET /productos - Obteniendo todos los productos");
         
         List<ProductoResponseDto> productos = productoService.obtenerTodosLosProductos();
@@ -95,14 +210,534 @@ public class ProductoController {
         );
         
         log.info("✅ Se retornaron {} productos", productos.size());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Obtener varios productos por ID",
+        description = """
+            Busca varios productos activos en una sola petición (máximo 500 IDs).
+            Los IDs se envían separados por coma: `/productos?ids=1,2,3`.
+            
+            - Los productos encontrados se retornan en el orden en que se pidieron
+            - Los IDs repetidos se consultan una sola vez
+            - Los IDs inexistentes o inactivos se reportan en `data.ids_no_encontrados`
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Consulta realizada exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Consulta por IDs",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Productos obtenidos exitosamente",
+                          "data": {
+                            "productos": [
+                              { "id": 1, "nombre": "iPhone 15 Pro", "precio": 1299.99, "activo": "Y" }
+                            ],
+                            "ids_no_encontrados": [999]
+                          },
+                          "meta": {
+                            "total": 2,
+                            "count": 1
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lista de IDs vacía, con IDs inválidos o mayor al máximo permitido",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<ProductosPorIdsDto>> obtenerProductosPorIds(
+            @Parameter(
+                description = "IDs de los productos separados por coma",
+                required = true,
+                example = "1,2,3"
+            )
+            @RequestParam List<Long> ids) {
+        log.info("🔍 GET /productos?ids - Obteniendo {} productos por ID", ids.size());
+        
+        ProductosPorIdsDto resultado = productoService.obtenerProductosPorIds(ids);
+        
+        ApiResponse.Meta meta = ApiResponseBuilder.createMeta(
+                resultado.getProductos().size() + resultado.getIdsNoEncontrados().size());
+        meta.setCount(resultado.getProductos().size());
+        
+        ApiResponse<ProductosPorIdsDto> response = ApiResponseBuilder.success(
+            "Productos obtenidos exitosamente",
+            resultado,
+            meta
+        );
+        
+        log.info("✅ Se retornaron {} productos - no encontrados: {}", 
+                resultado.getProductos().size(), resultado.getIdsNoEncontrados().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Escribe la instantánea serializada del catálogo, comprimida si el cliente acepta gzip
+     */
+    private ResponseEntity<byte[]> responderInstantanea(InstantaneaCatalogo.Contenido instantanea, String etag, 
+                                                        WebRequest webRequest) {
+        boolean gzip = instantanea.gzip() != null && aceptaGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        
+        log.info("✅ Se retornaron {} productos desde la instantánea del catálogo{}", 
+                instantanea.total(), gzip ? " (gzip)" : "");
+        if (gzip) {
+            return respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(instantanea.gzip());
+        }
+        return respuesta.body(instantanea.json());
+    }
+
+    /**
+     * Indica si Accept-Encoding admite gzip: el token gzip (o el comodín * si gzip no aparece) con q mayor que 0
+     * Ejemplos: "gzip, br" sí; "gzip;q=0" no; "br, *;q=0.5" sí; "br, *, gzip;q=0" no
+     */
+    static boolean aceptaGzip(String aceptaCodificacion) {
+        if (aceptaCodificacion == null) {
+            return false;
+        }
+        
+        Boolean gzip = null;
+        boolean comodin = false;
+        for (String elemento : aceptaCodificacion.split(",")) {
+            String[] partes = elemento.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            boolean aceptada = calidad(partes) > 0;
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                gzip = aceptada;
+            } else if (codificacion.equals("*")) {
+                comodin = aceptada;
+            }
+        }
+        return gzip != null ? gzip : comodin;
+    }
+    
+    /**
+     * Valor q de un elemento de Accept-Encoding (1 si no lo indica, 0 si no es válido)
+     */
+    private static double calidad(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.length() > 1 && (parametro.charAt(0) == 'q' || parametro.charAt(0) == 'Q')
+                    && parametro.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parametro.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Retorna los productos de un rango de precios ordenados por precio
+     */
+    private ResponseEntity<ApiResponse<List<ProductoResponseDto>>> obtenerProductosPorPrecio(
+            BigDecimal precioMin, BigDecimal precioMax, String sort, Integer limit, String etag) {
+        log.info("🔍 GET /productos?precioMin={}&precioMax={}&sort={}&limit={} - Obteniendo productos por precio", 
+                precioMin, precioMax, sort, limit);
+        
+        ProductosPorPrecioDto resultado = productoService.obtenerProductosPorPrecio(precioMin, precioMax, sort, limit);
+        
+        ApiResponse.Meta meta = ApiResponseBuilder.createMeta(resultado.getTotalResultados());
+        meta.setCount(resultado.getProductos().size());
+        
+        ApiResponse<List<ProductoResponseDto>> response = ApiResponseBuilder.success(
+            "Productos obtenidos exitosamente",
+            resultado.getProductos(),
+            meta
+        );
+        
+        log.info("✅ Se retornaron {} de {} productos en el rango de precio", 
+                resultado.getProductos().size(), resultado.getTotalResultados());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Retorna una sola página del catálogo usando paginación por cursor
+     */
+    private ResponseEntity<ApiResponse<List<ProductoResponseDto>>> obtenerPaginaDeProductos(
+            Long after, Integer limit, String etag) {
+        log.info("🔍 GET /productos?after={}&limit={} - Obteniendo página de productos", after, limit);
+        
+        ProductoPaginaDto pagina = productoService.obtenerProductosPaginados(after, limit);
+        
+        ApiResponse<List<ProductoResponseDto>> response = ApiResponseBuilder.success(
+            "Productos obtenidos exitosamente",
+            pagina.getProductos(),
+            ApiResponseBuilder.createCursorMeta(
+                pagina.getProductos().size(),
+                pagina.getLimite(),
+                pagina.getSiguienteCursor(),
+                pagina.isHayMas()
+            )
+        );
+        
+        log.info("✅ Se retornaron {} productos - siguiente cursor: {}", 
+                pagina.getProductos().size(), pagina.getSiguienteCursor());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Obtener resumen de productos",
+        description = """
+            Retorna solo el ID, nombre y precio de todos los productos activos, ordenados por ID.
+            No incluye la descripción, por lo que es más liviano que `GET /productos`;
+            la descripción de un producto se consulta con `GET /productos/{id}/descripcion`.
+            
+            **GET condicional:** igual que el listado completo, responde 304 si el ETag
+            enviado en `If-None-Match` sigue vigente.
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Resumen obtenido exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Resumen",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Resumen de productos obtenido exitosamente",
+                          "data": [
+                            { "id": 1, "nombre": "iPhone 15 Pro", "precio": 1299.99 }
+                          ],
+                          "meta": {
+                            "total": 1,
+                            "count": 1
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "El catálogo no cambió desde el ETag enviado en If-None-Match"
+        )
+    })
+    @GetMapping("/resumen")
+    public ResponseEntity<ApiResponse<List<ProductoResumenDto>>> obtenerResumenProductos(WebRequest webRequest) {
+        String etag = ETagBuilder.deCatalogo(productoService.obtenerVersionCatalogo(), "resumen");
+        if (webRequest.checkNotModified(etag)) {
+            log.info("♻️ GET /productos/resumen - 304 Not Modified");
+            return null;
+        }
+        
+        log.info("🔍 GET /productos/resumen - Obteniendo resumen de productos");
+        
+        List<ProductoResumenDto> resumen = productoService.obtenerResumenProductos();
+        
+        ApiResponse<List<ProductoResumenDto>> response = ApiResponseBuilder.success(
+            "Resumen de productos obtenido exitosamente",
+            resumen,
+            resumen.size()
+        );
+        
+        log.info("✅ Se retornaron {} productos en el resumen", resumen.size());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Buscar productos",
+        description = """
+            Busca productos activos por texto en el nombre y la descripción.
+            
+            - No distingue mayúsculas ni tildes: `audifonos` encuentra "Audífonos"
+            - Un producto debe contener todos los términos de la búsqueda
+            - El último término también coincide por prefijo (`mous` encuentra "Mouse")
+            - Los resultados se ordenan por relevancia; el nombre pesa más que la descripción
+            - Paginación con `page` (desde 1) y `size` (por defecto 20, máximo 100)
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Búsqueda realizada exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Resultados",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Búsqueda realizada exitosamente",
+                          "data": [
+                            { "id": 5, "nombre": "Audífonos Sony WH-1000XM4", "precio": 1399000.00 }
+                          ],
+                          "meta": {
+                            "total": 1,
+                            "count": 1,
+                            "page": 1,
+                            "page_size": 20
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Texto de búsqueda vacío o paginación inválida",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ProductoResumenDto>>> buscarProductos(
+            @Parameter(description = "Texto a buscar", required = true, example = "audifonos sony")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Número de página (desde 1)", example = "1")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Productos por página (máximo 100)", example = "20")
+            @RequestParam(required = false) Integer size) {
+        log.info("🔎 GET /productos/search?q={} - Buscando productos", q);
+        
+        ResultadoBusquedaDto resultado = productoService.buscarProductos(q, page, size);
+        
+        ApiResponse<List<ProductoResumenDto>> response = ApiResponseBuilder.success(
+            "Búsqueda realizada exitosamente",
+            resultado.getProductos(),
+            ApiResponseBuilder.createMeta(
+                resultado.getTotalResultados(),
+                resultado.getProductos().size(),
+                resultado.getPagina(),
+                resultado.getTamanoPagina()
+            )
+        );
+        
+        log.info("✅ Búsqueda retornó {} de {} productos", 
+                resultado.getProductos().size(), resultado.getTotalResultados());
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Feed de cambios de productos",
+        description = """
+            Retorna los productos creados, modificados o desactivados después de la marca `since`,
+            ordenados por fecha de actualización e ID. Permite mantener una copia del catálogo
+            sincronizada leyendo solo lo que cambió.
+            
+            - Primera sincronización: sin `since` se recorre el catálogo completo
+            - Siguiente consulta: enviar en `since` el valor de `meta.additional.next_since`
+            - Mientras `has_more` sea true hay más cambios disponibles de inmediato
+            - `tipo` es `ACTUALIZADO` (insertar o reemplazar) o `DESACTIVADO` (tombstone: eliminar)
+            - Los cambios más recientes que `productos.cambios.retraso-ms` (30 s por defecto) se entregan en la consulta siguiente, cuando
+              ya no puede aparecer otro cambio con una fecha anterior
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Cambios obtenidos exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Cambios",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Cambios obtenidos exitosamente",
+                          "data": [
+                            {
+                              "id": 1,
+                              "tipo": "ACTUALIZADO",
+                              "fecha_actualizacion": "2025-07-27T10:30:00",
+                              "producto": { "id": 1, "nombre": "iPhone 15 Pro", "precio": 1299.99, "activo": "Y" }
+                            },
+                            { "id": 7, "tipo": "DESACTIVADO", "fecha_actualizacion": "2025-07-27T11:00:00" }
+                          ],
+                          "meta": {
+                            "count": 2,
+                            "page_size": 50,
+                            "additional": { "next_since": "hna93dnonm-7", "has_more": false }
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Marca o límite inválidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<List<CambioProductoDto>>> obtenerCambios(
+            @Parameter(description = "Marca de la consulta anterior (next_since); vacío para empezar desde el principio", 
+                       example = "hna93dnonm-i")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Cantidad máxima de cambios (1 a 500, por defecto 50)", example = "50")
+            @RequestParam(required = false) Integer limit) {
+        log.info("🔄 GET /productos/changes?since={}&limit={} - Obteniendo cambios", since, limit);
+        
+        CambiosProductosDto resultado = productoService.obtenerCambios(since, limit);
+        
+        ApiResponse<List<CambioProductoDto>> response = ApiResponseBuilder.success(
+            "Cambios obtenidos exitosamente",
+            resultado.getCambios(),
+            ApiResponseBuilder.createCambiosMeta(
+                resultado.getCambios().size(),
+                resultado.getLimite(),
+                resultado.getSiguienteMarca(),
+                resultado.isHayMas()
+            )
+        );
+        
+        log.info("✅ Se retornaron {} cambios - siguiente marca: {}", 
+                resultado.getCambios().size(), resultado.getSiguienteMarca());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Stream de cambios de productos (Server-Sent Events)",
+        description = """
+            Mantiene la conexión abierta y envía un evento por cada cambio de producto confirmado,
+            pensado para invalidar caches remotas sin esperar a que expiren.
+            
+            **Eventos:**
+            - `producto`: `data` con `tipo` (CREADO, ACTUALIZADO o DESACTIVADO) y el `producto` después del cambio
+            - `resync`: se perdieron eventos (cliente lento o `Last-Event-ID` fuera del buffer); el cliente
+              debe recargar su estado, por ejemplo con `GET /productos/changes`, y seguir escuchando
+            - Periódicamente (cada 15 s por defecto) se envía un comentario de heartbeat para mantener la conexión
+            
+            **Reconexión:** cada evento tiene un `id`; al reconectarse con el header `Last-Event-ID`
+            se reenvían los eventos posteriores que sigan en el buffer (EventSource lo hace automáticamente).
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Stream abierto",
+            content = @Content(
+                mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                examples = @ExampleObject(
+                    name = "Evento",
+                    value = """
+                        id: mgu2x8k1-1
+                        event: producto
+                        data: {"tipo":"CREADO","producto":{"id":51,"nombre":"iPhone 15 Pro","precio":1299.99,"activo":"Y"}}
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirCambios(
+            @Parameter(description = "ID del último evento recibido, para reanudar el stream")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        log.info("📡 GET /productos/stream - Suscripción al stream de cambios (Last-Event-ID: {})", ultimoEventoId);
+        
+        SseEmitter emitter = productoService.suscribirCambios(ultimoEventoId);
+        
+        // X-Accel-Buffering evita que un proxy nginx retenga los eventos
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @Operation(
+        summary = "Exportar catálogo completo (NDJSON)",
+        description = """
+            Exporta todos los productos activos en formato NDJSON (un objeto JSON por línea),
+            ordenados por ID. La respuesta se escribe fila por fila mientras se lee la base de datos,
+            por lo que el consumo de memoria no depende del tamaño del catálogo.
+            Pensado para la sincronización nocturna con sistemas externos.
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Catálogo exportado exitosamente",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                examples = @ExampleObject(
+                    name = "Exportación",
+                    value = """
+                        {"id":1,"nombre":"iPhone 15 Pro","precio":1299.99,"activo":"Y"}
+                        {"id":2,"nombre":"MacBook Air M3","precio":1899.99,"activo":"Y"}
+                        """
+                )
+            )
+        )
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarProductos() {
+        log.info("📤 GET /productos/export - Exportando catálogo en NDJSON");
+        
+        StreamingResponseBody body = salida -> productoService.exportarProductos(salida);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(
         summary = "Obtener producto por ID",
         description = """
             Busca y retorna un producto específico basado en su ID único.
             Solo retorna productos que estén activos en el sistema.
+            
+            **GET condicional:** la respuesta incluye un ETag derivado del ID y la fecha de
+            actualización; con `If-None-Match` igual al ETag vigente se responde 304 sin cuerpo.
             """,
         tags = {"Productos"}
     )
@@ -134,6 +769,10 @@ public class ProductoController {
                 )
             )
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "El producto no cambió desde el ETag enviado en If-None-Match"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Producto no encontrado",
@@ -176,17 +815,88 @@ public class ProductoController {
                 example = "1",
                 schema = @Schema(type = "integer", format = "int64", minimum = "1")
             )
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("🔍 GET /productos/{} - Obteniendo producto por ID", id);
         
         ProductoResponseDto producto = productoService.obtenerProductoPorId(id);
         
+        String etag = ETagBuilder.deProducto(producto);
+        if (webRequest.checkNotModified(etag)) {
+            log.info("♻️ GET /productos/{} - 304 Not Modified", id);
+            return null;
+        }
+        
         ApiResponse<ProductoResponseDto> response = ApiResponseBuilder.success(
             "Producto encontrado", 
             producto
         );
         
         log.info("✅ Producto encontrado: {}", producto.getNombre());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Obtener descripción de un producto",
+        description = """
+            Retorna solo la descripción de un producto activo.
+            Pensado para cargar la descripción bajo demanda a partir del resumen de productos.
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Descripción obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Descripción",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Descripción del producto obtenida",
+                          "data": {
+                            "id": 1,
+                            "descripcion": "El último iPhone con chip A17 Pro"
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    @GetMapping("/{id}/descripcion")
+    public ResponseEntity<ApiResponse<ProductoDescripcionDto>> obtenerDescripcionProducto(
+            @Parameter(
+                description = "ID único del producto",
+                required = true,
+                example = "1",
+                schema = @Schema(type = "integer", format = "int64", minimum = "1")
+            )
+            @PathVariable Long id) {
+        log.info("🔍 GET /productos/{}/descripcion - Obteniendo descripción", id);
+        
+        ProductoDescripcionDto descripcion = productoService.obtenerDescripcionProducto(id);
+        
+        ApiResponse<ProductoDescripcionDto> response = ApiResponseBuilder.success(
+            "Descripción del producto obtenida",
+            descripcion
+        );
+        
         return ResponseEntity.ok(response);
     }
 
@@ -330,6 +1040,102 @@ public class ProductoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+        summary = "Crear productos de forma masiva",
+        description = """
+            Crea varios productos en una sola petición (máximo 5000 por lote).
+            
+            **Comportamiento:**
+            - Cada elemento se valida por separado; los inválidos o duplicados se rechazan
+              sin afectar al resto del lote
+            - Un nombre repetido dentro del mismo lote solo se crea una vez
+            - El resultado de cada elemento se retorna en `data.resultados`, en el mismo orden del lote
+            - Responde 201 si se creó al menos un producto y 200 si todos fueron rechazados
+            """,
+        tags = {"Productos"}
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "201",
+            description = "Lote procesado con al menos un producto creado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    name = "Lote procesado",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "Lote procesado: 1 creados, 1 rechazados",
+                          "data": {
+                            "total": 2,
+                            "creados": 1,
+                            "rechazados": 1,
+                            "resultados": [
+                              {
+                                "indice": 0,
+                                "estado": "CREADO",
+                                "producto": { "id": 51, "nombre": "Dell XPS 13", "precio": 1299.00, "activo": "Y" }
+                              },
+                              {
+                                "indice": 1,
+                                "estado": "DUPLICADO",
+                                "error": "Ya existe un producto con el nombre: iPhone 15 Pro"
+                              }
+                            ]
+                          },
+                          "meta": {
+                            "total": 2,
+                            "count": 1,
+                            "additional": { "created": 1, "rejected": 1 }
+                          },
+                          "timestamp": "2025-07-27T15:45:30"
+                        }
+                        """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lote procesado sin productos creados (todos rechazados)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o mayor al máximo permitido",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<ResultadoLoteDto>> crearProductosEnLote(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Productos a crear",
+                required = true
+            )
+            @RequestBody List<ProductoRequestDto> productosRequest) {
+        log.info("🆕 POST /productos/batch - Creando lote de {} productos", 
+                productosRequest != null ? productosRequest.size() : 0);
+        
+        ResultadoLoteDto resultado = productoService.crearProductosEnLote(productosRequest);
+        
+        ApiResponse<ResultadoLoteDto> response = ApiResponseBuilder.success(
+            String.format("Lote procesado: %d creados, %d rechazados", 
+                    resultado.getCreados(), resultado.getRechazados()),
+            resultado,
+            ApiResponseBuilder.createBatchMeta(resultado.getTotal(), resultado.getCreados(), resultado.getRechazados())
+        );
+        
+        log.info("✅ Lote procesado: {} creados, {} rechazados", resultado.getCreados(), resultado.getRechazados());
+        return ResponseEntity.status(resultado.getCreados() > 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(response);
+    }
+
     @Operation(
         summary = "Health check del servicio",
         description = """
@@ -0,0 +1,33 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con un cambio del feed de productos
+ * Responsabilidad única: Transferir el estado actual de un producto que cambió, o su baja (tombstone)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioProductoDto {
+
+    public static final String TIPO_ACTUALIZADO = "ACTUALIZADO"; // Creado o modificado: el espejo lo inserta o reemplaza
+    public static final String TIPO_DESACTIVADO = "DESACTIVADO"; // Tombstone: el espejo lo elimina
+
+    private Long id;
+    private String tipo;
+    private LocalDateTime fechaActualizacion;
+    private ProductoResponseDto producto; // null en los tombstones
+
+    public static CambioProductoDto actualizado(ProductoResponseDto producto) {
+        return new CambioProductoDto(producto.getId(), TIPO_ACTUALIZADO, producto.getFechaActualizacion(), producto);
+    }
+
+    public static CambioProductoDto desactivado(Long id, LocalDateTime fechaActualizacion) {
+        return new CambioProductoDto(id, TIPO_DESACTIVADO, fechaActualizacion, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con una página del feed de cambios de productos
+ * Responsabilidad única: Transferir los cambios en orden y la marca para pedir los siguientes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambiosProductosDto {
+
+    private List<CambioProductoDto> cambios; // Ordenados por (fechaActualizacion, id)
+    private String siguienteMarca; // Valor de since para la siguiente consulta (null si aún no hay cambios)
+    private boolean hayMas;
+    private int limite;
+}
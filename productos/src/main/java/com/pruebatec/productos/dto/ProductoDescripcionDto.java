@@ -0,0 +1,18 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con la descripción de un producto, consultada bajo demanda
+ * Responsabilidad única: Transferir el contenido CLOB separado del listado
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoDescripcionDto {
+
+    private Long id;
+    private String descripcion;
+}
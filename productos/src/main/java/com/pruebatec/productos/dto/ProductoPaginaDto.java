@@ -0,0 +1,22 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una página de productos obtenida por cursor (keyset)
+ * Responsabilidad única: Transferir la página y el cursor de la siguiente
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoPaginaDto {
+
+    private List<ProductoResponseDto> productos;
+    private Long siguienteCursor; // null cuando no hay más páginas
+    private boolean hayMas;
+    private int limite;
+}
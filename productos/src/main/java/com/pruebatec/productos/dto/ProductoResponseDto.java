@@ -35,4 +35,17 @@ public class ProductoResponseDto {
         this.fechaActualizacion = producto.getFechaActualizacion();
         this.activo = producto.getActivo();
     }
+
+    /**
+     * Constructor de proyección para listados: sin la descripción (CLOB)
+     */
+    public ProductoResponseDto(Long id, String nombre, BigDecimal precio, LocalDateTime fechaCreacion,
+                               LocalDateTime fechaActualizacion, String activo) {
+        this.id = id;
+        this.nombre = nombre;
+        this.precio = precio;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaActualizacion = fechaActualizacion;
+        this.activo = activo;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de proyección liviana para listados de productos
+ * Responsabilidad única: Transferir solo las columnas escalares (sin la descripción CLOB)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoResumenDto {
+
+    private Long id;
+    private String nombre;
+    private BigDecimal precio;
+}
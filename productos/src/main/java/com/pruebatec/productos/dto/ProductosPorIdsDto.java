@@ -0,0 +1,20 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una consulta de varios productos por ID
+ * Responsabilidad única: Transferir los productos encontrados y los IDs que no existen
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductosPorIdsDto {
+
+    private List<ProductoResponseDto> productos; // En el orden en que se pidieron los IDs
+    private List<Long> idsNoEncontrados; // IDs inexistentes o de productos inactivos
+}
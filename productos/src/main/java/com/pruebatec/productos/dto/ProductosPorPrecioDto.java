@@ -0,0 +1,20 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con los productos de un rango de precios
+ * Responsabilidad única: Transferir los productos ordenados por precio y el total de coincidencias
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductosPorPrecioDto {
+
+    private List<ProductoResponseDto> productos; // Sin descripción, ordenados por precio y luego por ID
+    private int totalResultados; // Coincidencias del rango antes de aplicar el límite
+}
@@ -0,0 +1,22 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con una página de resultados de búsqueda de productos
+ * Responsabilidad única: Transferir los productos ordenados por relevancia y el total de coincidencias
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBusquedaDto {
+
+    private List<ProductoResumenDto> productos; // Ordenados de mayor a menor relevancia
+    private int totalResultados;
+    private int pagina; // Empieza en 1
+    private int tamanoPagina;
+}
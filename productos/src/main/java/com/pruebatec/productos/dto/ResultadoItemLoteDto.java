@@ -0,0 +1,41 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de un elemento dentro de un lote de creación
+ * Responsabilidad única: Indicar si el elemento se creó o por qué fue rechazado
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLoteDto {
+
+    /**
+     * Estado final de cada elemento del lote
+     */
+    public enum Estado {
+        CREADO,
+        DUPLICADO,
+        INVALIDO
+    }
+
+    private int indice; // Posición del elemento en el lote recibido
+    private Estado estado;
+    private ProductoResponseDto producto; // Solo cuando el elemento fue creado
+    private String error; // Solo cuando el elemento fue rechazado
+
+    public static ResultadoItemLoteDto creado(int indice, ProductoResponseDto producto) {
+        return new ResultadoItemLoteDto(indice, Estado.CREADO, producto, null);
+    }
+
+    public static ResultadoItemLoteDto duplicado(int indice, String error) {
+        return new ResultadoItemLoteDto(indice, Estado.DUPLICADO, null, error);
+    }
+
+    public static ResultadoItemLoteDto invalido(int indice, String error) {
+        return new ResultadoItemLoteDto(indice, Estado.INVALIDO, null, error);
+    }
+}
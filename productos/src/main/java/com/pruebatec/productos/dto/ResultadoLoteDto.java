@@ -0,0 +1,22 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una creación masiva de productos
+ * Responsabilidad única: Transferir el resumen del lote y el resultado de cada elemento
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDto {
+
+    private int total;
+    private int creados;
+    private int rechazados;
+    private List<ResultadoItemLoteDto> resultados; // En el mismo orden del lote recibido
+}
@@ -0,0 +1,22 @@
+package com.pruebatec.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con la versión del catálogo (agregados baratos de la tabla productos)
+ * Responsabilidad única: Detectar si el catálogo cambió sin leer todas sus filas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionCatalogoDto {
+
+    private Long totalProductos;      // Incluye inactivos: una desactivación también cambia la versión
+    private Long productosActivos;
+    private Long maximoId;
+    private LocalDateTime ultimaActualizacion;
+}
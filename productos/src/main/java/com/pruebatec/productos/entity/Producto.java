@@ -1,5 +1,6 @@
 package com.pruebatec.productos.entity;
 
+import com.pruebatec.productos.util.NombreNormalizador;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -13,15 +14,27 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+    @Index(name = "idx_productos_activo_id", columnList = "activo, id"), // Paginación por cursor
+    @Index(name = "idx_productos_activo_precio", columnList = "activo, precio"), // Rangos de precio (respaldo del índice en memoria)
+    @Index(name = "idx_productos_fecha_act_id", columnList = "fecha_actualizacion, id") // Feed de cambios
+}, uniqueConstraints = {
+    @UniqueConstraint(name = Producto.RESTRICCION_NOMBRE_ACTIVO, columnNames = "nombre_activo")
+})
 @Data // Genera getters, setters, toString, equals, hashCode automáticamente
 @NoArgsConstructor // Constructor vacío
 @AllArgsConstructor // Constructor con todos los parámetros
 public class Producto {
 
+    /**
+     * Nombre de la restricción única sobre el nombre normalizado de los productos activos
+     */
+    public static final String RESTRICCION_NOMBRE_ACTIVO = "ux_productos_nombre_activo";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_productos")
-    @SequenceGenerator(name = "seq_productos", sequenceName = "seq_productos", allocationSize = 1)
+    // Bloques de 50 IDs por NEXTVAL (optimizador pooled-lo); debe coincidir con INCREMENT BY de la secuencia
+    @SequenceGenerator(name = "seq_productos", sequenceName = "seq_productos", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El nombre del producto es obligatorio")
@@ -34,6 +47,16 @@ public class Producto {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal precio;
 
+    // Clave de unicidad: nombre en mayúsculas y sin tildes, calculado en onCreate/onUpdate
+    @Column(name = "nombre_normalizado", length = 255)
+    private String nombreNormalizado;
+
+    // Columna virtual: nombre normalizado solo para productos activos (NULL en inactivos).
+    // El índice único sobre ella ignora los NULL, así que la unicidad aplica solo a productos activos
+    @Column(name = "nombre_activo", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN activo = 'Y' THEN nombre_normalizado END)")
+    private String nombreActivo;
+
     @Lob
     @Column(columnDefinition = "TEXT") // Especificamos TEXT para H2
     private String descripcion;
@@ -47,6 +70,19 @@ public class Producto {
     @Column(name = "activo", columnDefinition = "CHAR(1)")
     private String activo = "Y";
 
+    // Constructor con los campos de negocio (el nombre normalizado se deriva del nombre)
+    public Producto(Long id, String nombre, BigDecimal precio, String descripcion,
+                    LocalDateTime fechaCreacion, LocalDateTime fechaActualizacion, String activo) {
+        this.id = id;
+        this.nombre = nombre;
+        this.nombreNormalizado = NombreNormalizador.normalizar(nombre);
+        this.precio = precio;
+        this.descripcion = descripcion;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaActualizacion = fechaActualizacion;
+        this.activo = activo;
+    }
+
     // Constructor para crear productos nuevos (sin ID)
     public Producto(String nombre, BigDecimal precio, String descripcion) {
         this.nombre = nombre;
@@ -63,10 +99,12 @@ public class Producto {
         if (this.activo == null) {
             this.activo = "Y";
         }
+        this.nombreNormalizado = NombreNormalizador.normalizar(this.nombre);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.fechaActualizacion = LocalDateTime.now();
+        this.nombreNormalizado = NombreNormalizador.normalizar(this.nombre);
     }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.pruebatec.productos.evento;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difusión de los cambios de productos por Server-Sent Events (GET /productos/stream)
+ * Cada cambio confirmado recibe un ID secuencial y se serializa una sola vez. Los últimos eventos se guardan
+ * en un buffer circular para que un cliente que se reconecta con Last-Event-ID reciba los que se perdió.
+ * Cada suscriptor tiene una cola acotada y un hilo virtual que le escribe: un cliente lento no frena a los
+ * demás ni a la transacción que publicó. Si su cola se llena se descartan sus eventos pendientes y recibe
+ * un evento resync para que recargue el estado (GET /productos/changes)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DifusorEventosProductos implements DisposableBean {
+
+    static final String EVENTO_PRODUCTO = "producto";
+    static final String EVENTO_RESYNC = "resync";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${productos.stream.buffer-eventos:1000}")
+    private int tamanoBuffer = 1000;
+
+    @Value("${productos.stream.cola-suscriptor:256}")
+    private int tamanoCola = 256;
+
+    @Value("${productos.stream.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${productos.stream.heartbeat-ms:15000}")
+    private long heartbeatMs = 15_000;
+
+    @Value("${productos.stream.reintento-ms:3000}")
+    private long reintentoMs = 3_000;
+
+    // Prefijo de los IDs: identifica esta ejecución, los IDs de un arranque anterior no se pueden reanudar
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    // Protegidos por this: la publicación y el alta de suscriptores no se intercalan
+    private final Deque<Evento> buffer = new ArrayDeque<>();
+    private long ultimaSecuencia;
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final AtomicLong contadorSuscriptores = new AtomicLong();
+
+    /**
+     * Evento ya serializado, compartido por todos los suscriptores
+     * @param secuencia Posición en el flujo de esta ejecución
+     * @param id ID enviado al cliente (arranque-secuencia)
+     * @param nombre Nombre del evento SSE (producto o resync)
+     * @param datos Cuerpo JSON del evento
+     */
+    record Evento(long secuencia, String id, String nombre, String datos) {
+    }
+
+    /**
+     * Publica el cambio a los suscriptores cuando se confirma la transacción que lo produjo
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoEvento(ProductoEvento evento) {
+        String datos;
+        try {
+            datos = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ No se pudo serializar el evento {} para el stream: {}", evento.getTipo(), e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            long secuencia = ++ultimaSecuencia;
+            Evento nuevo = new Evento(secuencia, arranque + "-" + secuencia, EVENTO_PRODUCTO, datos);
+            buffer.addLast(nuevo);
+            if (buffer.size() > tamanoBuffer) {
+                buffer.removeFirst();
+            }
+            for (Suscriptor suscriptor : suscriptores) {
+                suscriptor.encolar(nuevo);
+            }
+        }
+    }
+
+    /**
+     * Abre una suscripción al flujo de cambios
+     * @param ultimoEventoId Valor del header Last-Event-ID (null en la primera conexión)
+     * @return Emisor SSE que el controlador retorna al cliente
+     */
+    public SseEmitter suscribir(String ultimoEventoId) {
+        return suscribir(ultimoEventoId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter suscribir(String ultimoEventoId, SseEmitter emitter) {
+        Suscriptor suscriptor;
+        synchronized (this) {
+            List<Evento> perdidos = eventosDespuesDe(ultimoEventoId);
+            // La cola admite todos los eventos a reenviar además de su capacidad normal
+            suscriptor = new Suscriptor(emitter, tamanoCola + (perdidos != null ? perdidos.size() : 1));
+            if (perdidos != null) {
+                perdidos.forEach(suscriptor::encolar);
+            } else {
+                suscriptor.encolarResync("Los eventos posteriores al Last-Event-ID ya no están disponibles");
+            }
+            suscriptores.add(suscriptor);
+        }
+
+        emitter.onCompletion(() -> cerrar(suscriptor));
+        emitter.onTimeout(() -> cerrar(suscriptor));
+        emitter.onError(error -> cerrar(suscriptor));
+        suscriptor.iniciar();
+
+        log.info("📡 Nuevo suscriptor del stream de productos (Last-Event-ID: {}) - activos: {}",
+                ultimoEventoId, suscriptores.size());
+        return emitter;
+    }
+
+    /**
+     * Cantidad de suscriptores conectados
+     */
+    public int getSuscriptoresActivos() {
+        return suscriptores.size();
+    }
+
+    /**
+     * Eventos del buffer posteriores al ID indicado
+     * @return Eventos a reenviar (vacío si no hay ID), o null si el ID no es de esta ejecución o ya salió del buffer
+     */
+    private List<Evento> eventosDespuesDe(String ultimoEventoId) {
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return List.of();
+        }
+
+        String id = ultimoEventoId.trim();
+        int separador = id.lastIndexOf('-');
+        if (separador <= 0 || !id.substring(0, separador).equals(arranque)) {
+            return null;
+        }
+
+        long secuencia;
+        try {
+            secuencia = Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        long primeraRetenida = buffer.isEmpty() ? ultimaSecuencia + 1 : buffer.peekFirst().secuencia();
+        if (secuencia > ultimaSecuencia || secuencia < primeraRetenida - 1) {
+            return null;
+        }
+
+        List<Evento> perdidos = new ArrayList<>();
+        for (Evento evento : buffer) {
+            if (evento.secuencia() > secuencia) {
+                perdidos.add(evento);
+            }
+        }
+        return perdidos;
+    }
+
+    private void cerrar(Suscriptor suscriptor) {
+        if (suscriptores.remove(suscriptor)) {
+            suscriptor.detener();
+            log.debug("🔌 Suscriptor del stream de productos desconectado - activos: {}", suscriptores.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Suscriptor suscriptor : suscriptores) {
+            suscriptores.remove(suscriptor);
+            suscriptor.detener();
+            suscriptor.emitter.complete();
+        }
+    }
+
+    /**
+     * Conexión de un cliente: su cola de eventos pendientes y el hilo que se los escribe
+     */
+    private final class Suscriptor implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Evento> cola;
+        private volatile boolean activo = true;
+        private Thread hilo;
+
+        private Suscriptor(SseEmitter emitter, int capacidad) {
+            this.emitter = emitter;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+
+        /**
+         * Agrega el evento sin bloquear; si la cola está llena la reemplaza por un resync
+         */
+        private void encolar(Evento evento) {
+            if (!cola.offer(evento)) {
+                cola.clear();
+                encolarResync("El cliente no consumió los eventos a tiempo");
+                log.warn("⚠️ Cola llena para un suscriptor del stream, se descartan sus eventos pendientes");
+            }
+        }
+
+        /**
+         * El ID del resync es el del último evento publicado: al reconectarse el cliente continúa desde ahí
+         */
+        private void encolarResync(String motivo) {
+            String datos = "{\"motivo\":\"" + motivo + "\"}";
+            cola.offer(new Evento(ultimaSecuencia, arranque + "-" + ultimaSecuencia, EVENTO_RESYNC, datos));
+        }
+
+        private void iniciar() {
+            hilo = Thread.ofVirtual()
+                    .name("stream-productos-" + contadorSuscriptores.incrementAndGet())
+                    .start(this);
+        }
+
+        private void detener() {
+            activo = false;
+            if (hilo != null) {
+                hilo.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Envía los headers de inmediato e indica al cliente cuánto esperar antes de reconectarse
+                emitter.send(SseEmitter.event().comment("conectado").reconnectTime(reintentoMs));
+
+                while (activo) {
+                    Evento evento = cola.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (evento == null) {
+                        // Mantiene la conexión abierta en proxies y detecta clientes desconectados
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(evento.id()).name(evento.nombre()).data(evento.datos()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o emisor ya completado: el contenedor notifica el error y se cierra la suscripción
+                log.debug("🔌 No se pudo escribir al suscriptor del stream: {}", e.getMessage());
+                cerrar(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pruebatec.productos.evento;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado cuando cambia un producto
+ * Los consumidores (índices y caches en memoria) lo reciben después del commit
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductoEvento {
+
+    /**
+     * Tipo de cambio ocurrido sobre el producto
+     */
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        DESACTIVADO
+    }
+
+    private final Tipo tipo;
+    private final ProductoResponseDto producto; // Estado del producto después del cambio
+
+    public static ProductoEvento creado(ProductoResponseDto producto) {
+        return new ProductoEvento(Tipo.CREADO, producto);
+    }
+
+    public static ProductoEvento actualizado(ProductoResponseDto producto) {
+        return new ProductoEvento(Tipo.ACTUALIZADO, producto);
+    }
+
+    public static ProductoEvento desactivado(ProductoResponseDto producto) {
+        return new ProductoEvento(Tipo.DESACTIVADO, producto);
+    }
+}
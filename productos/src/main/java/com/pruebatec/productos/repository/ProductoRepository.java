@@ -1,12 +1,28 @@
 package com.pruebatec.productos.repository;
 
 
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
 import com.pruebatec.productos.entity.Producto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para productos
@@ -22,6 +38,83 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     List<Producto> findByActivoOrderById(String activo);
 
+    /**
+     * Paginación por cursor (keyset), apoyada en el índice (activo, id):
+     * SELECT * FROM productos WHERE activo = ?1 AND id > ?2 ORDER BY id FETCH FIRST ?3 ROWS ONLY
+     * El costo de cada página es el mismo sin importar qué tan profundo esté el cursor
+     */
+    List<Producto> findByActivoAndIdGreaterThanOrderById(String activo, Long id, Limit limit);
+
+    /**
+     * Recorre el catálogo como un cursor JDBC en lugar de cargarlo en una lista:
+     * SELECT * FROM productos WHERE activo = ?1 ORDER BY id
+     * El fetch size evita traer todas las filas de golpe; debe consumirse dentro
+     * de una transacción y cerrarse al terminar (try-with-resources)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Producto> streamByActivoOrderById(String activo);
+
+    /**
+     * Hora actual según la base de datos, en la misma conexión que el feed de cambios:
+     * SELECT LOCALTIMESTAMP FROM DUAL
+     */
+    @Query("SELECT LOCAL DATETIME")
+    LocalDateTime obtenerFechaBaseDatos();
+
+    /**
+     * Feed de cambios por keyset sobre el índice (fecha_actualizacion, id), incluyendo inactivos:
+     * SELECT * FROM productos WHERE (fecha_actualizacion, id) > (?1, ?2) AND fecha_actualizacion <= ?3
+     * ORDER BY fecha_actualizacion, id FETCH FIRST ?4 ROWS ONLY
+     */
+    @Query("""
+            SELECT p FROM Producto p
+            WHERE (p.fechaActualizacion > :fecha OR (p.fechaActualizacion = :fecha AND p.id > :id))
+              AND p.fechaActualizacion <= :hasta
+            ORDER BY p.fechaActualizacion, p.id
+            """)
+    List<Producto> findCambiosDesde(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                    @Param("hasta") LocalDateTime hasta, Limit limit);
+
+    /**
+     * Versión del catálogo en una sola consulta de agregados, usada para los ETag (InstantaneaCatalogo la cachea por un plazo corto).
+     * Cuenta todas las filas (no solo activas) para que una desactivación también cambie la versión
+     */
+    @Query("""
+            SELECT new com.pruebatec.productos.dto.VersionCatalogoDto(
+                COUNT(p),
+                SUM(CASE WHEN p.activo = 'Y' THEN 1 ELSE 0 END),
+                MAX(p.id),
+                MAX(p.fechaActualizacion))
+            FROM Producto p
+            """)
+    VersionCatalogoDto obtenerVersionCatalogo();
+
+    /**
+     * Proyección de listado: solo columnas escalares, sin leer la descripción (CLOB)
+     * SELECT id, nombre, precio FROM productos WHERE activo = ?1 ORDER BY id
+     */
+    @Query("""
+            SELECT new com.pruebatec.productos.dto.ProductoResumenDto(p.id, p.nombre, p.precio)
+            FROM Producto p
+            WHERE p.activo = :activo
+            ORDER BY p.id
+            """)
+    List<ProductoResumenDto> findResumenByActivo(@Param("activo") String activo);
+
+    /**
+     * Descripción de un solo producto, leída bajo demanda
+     * SELECT id, descripcion FROM productos WHERE id = ?1 AND activo = ?2
+     */
+    @Query("""
+            SELECT new com.pruebatec.productos.dto.ProductoDescripcionDto(p.id, p.descripcion)
+            FROM Producto p
+            WHERE p.id = :id AND p.activo = :activo
+            """)
+    Optional<ProductoDescripcionDto> findDescripcionByIdAndActivo(@Param("id") Long id, @Param("activo") String activo);
+
     /**
      * Spring Data genera automáticamente:
      * SELECT * FROM productos WHERE id = ?1 AND activo = ?2
@@ -29,8 +122,59 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     Optional<Producto> findByIdAndActivo(Long id, String activo);
 
     /**
-     * Spring Data genera automáticamente:
-     * SELECT COUNT(*) > 0 FROM productos WHERE UPPER(nombre) = UPPER(?1) AND activo = ?2
+     * Respaldo del índice de precios en memoria, apoyado en el índice (activo, precio), sin leer la descripción (CLOB):
+     * SELECT id, nombre, precio, ... FROM productos WHERE activo = ?1 AND precio BETWEEN ?2 AND ?3 ORDER BY ?4 FETCH FIRST ?5 ROWS ONLY
+     */
+    @Query("""
+            SELECT new com.pruebatec.productos.dto.ProductoResponseDto(
+                p.id, p.nombre, p.precio, p.fechaCreacion, p.fechaActualizacion, p.activo)
+            FROM Producto p
+            WHERE p.activo = :activo AND p.precio BETWEEN :precioMinimo AND :precioMaximo
+            """)
+    List<ProductoResponseDto> findListadoByActivoAndPrecioBetween(@Param("activo") String activo,
+                                                                  @Param("precioMinimo") BigDecimal precioMinimo,
+                                                                  @Param("precioMaximo") BigDecimal precioMaximo,
+                                                                  Sort sort, Limit limit);
+
+    /**
+     * Total de coincidencias del rango para el respaldo del índice de precios:
+     * SELECT COUNT(*) FROM productos WHERE activo = ?1 AND precio BETWEEN ?2 AND ?3
+     */
+    long countByActivoAndPrecioBetween(String activo, BigDecimal precioMinimo, BigDecimal precioMaximo);
+
+    /**
+     * Consulta de varios productos por ID en una sola sentencia:
+     * SELECT * FROM productos WHERE id IN (?1) AND activo = ?2
+     * Oracle admite máximo 1000 elementos por IN
+     */
+    List<Producto> findByIdInAndActivo(Collection<Long> ids, String activo);
+
+    /**
+     * Filas sin clave normalizada (creadas antes de la columna o por SQL directo), por keyset sobre el ID:
+     * SELECT id, nombre, precio FROM productos WHERE nombre_normalizado IS NULL AND id > ?1 ORDER BY id FETCH FIRST ?2 ROWS ONLY
+     */
+    @Query("""
+            SELECT new com.pruebatec.productos.dto.ProductoResumenDto(p.id, p.nombre, p.precio)
+            FROM Producto p
+            WHERE p.nombreNormalizado IS NULL AND p.id > :id
+            ORDER BY p.id
+            """)
+    List<ProductoResumenDto> findSinNombreNormalizado(@Param("id") Long id, Limit limit);
+
+    /**
+     * Completa la clave normalizada de una fila que aún no la tiene:
+     * UPDATE productos SET nombre_normalizado = ?2 WHERE id = ?1 AND nombre_normalizado IS NULL
+     */
+    @Modifying
+    @Query("UPDATE Producto p SET p.nombreNormalizado = :nombreNormalizado WHERE p.id = :id AND p.nombreNormalizado IS NULL")
+    int completarNombreNormalizado(@Param("id") Long id, @Param("nombreNormalizado") String nombreNormalizado);
+
+    /**
+     * Verificación de duplicados por conjunto (creación masiva): una consulta por bloque de nombres
+     * SELECT nombre_activo FROM productos WHERE nombre_activo IN (?1)
+     * Usa el índice único ux_productos_nombre_activo; los nombres deben enviarse ya normalizados
+     * (NombreNormalizador) y Oracle admite máximo 1000 elementos por IN
      */
-    boolean existsByNombreIgnoreCaseAndActivo(String nombre, String activo);
-}
\ No newline at end of file
+    @Query("SELECT p.nombreActivo FROM Producto p WHERE p.nombreActivo IN :nombres")
+    List<String> findNombresActivosExistentes(@Param("nombres") Collection<String> nombres);
+}
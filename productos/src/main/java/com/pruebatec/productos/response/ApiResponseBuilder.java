@@ -129,6 +129,53 @@ public class ApiResponseBuilder {
         return meta;
     }
     
+    /**
+     * Crear metadatos para listados paginados por cursor (keyset)
+     * El cursor de la siguiente página viaja en additional como next_cursor
+     */
+    public static ApiResponse.Meta createCursorMeta(int count, int pageSize, Long nextCursor, boolean hasMore) {
+        ApiResponse.Meta meta = new ApiResponse.Meta();
+        meta.setCount(count);
+        meta.setPageSize(pageSize);
+        
+        Map<String, Object> additional = new HashMap<>();
+        additional.put("next_cursor", nextCursor);
+        additional.put("has_more", hasMore);
+        meta.setAdditional(additional);
+        return meta;
+    }
+    
+    /**
+     * Crear metadatos para el feed de cambios
+     * La marca para pedir los siguientes cambios viaja en additional como next_since
+     */
+    public static ApiResponse.Meta createCambiosMeta(int count, int pageSize, String nextSince, boolean hasMore) {
+        ApiResponse.Meta meta = new ApiResponse.Meta();
+        meta.setCount(count);
+        meta.setPageSize(pageSize);
+        
+        Map<String, Object> additional = new HashMap<>();
+        additional.put("next_since", nextSince);
+        additional.put("has_more", hasMore);
+        meta.setAdditional(additional);
+        return meta;
+    }
+    
+    /**
+     * Crear metadatos para operaciones masivas con el conteo de creados y rechazados
+     */
+    public static ApiResponse.Meta createBatchMeta(int total, int created, int rejected) {
+        ApiResponse.Meta meta = new ApiResponse.Meta();
+        meta.setTotal(total);
+        meta.setCount(created);
+        
+        Map<String, Object> additional = new HashMap<>();
+        additional.put("created", created);
+        additional.put("rejected", rejected);
+        meta.setAdditional(additional);
+        return meta;
+    }
+    
     /**
      * Crear metadatos simples con total
      */
@@ -0,0 +1,65 @@
+package com.pruebatec.productos.response;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builder para los ETag de productos y del catálogo
+ * Se derivan de fechaActualizacion (mantenida por el trigger trg_productos_bu),
+ * por lo que cambian cada vez que el producto cambia.
+ * Son débiles (W/): identifican el contenido y no los bytes, que varían si la respuesta
+ * se comprime. Tomcat no comprime respuestas con ETag fuerte
+ */
+public class ETagBuilder {
+
+    /**
+     * ETag de un producto: id + fecha de última actualización
+     */
+    public static String deProducto(ProductoResponseDto producto) {
+        return "W/\"p" + producto.getId() + "-" + aMarcaDeTiempo(producto.getFechaActualizacion()) + "\"";
+    }
+
+    /**
+     * ETag del listado completo de productos activos
+     */
+    public static String deCatalogo(VersionCatalogoDto version) {
+        return deCatalogo(version, null);
+    }
+
+    /**
+     * ETag de una vista del catálogo (por ejemplo una página del cursor)
+     * La variante distingue respuestas diferentes sobre la misma versión del catálogo
+     */
+    public static String deCatalogo(VersionCatalogoDto version, String variante) {
+        StringBuilder etag = new StringBuilder("W/\"c")
+                .append(valorONulo(version.getTotalProductos())).append('-')
+                .append(valorONulo(version.getProductosActivos())).append('-')
+                .append(valorONulo(version.getMaximoId())).append('-')
+                .append(aMarcaDeTiempo(version.getUltimaActualizacion()));
+        
+        if (variante != null && !variante.isEmpty()) {
+            etag.append('-').append(variante);
+        }
+        
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Convierte la fecha a microsegundos UTC (precisión de TIMESTAMP en Oracle)
+     */
+    private static String aMarcaDeTiempo(LocalDateTime fecha) {
+        if (fecha == null) {
+            return "0";
+        }
+        long segundos = fecha.toEpochSecond(ZoneOffset.UTC);
+        long micros = fecha.getNano() / 1_000;
+        return Long.toString(segundos * 1_000_000 + micros, 36);
+    }
+
+    private static long valorONulo(Long valor) {
+        return valor != null ? valor : 0L;
+    }
+}
@@ -0,0 +1,231 @@
+package com.pruebatec.productos.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuesta de GET /productos ya serializada (y comprimida con gzip) para la versión actual del catálogo
+ * El listado completo es igual para todos los clientes hasta la siguiente escritura: se arma una sola vez
+ * en segundo plano y el controlador escribe los bytes directamente, sin consultar ni serializar por petición.
+ * Solo se usa si su versión coincide con la del catálogo; si no, se responde por el camino normal
+ * mientras se reconstruye.
+ * También cachea la versión del catálogo por un plazo corto, de modo que los ETag no consultan agregados
+ * de toda la tabla en cada petición
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InstantaneaCatalogo implements DisposableBean {
+
+    static final String MENSAJE = "Productos obtenidos exitosamente";
+
+    private final ProductoRepository productoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${productos.catalogo.instantanea.gzip:true}")
+    private boolean comprimir = true;
+
+    @Value("${productos.catalogo.version-ttl-ms:1000}")
+    private long versionTtlMs = 1000;
+
+    // Un solo hilo: las reconstrucciones nunca corren en paralelo
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "instantanea-catalogo");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Varias escrituras seguidas (por ejemplo un lote) se resuelven con una sola reconstrucción pendiente
+    private final AtomicBoolean reconstruccionProgramada = new AtomicBoolean();
+
+    private volatile Contenido contenido;
+
+    // Versión leída de la base de datos y cuándo se leyó; null si venció por un cambio confirmado
+    private volatile VersionCacheada version;
+    private final AtomicLong generacionVersion = new AtomicLong();
+
+    /**
+     * Respuesta serializada de una versión del catálogo
+     * @param version Versión del catálogo con la que se construyó
+     * @param total Cantidad de productos incluidos
+     * @param json Cuerpo JSON de la respuesta
+     * @param gzip Mismo cuerpo comprimido con gzip (null si la compresión está desactivada)
+     */
+    public record Contenido(VersionCatalogoDto version, int total, byte[] json, byte[] gzip) {
+    }
+
+    /**
+     * Construye la primera instantánea al terminar el arranque, sin demorarlo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        programarReconstruccion();
+    }
+
+    /**
+     * Reconstruye la instantánea y vence la versión cacheada cuando se confirma un cambio de producto
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductoEvento(ProductoEvento evento) {
+        vencerVersion();
+        programarReconstruccion();
+    }
+
+    /**
+     * Versión actual del catálogo, usada para los ETag y para validar la instantánea
+     * Se calcula con los agregados de la tabla en la base principal y se reutiliza durante version-ttl-ms:
+     * los cambios de otras instancias, de SQL directo o de los triggers se ven a más tardar en ese plazo,
+     * y los confirmados en esta instancia de inmediato (vencen la versión cacheada)
+     */
+    public VersionCatalogoDto version() {
+        VersionCacheada actual = version;
+        if (actual != null && System.nanoTime() - actual.leidaNanos() < TimeUnit.MILLISECONDS.toNanos(versionTtlMs)) {
+            return actual.version();
+        }
+        return cargarVersion();
+    }
+
+    private VersionCatalogoDto cargarVersion() {
+        long generacionLeida = generacionVersion.get();
+        long leidaNanos = System.nanoTime();
+
+        // Transacción propia y de escritura: se enruta a la principal aunque la llamada venga de una lectura,
+        // para que una réplica atrasada no devuelva una versión anterior a las escrituras ya confirmadas
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        VersionCatalogoDto leida = transaccion.execute(estado -> productoRepository.obtenerVersionCatalogo());
+
+        synchronized (this) {
+            // Un cambio confirmado durante la lectura la deja vieja: se usa pero no se cachea
+            if (generacionVersion.get() == generacionLeida) {
+                version = new VersionCacheada(leida, leidaNanos);
+            }
+        }
+        log.debug("🔖 Versión del catálogo: {}", leida);
+        return leida;
+    }
+
+    private synchronized void vencerVersion() {
+        generacionVersion.incrementAndGet();
+        version = null;
+    }
+
+    private record VersionCacheada(VersionCatalogoDto version, long leidaNanos) {
+    }
+
+    /**
+     * Instantánea de la versión indicada del catálogo
+     * Si la instantánea actual es de otra versión (o aún no existe) programa una reconstrucción y retorna null
+     * @param version Versión actual del catálogo
+     * @return Contenido serializado de esa versión, o null si no está disponible
+     */
+    public Contenido vigente(VersionCatalogoDto version) {
+        Contenido actual = contenido;
+        if (actual != null && actual.version().equals(version)) {
+            return actual;
+        }
+        programarReconstruccion();
+        return null;
+    }
+
+    /**
+     * Programa una reconstrucción en segundo plano, salvo que ya haya una pendiente
+     */
+    public void programarReconstruccion() {
+        if (reconstruccionProgramada.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                reconstruccionProgramada.set(false);
+                reconstruir();
+            });
+        }
+    }
+
+    /**
+     * Lee el catálogo activo, lo serializa y publica la nueva instantánea
+     * Si el catálogo cambia mientras se lee, se descarta: el cambio ya programó otra reconstrucción.
+     * La versión se toma antes de leer: una instantánea nunca queda marcada con una versión más nueva que sus datos
+     */
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            Contenido nuevo = transaccion.execute(estado -> {
+                // Versión y filas de la misma conexión: la instantánea queda marcada con la versión de sus datos
+                VersionCatalogoDto leida = productoRepository.obtenerVersionCatalogo();
+                List<ProductoResponseDto> productos;
+                try (Stream<Producto> activos = productoRepository.streamByActivoOrderById("Y")) {
+                    productos = activos.map(ProductoResponseDto::new).toList();
+                }
+                if (!leida.equals(productoRepository.obtenerVersionCatalogo())) {
+                    return null;
+                }
+                return serializar(leida, productos);
+            });
+
+            if (nuevo == null) {
+                log.debug("♻️ El catálogo cambió durante la reconstrucción de la instantánea, se descarta");
+                return;
+            }
+
+            contenido = nuevo;
+            log.info("📦 Instantánea del catálogo: {} productos, {} KB (gzip: {} KB) en {} ms",
+                    nuevo.total(), nuevo.json().length / 1024, nuevo.gzip() != null ? nuevo.gzip().length / 1024 : "-",
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ No se pudo construir la instantánea del catálogo: {}", e.getMessage());
+        }
+    }
+
+    private Contenido serializar(VersionCatalogoDto version, List<ProductoResponseDto> productos) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponseBuilder.success(MENSAJE, productos, productos.size()));
+            return new Contenido(version, productos.size(), json, comprimir ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,9 +1,23 @@
 package com.pruebatec.productos.service;
 
 
+import com.pruebatec.productos.dto.CambiosProductosDto;
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoPaginaDto;
 import com.pruebatec.productos.dto.ProductoRequestDto;
 import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ProductosPorIdsDto;
+import com.pruebatec.productos.dto.ProductosPorPrecioDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.dto.ResultadoLoteDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -18,6 +32,73 @@ public interface ProductoService {
      */
     List<ProductoResponseDto> obtenerTodosLosProductos();
 
+    /**
+     * Obtener el resumen (id, nombre, precio) de todos los productos activos
+     * No lee la descripción, por lo que es la opción recomendada para listados
+     * @return Lista de resúmenes ordenada por ID
+     */
+    List<ProductoResumenDto> obtenerResumenProductos();
+
+    /**
+     * Obtener una página de productos activos usando paginación por cursor
+     * @param after ID del último producto de la página anterior (null para la primera página)
+     * @param limit Cantidad máxima de productos a retornar (null para el valor por defecto)
+     * @return Página de productos con el cursor de la siguiente página
+     * @throws com.pruebatec.productos.exception.ProductoException si el cursor o el límite no son válidos
+     */
+    ProductoPaginaDto obtenerProductosPaginados(Long after, Integer limit);
+
+    /**
+     * Obtener los productos creados, modificados o desactivados después de una marca (feed de cambios)
+     * Los desactivados se retornan como tombstones, sin los datos del producto
+     * @param since Marca recibida en la consulta anterior (null para empezar desde el principio)
+     * @param limit Cantidad máxima de cambios a retornar (null para el valor por defecto)
+     * @return Cambios ordenados por (fechaActualizacion, id) y la marca para la siguiente consulta
+     * @throws com.pruebatec.productos.exception.ProductoException si la marca o el límite no son válidos
+     */
+    CambiosProductosDto obtenerCambios(String since, Integer limit);
+
+    /**
+     * Obtener la respuesta del listado completo ya serializada para la versión indicada del catálogo
+     * @param version Versión actual del catálogo
+     * @return Contenido serializado, o null si aún no está construido para esa versión
+     */
+    InstantaneaCatalogo.Contenido obtenerCatalogoSerializado(VersionCatalogoDto version);
+
+    /**
+     * Suscribirse al stream de cambios de productos (Server-Sent Events)
+     * @param ultimoEventoId ID del último evento recibido (header Last-Event-ID), null en la primera conexión
+     * @return Emisor SSE con los eventos confirmados a partir de ese ID
+     */
+    SseEmitter suscribirCambios(String ultimoEventoId);
+
+    /**
+     * Obtener productos activos por rango de precio, ordenados por precio
+     * Se resuelve con el índice de precios en memoria y usa la base de datos si aún no está disponible
+     * @param precioMin Precio mínimo incluido (null para no acotar)
+     * @param precioMax Precio máximo incluido (null para no acotar)
+     * @param sort "precio" (ascendente, por defecto) o "-precio" (descendente)
+     * @param limit Cantidad máxima de productos a retornar (null para todos)
+     * @return Productos del rango y total de coincidencias
+     * @throws com.pruebatec.productos.exception.ProductoException si el rango, el orden o el límite no son válidos
+     */
+    ProductosPorPrecioDto obtenerProductosPorPrecio(BigDecimal precioMin, BigDecimal precioMax, String sort, Integer limit);
+
+    /**
+     * Exportar todos los productos activos en formato NDJSON (un JSON por línea)
+     * Escribe fila por fila en la salida, sin construir la respuesta en memoria
+     * @param salida Stream donde se escriben los productos
+     * @return Cantidad de productos exportados
+     * @throws IOException si falla la escritura en la salida
+     */
+    long exportarProductos(OutputStream salida) throws IOException;
+
+    /**
+     * Obtener la versión actual del catálogo (para ETag / If-None-Match)
+     * @return Agregados que cambian cada vez que se crea, actualiza o desactiva un producto
+     */
+    VersionCatalogoDto obtenerVersionCatalogo();
+
     /**
      * Obtener producto por ID
      * @param id ID del producto
@@ -26,6 +107,33 @@ public interface ProductoService {
      */
     ProductoResponseDto obtenerProductoPorId(Long id);
 
+    /**
+     * Obtener varios productos activos por ID con una sola consulta por bloque de IDs
+     * @param ids IDs a buscar (se ignoran los repetidos)
+     * @return Productos encontrados en el orden pedido y los IDs que no existen
+     * @throws com.pruebatec.productos.exception.ProductoException si la lista está vacía, supera el máximo o tiene IDs inválidos
+     */
+    ProductosPorIdsDto obtenerProductosPorIds(List<Long> ids);
+
+    /**
+     * Buscar productos activos por texto en el nombre y la descripción
+     * Usa el índice en memoria, sin consultar la base de datos
+     * @param consulta Texto a buscar (sin importar mayúsculas ni tildes)
+     * @param pagina Página a retornar, empieza en 1 (null para la primera)
+     * @param tamanoPagina Productos por página (null para el valor por defecto)
+     * @return Página de productos ordenados por relevancia
+     * @throws com.pruebatec.productos.exception.ProductoException si la consulta o la paginación no son válidas
+     */
+    ResultadoBusquedaDto buscarProductos(String consulta, Integer pagina, Integer tamanoPagina);
+
+    /**
+     * Obtener solo la descripción de un producto
+     * @param id ID del producto
+     * @return ID y descripción del producto
+     * @throws com.pruebatec.productos.exception.ProductoException si no se encuentra el producto
+     */
+    ProductoDescripcionDto obtenerDescripcionProducto(Long id);
+
     /**
      * Crear nuevo producto
      * @param productoRequest Datos del producto a crear
@@ -33,4 +141,13 @@ public interface ProductoService {
      * @throws com.pruebatec.productos.exception.ProductoException si hay errores de validación o duplicidad
      */
     ProductoResponseDto crearProducto(ProductoRequestDto productoRequest);
-}
\ No newline at end of file
+
+    /**
+     * Crear productos de forma masiva
+     * Los elementos inválidos o duplicados se rechazan sin afectar al resto del lote
+     * @param productosRequest Datos de los productos a crear
+     * @return Resultado de cada elemento en el mismo orden del lote
+     * @throws com.pruebatec.productos.exception.ProductoException si el lote está vacío o supera el máximo
+     */
+    ResultadoLoteDto crearProductosEnLote(List<ProductoRequestDto> productosRequest);
+}
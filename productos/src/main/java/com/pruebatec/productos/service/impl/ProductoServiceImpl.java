@@ -1,20 +1,71 @@
 package com.pruebatec.productos.service.impl;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pruebatec.productos.busqueda.IndiceBusquedaProductos;
+import com.pruebatec.productos.busqueda.IndicePreciosProductos;
+import com.pruebatec.productos.config.CacheConfig;
+import com.pruebatec.productos.dto.CambioProductoDto;
+import com.pruebatec.productos.dto.CambiosProductosDto;
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoPaginaDto;
 import com.pruebatec.productos.dto.ProductoRequestDto;
 import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ProductosPorIdsDto;
+import com.pruebatec.productos.dto.ProductosPorPrecioDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.dto.ResultadoItemLoteDto;
+import com.pruebatec.productos.dto.ResultadoLoteDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
 import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.DifusorEventosProductos;
+import com.pruebatec.productos.evento.ProductoEvento;
 import com.pruebatec.productos.exception.ProductoException;
 import com.pruebatec.productos.repository.ProductoRepository;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
 import com.pruebatec.productos.service.ProductoService;
+import com.pruebatec.productos.util.MarcaCambios;
+import com.pruebatec.productos.util.NombreNormalizador;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor // Lombok genera constructor con campos final
@@ -22,7 +73,30 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProductoServiceImpl implements ProductoService {
 
+    static final int LIMITE_POR_DEFECTO = 50;
+    static final int LIMITE_MAXIMO = 500;
+    static final int FILAS_POR_FLUSH = 500;
+    static final int LOTE_MAXIMO = 5000;
+    static final int IDS_MAXIMO = 500; // Cabe en un solo IN de Oracle (máximo 1000 elementos)
+    static final int BUSQUEDA_TAMANO_POR_DEFECTO = 20;
+    static final int BUSQUEDA_TAMANO_MAXIMO = 100;
+    static final int BUSQUEDA_LONGITUD_MAXIMA = 200;
+    static final BigDecimal PRECIO_MAXIMO = new BigDecimal("99999999.99"); // NUMBER(10,2)
+    static final int NOMBRES_POR_CONSULTA = 1000; // Límite de elementos en un IN de Oracle
+    static final int FILAS_POR_BATCH = 50; // Igual a hibernate.jdbc.batch_size
+    static final long RETRASO_CAMBIOS_MS = 30_000; // Debe superar la transacción de escritura más larga (un lote de LOTE_MAXIMO)
+
     private final ProductoRepository productoRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndiceBusquedaProductos indiceBusqueda;
+    private final IndicePreciosProductos indicePrecios;
+    private final InstantaneaCatalogo instantaneaCatalogo;
+    private final DifusorEventosProductos difusorEventos;
+
+    @Value("${productos.cambios.retraso-ms:30000}")
+    private long retrasoCambiosMs = RETRASO_CAMBIOS_MS;
 
     @Override
     @Transactional(readOnly = true)
@@ -41,6 +115,217 @@ public class ProductoServiceImpl implements ProductoService {
 
     @Override
     @Transactional(readOnly = true)
+    public List<ProductoResumenDto> obtenerResumenProductos() {
+        log.debug("🔍 Obteniendo resumen de productos activos");
+        
+        // Proyección por constructor: solo id, nombre y precio, sin leer el CLOB de descripción
+        List<ProductoResumenDto> resumen = productoRepository.findResumenByActivo("Y");
+        
+        log.info("✅ Resumen de {} productos activos", resumen.size());
+        return resumen;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductoPaginaDto obtenerProductosPaginados(Long after, Integer limit) {
+        log.debug("🔍 Obteniendo página de productos activos - after: {}, limit: {}", after, limit);
+        
+        if (after != null && after < 0) {
+            throw ProductoException.validacion("after", after, "El cursor debe ser un número mayor o igual a 0");
+        }
+        
+        int limite = limit != null ? limit : LIMITE_POR_DEFECTO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw ProductoException.validacion("limit", limit, 
+                    "El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        
+        // Se pide un registro extra para saber si existe una página siguiente sin hacer COUNT(*)
+        List<Producto> productos = productoRepository.findByActivoAndIdGreaterThanOrderById(
+                "Y", after != null ? after : 0L, Limit.of(limite + 1));
+        
+        boolean hayMas = productos.size() > limite;
+        List<ProductoResponseDto> pagina = productos.stream()
+                .limit(limite)
+                .map(ProductoResponseDto::new)
+                .collect(Collectors.toList());
+        
+        Long siguienteCursor = hayMas ? pagina.get(pagina.size() - 1).getId() : null;
+        
+        log.info("✅ Página de {} productos obtenida - siguiente cursor: {}", pagina.size(), siguienteCursor);
+        
+        return new ProductoPaginaDto(pagina, siguienteCursor, hayMas, limite);
+    }
+
+    @Override
+    @Transactional // En el primario: una réplica atrasada haría avanzar la marca sobre cambios aún no replicados
+    public CambiosProductosDto obtenerCambios(String since, Integer limit) {
+        log.debug("🔄 Obteniendo cambios de productos - since: {}, limit: {}", since, limit);
+        
+        MarcaCambios marca = MarcaCambios.INICIAL;
+        if (since != null && !since.isBlank()) {
+            try {
+                marca = MarcaCambios.decodificar(since.trim());
+            } catch (IllegalArgumentException e) {
+                throw ProductoException.validacion("since", since, 
+                        "La marca no es válida; use el valor de next_since de la respuesta anterior");
+            }
+        }
+        
+        int limite = limit != null ? limit : LIMITE_POR_DEFECTO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw ProductoException.validacion("limit", limit, 
+                    "El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        
+        // Los cambios más recientes que el retraso de seguridad se entregan en la siguiente consulta:
+        // una transacción que aún no confirma puede tener una fecha anterior a la de un cambio ya visible.
+        // La hora se lee de la base de datos porque los triggers también fechan filas con su reloj
+        LocalDateTime hasta = productoRepository.obtenerFechaBaseDatos().minus(Duration.ofMillis(retrasoCambiosMs));
+        List<Producto> productos = productoRepository.findCambiosDesde(
+                marca.fecha(), marca.id(), hasta, Limit.of(limite + 1));
+        
+        boolean hayMas = productos.size() > limite;
+        List<CambioProductoDto> cambios = productos.stream()
+                .limit(limite)
+                .map(producto -> "Y".equals(producto.getActivo())
+                        ? CambioProductoDto.actualizado(new ProductoResponseDto(producto))
+                        : CambioProductoDto.desactivado(producto.getId(), producto.getFechaActualizacion()))
+                .collect(Collectors.toList());
+        
+        String siguienteMarca;
+        if (!cambios.isEmpty()) {
+            CambioProductoDto ultimo = cambios.get(cambios.size() - 1);
+            siguienteMarca = new MarcaCambios(ultimo.getFechaActualizacion(), ultimo.getId()).codificar();
+        } else {
+            // Sin cambios nuevos el cliente conserva su marca
+            siguienteMarca = marca != MarcaCambios.INICIAL ? marca.codificar() : null;
+        }
+        
+        log.info("✅ {} cambios de productos - siguiente marca: {}", cambios.size(), siguienteMarca);
+        
+        return new CambiosProductosDto(cambios, siguienteMarca, hayMas, limite);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // No consulta la base de datos
+    public InstantaneaCatalogo.Contenido obtenerCatalogoSerializado(VersionCatalogoDto version) {
+        return instantaneaCatalogo.vigente(version);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // La conexión SSE no debe retener una transacción
+    public SseEmitter suscribirCambios(String ultimoEventoId) {
+        log.debug("📡 Suscribiendo al stream de cambios - Last-Event-ID: {}", ultimoEventoId);
+        return difusorEventos.suscribir(ultimoEventoId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true) // Solo el respaldo consulta la base de datos
+    public ProductosPorPrecioDto obtenerProductosPorPrecio(BigDecimal precioMin, BigDecimal precioMax, 
+                                                           String sort, Integer limit) {
+        log.debug("🔍 Obteniendo productos por precio - min: {}, max: {}, sort: {}, limit: {}", 
+                precioMin, precioMax, sort, limit);
+        
+        if (precioMin != null && precioMin.signum() < 0) {
+            throw ProductoException.validacion("precioMin", precioMin, "El precio mínimo no puede ser negativo");
+        }
+        
+        if (precioMax != null && precioMax.signum() < 0) {
+            throw ProductoException.validacion("precioMax", precioMax, "El precio máximo no puede ser negativo");
+        }
+        
+        if (precioMin != null && precioMax != null && precioMin.compareTo(precioMax) > 0) {
+            throw ProductoException.validacion("precioMin", precioMin, 
+                    "El precio mínimo no puede ser mayor al precio máximo");
+        }
+        
+        if (sort != null && !sort.equals("precio") && !sort.equals("-precio")) {
+            throw ProductoException.validacion("sort", sort, "El orden debe ser 'precio' o '-precio'");
+        }
+        
+        if (limit != null && (limit < 1 || limit > LIMITE_MAXIMO)) {
+            throw ProductoException.validacion("limit", limit, "El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        
+        boolean descendente = "-precio".equals(sort);
+        int limite = limit != null ? limit : Integer.MAX_VALUE;
+        
+        // Ningún precio supera NUMBER(10,2): un mínimo mayor no tiene coincidencias y un máximo mayor no acota
+        if (precioMin != null && precioMin.compareTo(PRECIO_MAXIMO) > 0) {
+            log.info("✅ 0 productos en el rango de precio (mínimo fuera del rango admitido)");
+            return new ProductosPorPrecioDto(Collections.emptyList(), 0);
+        }
+        BigDecimal precioMaxAcotado = precioMax != null ? precioMax.min(PRECIO_MAXIMO) : null;
+        
+        if (indicePrecios.estaDisponible()) {
+            IndicePreciosProductos.Resultado resultado = 
+                    indicePrecios.buscarPorRango(precioMin, precioMaxAcotado, descendente, limite);
+            log.info("✅ {} productos en el rango de precio (índice en memoria)", resultado.total());
+            return new ProductosPorPrecioDto(resultado.productos(), resultado.total());
+        }
+        
+        // Respaldo mientras el índice se construye o si no pudo construirse: la base de datos aplica el límite
+        BigDecimal minimo = precioMin != null ? precioMin : BigDecimal.ZERO;
+        BigDecimal maximo = precioMaxAcotado != null ? precioMaxAcotado : PRECIO_MAXIMO;
+        Sort.Direction direccion = descendente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        List<ProductoResponseDto> pagina = productoRepository.findListadoByActivoAndPrecioBetween("Y",
+                minimo, maximo, Sort.by(direccion, "precio", "id"),
+                limit != null ? Limit.of(limit) : Limit.unlimited());
+        long total = productoRepository.countByActivoAndPrecioBetween("Y", minimo, maximo);
+        
+        log.info("✅ {} productos en el rango de precio (base de datos)", total);
+        return new ProductosPorPrecioDto(pagina, Math.toIntExact(total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarProductos(OutputStream salida) throws IOException {
+        log.debug("📤 Exportando catálogo de productos activos en NDJSON");
+        
+        // Sin flush por cada valor: se vacía el buffer cada FILAS_POR_FLUSH filas
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exportados = 0;
+        
+        try (Stream<Producto> productos = productoRepository.streamByActivoOrderById("Y");
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(salida)) {
+            
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            
+            Iterator<Producto> iterator = productos.iterator();
+            while (iterator.hasNext()) {
+                Producto producto = iterator.next();
+                writer.writeValue(generator, new ProductoResponseDto(producto));
+                
+                // Liberar la entidad del contexto de persistencia para mantener el heap plano
+                entityManager.detach(producto);
+                
+                if (++exportados % FILAS_POR_FLUSH == 0) {
+                    generator.flush();
+                }
+            }
+            
+            if (exportados > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        
+        log.info("✅ Exportación finalizada: {} productos", exportados);
+        return exportados;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // Versión cacheada por InstantaneaCatalogo, que la lee en su propia transacción
+    public VersionCatalogoDto obtenerVersionCatalogo() {
+        VersionCatalogoDto version = instantaneaCatalogo.version();
+        log.debug("🔖 Versión del catálogo: {}", version);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_PRODUCTOS, key = "#id", condition = "#id != null")
     public ProductoResponseDto obtenerProductoPorId(Long id) {
         log.debug("🔍 Buscando producto con ID: {}", id);
         
@@ -60,34 +345,257 @@ public class ProductoServiceImpl implements ProductoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ProductosPorIdsDto obtenerProductosPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw ProductoException.validacion("ids", null, "Debe enviar al menos un ID");
+        }
+        
+        // Sin repetidos y conservando el orden pedido
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        if (idsUnicos.size() > IDS_MAXIMO) {
+            throw ProductoException.validacion("ids", idsUnicos.size(), 
+                    "No se pueden consultar más de " + IDS_MAXIMO + " IDs por petición");
+        }
+        
+        for (Long id : idsUnicos) {
+            if (id == null || id <= 0) {
+                throw ProductoException.validacion("ids", id, "Todos los IDs deben ser números positivos");
+            }
+        }
+        
+        log.debug("🔍 Buscando {} productos por ID", idsUnicos.size());
+        
+        // IDS_MAXIMO cabe en un solo IN: una sola consulta
+        Map<Long, ProductoResponseDto> encontrados = new HashMap<>();
+        for (Producto producto : productoRepository.findByIdInAndActivo(idsUnicos, "Y")) {
+            encontrados.put(producto.getId(), new ProductoResponseDto(producto));
+        }
+        
+        List<ProductoResponseDto> productos = new ArrayList<>(encontrados.size());
+        List<Long> idsNoEncontrados = new ArrayList<>();
+        for (Long id : idsUnicos) {
+            ProductoResponseDto producto = encontrados.get(id);
+            if (producto != null) {
+                productos.add(producto);
+            } else {
+                idsNoEncontrados.add(id);
+            }
+        }
+        
+        log.info("✅ Se encontraron {} de {} productos pedidos", productos.size(), idsUnicos.size());
+        
+        return new ProductosPorIdsDto(productos, idsNoEncontrados);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // No consulta la base de datos
+    public ResultadoBusquedaDto buscarProductos(String consulta, Integer pagina, Integer tamanoPagina) {
+        if (consulta == null || consulta.isBlank()) {
+            throw ProductoException.validacion("q", consulta, "El texto a buscar es obligatorio");
+        }
+        
+        if (consulta.length() > BUSQUEDA_LONGITUD_MAXIMA) {
+            throw ProductoException.validacion("q", consulta.length(), 
+                    "El texto a buscar no puede exceder " + BUSQUEDA_LONGITUD_MAXIMA + " caracteres");
+        }
+        
+        int numeroPagina = pagina != null ? pagina : 1;
+        if (numeroPagina < 1) {
+            throw ProductoException.validacion("page", pagina, "La página debe ser un número mayor o igual a 1");
+        }
+        
+        int tamano = tamanoPagina != null ? tamanoPagina : BUSQUEDA_TAMANO_POR_DEFECTO;
+        if (tamano < 1 || tamano > BUSQUEDA_TAMANO_MAXIMO) {
+            throw ProductoException.validacion("size", tamanoPagina, 
+                    "El tamaño de página debe estar entre 1 y " + BUSQUEDA_TAMANO_MAXIMO);
+        }
+        
+        ResultadoBusquedaDto resultado = indiceBusqueda.buscar(consulta, numeroPagina, tamano);
+        
+        log.info("🔎 Búsqueda '{}': {} coincidencias", consulta, resultado.getTotalResultados());
+        return resultado;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductoDescripcionDto obtenerDescripcionProducto(Long id) {
+        log.debug("🔍 Buscando descripción del producto con ID: {}", id);
+        
+        if (id == null || id <= 0) {
+            throw ProductoException.validacion("id", id, "El ID del producto debe ser un número positivo");
+        }
+        
+        return productoRepository.findDescripcionByIdAndActivo(id, "Y")
+                .orElseThrow(() -> {
+                    log.warn("❌ Producto con ID {} no encontrado", id);
+                    return ProductoException.noEncontrado(id);
+                });
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_PRODUCTOS, key = "#result.id")
     public ProductoResponseDto crearProducto(ProductoRequestDto productoRequest) {
         log.debug("🆕 Creando nuevo producto: {}", productoRequest.getNombre());
         
         // Validar datos de entrada
         validarProductoRequest(productoRequest);
         
-        // Verificar nombre único usando naming convention
-        if (productoRepository.existsByNombreIgnoreCaseAndActivo(productoRequest.getNombre(), "Y")) {
-            log.warn("❌ Ya existe un producto con el nombre: {}", productoRequest.getNombre());
-            throw ProductoException.duplicado(productoRequest.getNombre());
-        }
-        
         // Crear entidad usando setters (Lombok)
         Producto producto = new Producto();
         producto.setNombre(productoRequest.getNombre());
+        producto.setNombreNormalizado(NombreNormalizador.normalizar(productoRequest.getNombre()));
         producto.setPrecio(productoRequest.getPrecio());
         producto.setDescripcion(productoRequest.getDescripcion());
         producto.setActivo("Y");
         producto.setFechaCreacion(LocalDateTime.now());
         producto.setFechaActualizacion(LocalDateTime.now());
         
-        // Guardar en base de datos
-        Producto productoGuardado = productoRepository.save(producto);
+        // La unicidad del nombre la garantiza el índice ux_productos_nombre_activo: sin consulta previa,
+        // y dos creaciones concurrentes con el mismo nombre no pueden pasar ambas
+        Producto productoGuardado;
+        try {
+            productoGuardado = productoRepository.saveAndFlush(producto);
+        } catch (DataIntegrityViolationException e) {
+            if (esNombreDuplicado(e)) {
+                log.warn("❌ Ya existe un producto con el nombre: {}", productoRequest.getNombre());
+                throw ProductoException.duplicado(productoRequest.getNombre());
+            }
+            throw e;
+        }
         
         log.info("✅ Producto creado exitosamente con ID: {} - {}", 
                 productoGuardado.getId(), productoGuardado.getNombre());
         
-        return new ProductoResponseDto(productoGuardado);
+        ProductoResponseDto productoCreado = new ProductoResponseDto(productoGuardado);
+        eventPublisher.publishEvent(ProductoEvento.creado(productoCreado));
+        
+        return productoCreado;
+    }
+    
+    @Override
+    public ResultadoLoteDto crearProductosEnLote(List<ProductoRequestDto> productosRequest) {
+        if (productosRequest == null || productosRequest.isEmpty()) {
+            throw ProductoException.validacion("productos", null, "El lote debe contener al menos un producto");
+        }
+        
+        if (productosRequest.size() > LOTE_MAXIMO) {
+            throw ProductoException.validacion("productos", productosRequest.size(), 
+                    "El lote no puede superar " + LOTE_MAXIMO + " productos");
+        }
+        
+        log.debug("🆕 Creando lote de {} productos", productosRequest.size());
+        
+        ResultadoItemLoteDto[] resultados = new ResultadoItemLoteDto[productosRequest.size()];
+        
+        // Nombre normalizado -> posición del primer elemento válido que lo usa
+        Map<String, Integer> candidatos = new LinkedHashMap<>();
+        for (int i = 0; i < productosRequest.size(); i++) {
+            ProductoRequestDto request = productosRequest.get(i);
+            try {
+                validarProductoRequest(request);
+            } catch (ProductoException e) {
+                resultados[i] = ResultadoItemLoteDto.invalido(i, e.getMessage());
+                continue;
+            }
+            
+            Integer anterior = candidatos.putIfAbsent(NombreNormalizador.normalizar(request.getNombre()), i);
+            if (anterior != null) {
+                resultados[i] = ResultadoItemLoteDto.duplicado(i, 
+                        "El nombre se repite en el lote (elemento " + anterior + "): " + request.getNombre());
+            }
+        }
+        
+        Set<String> existentes = buscarNombresExistentes(candidatos.keySet());
+        
+        List<Producto> nuevos = new ArrayList<>(candidatos.size());
+        List<Integer> posiciones = new ArrayList<>(candidatos.size());
+        for (Map.Entry<String, Integer> candidato : candidatos.entrySet()) {
+            int i = candidato.getValue();
+            ProductoRequestDto request = productosRequest.get(i);
+            
+            if (existentes.contains(candidato.getKey())) {
+                resultados[i] = ResultadoItemLoteDto.duplicado(i, 
+                        ProductoException.duplicado(request.getNombre()).getMessage());
+                continue;
+            }
+            
+            Producto producto = new Producto();
+            producto.setNombre(request.getNombre());
+            producto.setNombreNormalizado(candidato.getKey());
+            producto.setPrecio(request.getPrecio());
+            producto.setDescripcion(request.getDescripcion());
+            producto.setActivo("Y"); // Las fechas las asigna @PrePersist al guardar cada bloque, no al inicio del lote
+            
+            nuevos.add(producto);
+            posiciones.add(i);
+        }
+        
+        // Inserción por bloques: cada flush envía un batch JDBC y el clear mantiene acotado el contexto
+        for (int desde = 0; desde < nuevos.size(); desde += FILAS_POR_BATCH) {
+            int hasta = Math.min(desde + FILAS_POR_BATCH, nuevos.size());
+            List<Producto> guardados;
+            try {
+                guardados = productoRepository.saveAll(nuevos.subList(desde, hasta));
+                entityManager.flush();
+            } catch (DataIntegrityViolationException e) {
+                if (esNombreDuplicado(e)) {
+                    // Otro proceso creó uno de los nombres entre la verificación y el insert: se revierte el lote
+                    log.warn("❌ Conflicto concurrente de nombres al insertar el lote");
+                    throw new ProductoException(
+                            "Uno de los nombres del lote fue creado por otra operación concurrente, reintente el lote",
+                            ProductoException.TipoError.DUPLICADO);
+                }
+                throw e;
+            }
+            
+            for (int j = 0; j < guardados.size(); j++) {
+                int i = posiciones.get(desde + j);
+                ProductoResponseDto productoCreado = new ProductoResponseDto(guardados.get(j));
+                resultados[i] = ResultadoItemLoteDto.creado(i, productoCreado);
+                eventPublisher.publishEvent(ProductoEvento.creado(productoCreado));
+            }
+            
+            entityManager.clear();
+        }
+        
+        int creados = nuevos.size();
+        int rechazados = productosRequest.size() - creados;
+        
+        log.info("✅ Lote procesado: {} productos creados, {} rechazados", creados, rechazados);
+        
+        return new ResultadoLoteDto(productosRequest.size(), creados, rechazados, Arrays.asList(resultados));
+    }
+    
+    /**
+     * Busca cuáles de los nombres ya existen en productos activos, en bloques de NOMBRES_POR_CONSULTA
+     */
+    private Set<String> buscarNombresExistentes(Set<String> nombres) {
+        Set<String> existentes = new HashSet<>();
+        List<String> pendientes = new ArrayList<>(nombres);
+        
+        for (int desde = 0; desde < pendientes.size(); desde += NOMBRES_POR_CONSULTA) {
+            List<String> bloque = pendientes.subList(desde, Math.min(desde + NOMBRES_POR_CONSULTA, pendientes.size()));
+            existentes.addAll(productoRepository.findNombresActivosExistentes(bloque));
+        }
+        
+        return existentes;
+    }
+    
+    /**
+     * Indica si la violación de integridad corresponde al índice único de nombres activos
+     */
+    private boolean esNombreDuplicado(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion && violacion.getConstraintName() != null
+                    && violacion.getConstraintName().toLowerCase(Locale.ROOT).contains(Producto.RESTRICCION_NOMBRE_ACTIVO)) {
+                return true;
+            }
+        }
+        
+        // Algunos drivers no exponen el nombre de la restricción; se busca en el mensaje
+        String mensaje = e.getMostSpecificCause().getMessage();
+        return mensaje != null && mensaje.toLowerCase(Locale.ROOT).contains(Producto.RESTRICCION_NOMBRE_ACTIVO);
     }
     
     /**
@@ -0,0 +1,52 @@
+package com.pruebatec.productos.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Marca de agua del feed de cambios: posición (fechaActualizacion, id) del último cambio entregado
+ * Se transmite como texto opaco "<microsegundos UTC en base 36>-<id en base 36>"; los clientes
+ * solo la guardan y la devuelven en el siguiente since
+ */
+public record MarcaCambios(LocalDateTime fecha, long id) {
+
+    /**
+     * Posición anterior a cualquier cambio (sincronización inicial)
+     */
+    public static final MarcaCambios INICIAL = new MarcaCambios(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    /**
+     * Texto de la marca para enviar al cliente
+     */
+    public String codificar() {
+        long segundos = fecha.toEpochSecond(ZoneOffset.UTC);
+        long micros = segundos * 1_000_000 + fecha.getNano() / 1_000;
+        return Long.toString(micros, 36) + "-" + Long.toString(id, 36);
+    }
+
+    /**
+     * Interpreta el texto recibido en since
+     * @param texto Marca generada por codificar()
+     * @return Marca con la fecha (precisión de microsegundos) y el ID
+     * @throws IllegalArgumentException si el texto no tiene el formato esperado
+     */
+    public static MarcaCambios decodificar(String texto) {
+        int separador = texto.lastIndexOf('-');
+        if (separador <= 0 || separador == texto.length() - 1) {
+            throw new IllegalArgumentException("Formato de marca inválido: " + texto);
+        }
+
+        try {
+            long micros = Long.parseLong(texto.substring(0, separador), 36);
+            long id = Long.parseLong(texto.substring(separador + 1), 36);
+            if (micros < 0 || id < 0) {
+                throw new IllegalArgumentException("Marca con valores negativos: " + texto);
+            }
+            LocalDateTime fecha = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                    (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+            return new MarcaCambios(fecha, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Formato de marca inválido: " + texto, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pruebatec.productos.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza nombres de productos para compararlos sin importar mayúsculas ni tildes
+ * "Audífonos Sony" y "AUDIFONOS SONY" producen la misma clave: "AUDIFONOS SONY"
+ */
+public final class NombreNormalizador {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private NombreNormalizador() {
+    }
+
+    /**
+     * Clave normalizada: sin espacios en los extremos, sin tildes ni diéresis y en mayúsculas
+     * @param nombre Nombre original (puede ser null)
+     * @return Clave normalizada, o null si el nombre es null
+     */
+    public static String normalizar(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        
+        // NFD separa la letra base de su marca (í -> i + ´) para poder descartar la marca
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(nombre.trim(), Normalizer.Form.NFD))
+                .replaceAll("");
+        return sinTildes.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,203 @@
+package com.pruebatec.productos.busqueda;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndiceBusquedaProductos Tests")
+class IndiceBusquedaProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IndiceBusquedaProductos indice;
+
+    private Producto crearProducto(Long id, String nombre, String descripcion) {
+        return new Producto(id, nombre, new BigDecimal("100.00"), descripcion,
+                LocalDateTime.now(), LocalDateTime.now(), "Y");
+    }
+
+    private ProductoResponseDto crearDto(Long id, String nombre, String descripcion, String activo) {
+        ProductoResponseDto producto = new ProductoResponseDto(crearProducto(id, nombre, descripcion));
+        producto.setActivo(activo);
+        return producto;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(
+                crearProducto(1L, "Audífonos Sony WH-1000XM4", "Audífonos inalámbricos con cancelación de ruido"),
+                crearProducto(2L, "Mouse Logitech MX Master 3", "Mouse inalámbrico ergonómico"),
+                crearProducto(3L, "Parlantes Logitech Z623", "Sistema de parlantes con subwoofer, ideal para audífonos"),
+                crearProducto(4L, "Teclado Mecánico Corsair K70", null)));
+        indice.reconstruir();
+    }
+
+    @Nested
+    @DisplayName("Construcción Tests")
+    class ConstruccionTests {
+
+        @Test
+        @DisplayName("Debería indexar todos los productos activos")
+        void deberiaIndexarTodosLosProductos() {
+            assertThat(indice.totalProductos()).isEqualTo(4);
+            verify(productoRepository).streamByActivoOrderById("Y");
+        }
+
+        @Test
+        @DisplayName("Debería conservar el índice anterior si la reconstrucción falla")
+        void deberiaConservarIndiceAnteriorSiFalla() {
+            when(productoRepository.streamByActivoOrderById("Y")).thenThrow(new RuntimeException("Conexión perdida"));
+
+            indice.reconstruir();
+
+            assertThat(indice.totalProductos()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Búsqueda Tests")
+    class BusquedaTests {
+
+        @Test
+        @DisplayName("Debería encontrar sin importar tildes ni mayúsculas")
+        void deberiaEncontrarSinTildesNiMayusculas() {
+            ResultadoBusquedaDto resultado = indice.buscar("AUDIFONOS", 1, 20);
+
+            assertThat(resultado.getProductos()).extracting(ProductoResumenDto::getId).containsExactly(1L, 3L);
+            assertThat(resultado.getTotalResultados()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debería ordenar poniendo primero las coincidencias en el nombre")
+        void deberiaPriorizarCoincidenciasEnElNombre() {
+            ResultadoBusquedaDto resultado = indice.buscar("logitech inalambrico", 1, 20);
+
+            // Solo el mouse contiene ambos términos
+            assertThat(resultado.getProductos()).extracting(ProductoResumenDto::getId).containsExactly(2L);
+
+            ResultadoBusquedaDto parlantes = indice.buscar("parlantes", 1, 20);
+            assertThat(parlantes.getProductos().get(0).getNombre()).isEqualTo("Parlantes Logitech Z623");
+        }
+
+        @Test
+        @DisplayName("Debería exigir todos los términos de la consulta")
+        void deberiaExigirTodosLosTerminos() {
+            assertThat(indice.buscar("logitech sony", 1, 20).getProductos()).isEmpty();
+            assertThat(indice.buscar("logitech", 1, 20).getProductos()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Debería completar el último término por prefijo")
+        void deberiaCompletarPorPrefijo() {
+            assertThat(indice.buscar("teclado mec", 1, 20).getProductos())
+                    .extracting(ProductoResumenDto::getId).containsExactly(4L);
+            // Los términos anteriores al último deben coincidir completos
+            assertThat(indice.buscar("tecl mecanico", 1, 20).getProductos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería paginar los resultados")
+        void deberiaPaginarResultados() {
+            for (long id = 10; id < 35; id++) {
+                indice.onProductoEvento(ProductoEvento.creado(crearDto(id, "Cable USB " + id, null, "Y")));
+            }
+
+            ResultadoBusquedaDto pagina3 = indice.buscar("cable", 3, 10);
+
+            assertThat(pagina3.getTotalResultados()).isEqualTo(25);
+            assertThat(pagina3.getProductos()).hasSize(5);
+            assertThat(pagina3.getProductos().get(0).getId()).isEqualTo(30L);
+            assertThat(indice.buscar("cable", 4, 10).getProductos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería retornar una página vacía cuando el desplazamiento desborda int")
+        void deberiaRetornarVacioConPaginaEnorme() {
+            indice.onProductoEvento(ProductoEvento.creado(crearDto(10L, "Cable USB", null, "Y")));
+
+            ResultadoBusquedaDto resultado = indice.buscar("cable", 100_000_000, 50);
+
+            assertThat(resultado.getTotalResultados()).isEqualTo(1);
+            assertThat(resultado.getProductos()).isEmpty();
+            assertThat(indice.buscar("cable", Integer.MAX_VALUE, 100).getProductos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería retornar vacío cuando la consulta no tiene términos útiles")
+        void deberiaRetornarVacioSinTerminos() {
+            assertThat(indice.buscar("de la", 1, 20).getTotalResultados()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualización Incremental Tests")
+    class ActualizacionIncrementalTests {
+
+        @Test
+        @DisplayName("Debería indexar productos creados")
+        void deberiaIndexarProductosCreados() {
+            indice.onProductoEvento(ProductoEvento.creado(crearDto(5L, "Webcam Logitech C920", "Cámara web Full HD", "Y")));
+
+            assertThat(indice.totalProductos()).isEqualTo(5);
+            assertThat(indice.buscar("camara", 1, 20).getProductos())
+                    .extracting(ProductoResumenDto::getId).containsExactly(5L);
+        }
+
+        @Test
+        @DisplayName("Debería reemplazar los términos de un producto actualizado")
+        void deberiaReemplazarTerminosAlActualizar() {
+            indice.onProductoEvento(ProductoEvento.actualizado(crearDto(4L, "Teclado Razer Huntsman", null, "Y")));
+
+            assertThat(indice.buscar("corsair", 1, 20).getProductos()).isEmpty();
+            assertThat(indice.buscar("razer", 1, 20).getProductos())
+                    .extracting(ProductoResumenDto::getId).containsExactly(4L);
+            assertThat(indice.totalProductos()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Debería quitar productos desactivados")
+        void deberiaQuitarProductosDesactivados() {
+            indice.onProductoEvento(ProductoEvento.desactivado(crearDto(2L, "Mouse Logitech MX Master 3", null, "N")));
+
+            assertThat(indice.totalProductos()).isEqualTo(3);
+            assertThat(indice.buscar("mouse", 1, 20).getProductos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería soportar búsquedas concurrentes con actualizaciones")
+        void deberiaSoportarConcurrencia() {
+            IntStream.range(100, 600).parallel().forEach(id -> {
+                indice.onProductoEvento(ProductoEvento.creado(crearDto((long) id, "Producto Concurrente " + id, null, "Y")));
+                indice.buscar("concurrente", 1, 5);
+            });
+
+            assertThat(indice.buscar("concurrente", 1, 5).getTotalResultados()).isEqualTo(500);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.pruebatec.productos.busqueda;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndicePreciosProductos Tests")
+class IndicePreciosProductosTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IndicePreciosProductos indice;
+
+    private Producto crearProducto(Long id, String precio) {
+        return new Producto(id, "Producto " + id, new BigDecimal(precio), "Descripción " + id,
+                LocalDateTime.now(), LocalDateTime.now(), "Y");
+    }
+
+    private ProductoResponseDto crearDto(Long id, String precio, String activo) {
+        ProductoResponseDto producto = new ProductoResponseDto(crearProducto(id, precio));
+        producto.setActivo(activo);
+        return producto;
+    }
+
+    private IndicePreciosProductos.Resultado buscar(String minimo, String maximo) {
+        return indice.buscarPorRango(minimo != null ? new BigDecimal(minimo) : null,
+                maximo != null ? new BigDecimal(maximo) : null, false, Integer.MAX_VALUE);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(
+                crearProducto(1L, "1299.99"),
+                crearProducto(2L, "25.99"),
+                crearProducto(3L, "89.99"),
+                crearProducto(4L, "25.99"),
+                crearProducto(5L, "0.50")));
+        indice.reconstruir();
+    }
+
+    @Nested
+    @DisplayName("Construcción Tests")
+    class ConstruccionTests {
+
+        @Test
+        @DisplayName("Debería indexar todos los productos activos sin la descripción")
+        void deberiaIndexarSinDescripcion() {
+            assertThat(indice.estaDisponible()).isTrue();
+            assertThat(indice.totalProductos()).isEqualTo(5);
+            assertThat(buscar(null, null).productos()).allMatch(producto -> producto.getDescripcion() == null);
+        }
+
+        @Test
+        @DisplayName("Debería quedar no disponible si la primera construcción falla")
+        void deberiaQuedarNoDisponibleSiFalla() {
+            IndicePreciosProductos nuevo = new IndicePreciosProductos(productoRepository, transactionManager);
+            when(productoRepository.streamByActivoOrderById("Y")).thenThrow(new RuntimeException("Conexión perdida"));
+
+            nuevo.reconstruir();
+
+            assertThat(nuevo.estaDisponible()).isFalse();
+            assertThatThrownBy(() -> nuevo.buscarPorRango(null, null, false, 10))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Debería conservar el índice anterior si la reconstrucción falla")
+        void deberiaConservarIndiceAnteriorSiFalla() {
+            when(productoRepository.streamByActivoOrderById("Y")).thenThrow(new RuntimeException("Conexión perdida"));
+
+            indice.reconstruir();
+
+            assertThat(indice.totalProductos()).isEqualTo(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Consulta Por Rango Tests")
+    class ConsultaPorRangoTests {
+
+        @Test
+        @DisplayName("Debería ordenar por precio y desempatar por ID")
+        void deberiaOrdenarPorPrecioEId() {
+            assertThat(buscar(null, null).productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(5L, 2L, 4L, 3L, 1L);
+        }
+
+        @Test
+        @DisplayName("Debería incluir ambos extremos del rango")
+        void deberiaIncluirAmbosExtremos() {
+            IndicePreciosProductos.Resultado resultado = buscar("25.99", "89.99");
+
+            assertThat(resultado.productos()).extracting(ProductoResponseDto::getId).containsExactly(2L, 4L, 3L);
+            assertThat(resultado.total()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Debería ignorar fracciones de centavo en los extremos")
+        void deberiaRedondearExtremosConFraccion() {
+            assertThat(buscar("25.985", "89.995").productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(2L, 4L, 3L);
+            assertThat(buscar("25.991", null).productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(3L, 1L);
+        }
+
+        @Test
+        @DisplayName("Debería ordenar de forma descendente y respetar el límite")
+        void deberiaOrdenarDescendenteConLimite() {
+            IndicePreciosProductos.Resultado resultado = indice.buscarPorRango(null, new BigDecimal("100"), true, 2);
+
+            assertThat(resultado.productos()).extracting(ProductoResponseDto::getId).containsExactly(3L, 4L);
+            assertThat(resultado.total()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Debería retornar vacío cuando ningún precio está en el rango")
+        void deberiaRetornarVacioFueraDeRango() {
+            assertThat(buscar("90", "1000").total()).isZero();
+            assertThat(buscar("5000", null).productos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería acotar los extremos que no caben en el rango de centavos")
+        void deberiaAcotarExtremosEnormes() {
+            assertThat(buscar("1e20", null).total()).isZero();
+            assertThat(buscar(null, "1e20").total()).isEqualTo(5);
+            assertThat(buscar("0.50", "1e30").productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(5L, 2L, 4L, 3L, 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualización Incremental Tests")
+    class ActualizacionIncrementalTests {
+
+        @Test
+        @DisplayName("Debería indexar productos creados en su posición de precio")
+        void deberiaIndexarProductosCreados() {
+            indice.onProductoEvento(ProductoEvento.creado(crearDto(6L, "50.00", "Y")));
+
+            assertThat(buscar("20", "100").productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(2L, 4L, 6L, 3L);
+        }
+
+        @Test
+        @DisplayName("Debería mover un producto cuando cambia su precio")
+        void deberiaMoverProductoActualizado() {
+            indice.onProductoEvento(ProductoEvento.actualizado(crearDto(1L, "10.00", "Y")));
+
+            assertThat(buscar(null, null).productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(5L, 1L, 2L, 4L, 3L);
+            assertThat(indice.totalProductos()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Debería quitar productos desactivados")
+        void deberiaQuitarProductosDesactivados() {
+            indice.onProductoEvento(ProductoEvento.desactivado(crearDto(4L, "25.99", "N")));
+
+            assertThat(buscar("25.99", "25.99").productos())
+                    .extracting(ProductoResponseDto::getId).containsExactly(2L);
+            assertThat(indice.totalProductos()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Debería aplicar los cambios de una transacción juntos después del commit")
+        void deberiaAplicarLaTransaccionAlConfirmarse() {
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                // Given - un lote con un producto que cambia dos veces dentro de la transacción
+                indice.onProductoEvento(ProductoEvento.creado(crearDto(6L, "50.00", "Y")));
+                indice.onProductoEvento(ProductoEvento.creado(crearDto(7L, "60.00", "Y")));
+                indice.onProductoEvento(ProductoEvento.actualizado(crearDto(6L, "70.00", "Y")));
+                indice.onProductoEvento(ProductoEvento.desactivado(crearDto(2L, "25.99", "N")));
+                assertThat(indice.totalProductos()).isEqualTo(5);
+
+                // When
+                List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+                sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+                sincronizaciones.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+                // Then
+                assertThat(sincronizaciones).hasSize(1);
+                assertThat(buscar("20", "100").productos())
+                        .extracting(ProductoResponseDto::getId).containsExactly(4L, 7L, 6L, 3L);
+                assertThat(indice.totalProductos()).isEqualTo(6);
+                assertThat(TransactionSynchronizationManager.hasResource(indice)).isFalse();
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Debería descartar los cambios de una transacción revertida")
+        void deberiaDescartarTransaccionRevertida() {
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                // Given
+                indice.onProductoEvento(ProductoEvento.creado(crearDto(6L, "50.00", "Y")));
+
+                // When
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+                // Then
+                assertThat(indice.totalProductos()).isEqualTo(5);
+                assertThat(TransactionSynchronizationManager.hasResource(indice)).isFalse();
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Debería soportar consultas concurrentes con actualizaciones")
+        void deberiaSoportarConcurrencia() {
+            IntStream.range(100, 600).parallel().forEach(id -> {
+                indice.onProductoEvento(ProductoEvento.creado(crearDto((long) id, id + ".00", "Y")));
+                indice.buscarPorRango(null, null, false, 5);
+            });
+
+            assertThat(buscar("100", "599").total()).isEqualTo(500);
+            assertThat(indice.totalProductos()).isEqualTo(505);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pruebatec.productos.busqueda;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tokenizador Tests")
+class TokenizadorTest {
+
+    @Test
+    @DisplayName("Debería dividir en términos en minúsculas y sin tildes")
+    void deberiaDividirEnTerminosNormalizados() {
+        assertEquals(List.of("audifonos", "inalambricos", "cancelacion", "ruido"),
+                     Tokenizador.tokenizar("Audífonos inalámbricos con cancelación de ruido"));
+    }
+
+    @Test
+    @DisplayName("Debería separar por signos de puntuación y conservar números")
+    void deberiaSepararPorPuntuacion() {
+        assertEquals(List.of("cpu", "nucleos", "16", "hilos", "3", "8ghz"),
+                     Tokenizador.tokenizar("CPU, núcleos/16 hilos - 3.8GHz"));
+    }
+
+    @Test
+    @DisplayName("Debería descartar palabras vacías y letras sueltas")
+    void deberiaDescartarPalabrasVacias() {
+        assertEquals(List.of("cable", "hdmi"), Tokenizador.tokenizar("el cable de la x HDMI"));
+    }
+
+    @Test
+    @DisplayName("Debería retornar lista vacía para textos sin términos")
+    void deberiaRetornarListaVacia() {
+        assertTrue(Tokenizador.tokenizar(null).isEmpty());
+        assertTrue(Tokenizador.tokenizar("   ").isEmpty());
+        assertTrue(Tokenizador.tokenizar("de la").isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package com.pruebatec.productos.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+    private CacheConfig cacheConfig;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "maximoElementos", 2L);
+        ReflectionTestUtils.setField(cacheConfig, "ttlSegundos", 60L);
+    }
+
+    private CaffeineCache obtenerCacheNativa(CacheManager cacheManager) {
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        assertInstanceOf(TransactionAwareCacheDecorator.class, cache);
+        return (CaffeineCache) ((TransactionAwareCacheDecorator) cache).getTargetCache();
+    }
+
+    @Nested
+    @DisplayName("CacheManager Tests")
+    class CacheManagerTests {
+
+        @Test
+        @DisplayName("Debería crear un CacheManager transaccional con la cache de productos")
+        void deberiaCrearCacheManagerTransaccional() {
+            CacheManager cacheManager = cacheConfig.cacheManager();
+
+            assertInstanceOf(TransactionAwareCacheManagerProxy.class, cacheManager);
+            assertTrue(cacheManager.getCacheNames().contains(CacheConfig.CACHE_PRODUCTOS));
+        }
+
+        @Test
+        @DisplayName("Debería registrar estadísticas de aciertos y fallos")
+        void deberiaRegistrarEstadisticasDeAciertosYFallos() {
+            CaffeineCache cache = obtenerCacheNativa(cacheConfig.cacheManager());
+
+            cache.put(1L, "producto 1");
+            assertNotNull(cache.get(1L));
+            assertNull(cache.get(2L));
+
+            CacheStats stats = cache.getNativeCache().stats();
+            assertEquals(1, stats.hitCount());
+            assertEquals(1, stats.missCount());
+        }
+
+        @Test
+        @DisplayName("Debería desalojar elementos al superar el tamaño máximo")
+        void deberiaDesalojarAlSuperarTamanoMaximo() {
+            CaffeineCache cache = obtenerCacheNativa(cacheConfig.cacheManager());
+
+            for (long id = 1; id <= 10; id++) {
+                cache.put(id, "producto " + id);
+            }
+            cache.getNativeCache().cleanUp();
+
+            assertTrue(cache.getNativeCache().estimatedSize() <= 2);
+            assertTrue(cache.getNativeCache().stats().evictionCount() >= 8);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar valores nulos")
+        void deberiaRechazarValoresNulos() {
+            CaffeineCache cache = obtenerCacheNativa(cacheConfig.cacheManager());
+
+            assertFalse(cache.isAllowNullValues());
+        }
+    }
+}
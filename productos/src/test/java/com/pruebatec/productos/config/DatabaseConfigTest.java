@@ -1,5 +1,7 @@
 package com.pruebatec.productos.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -8,12 +10,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,7 +35,8 @@ class DatabaseConfigTest {
     @BeforeEach
     void setUp() {
         environment = mock(ConfigurableEnvironment.class);
-        propertySources = mock(MutablePropertySources.class);
+        // Fuentes reales (vacías) para que el Binder pueda leer la configuración de los pools
+        propertySources = spy(new MutablePropertySources());
         when(environment.getPropertySources()).thenReturn(propertySources);
         
         databaseConfig = new DatabaseConfig(environment);
@@ -152,6 +160,158 @@ class DatabaseConfigTest {
         }
     }
 
+    @Nested
+    @DisplayName("Sondeo en Paralelo Tests")
+    class SondeoEnParaleloTests {
+
+        private DataSource crearCandidato(long demoraMs, boolean valida) throws SQLException {
+            DataSource dataSource = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(connection.isValid(5)).thenReturn(valida);
+            when(connection.getMetaData()).thenThrow(new SQLException("Sin metadata"));
+            when(dataSource.getConnection()).thenAnswer(invocation -> {
+                Thread.sleep(demoraMs);
+                return connection;
+            });
+            return dataSource;
+        }
+
+        @Test
+        @DisplayName("Debería elegir la primera base sana en orden de prioridad aunque otra responda antes")
+        void deberiaRespetarLaPrioridad() throws Exception {
+            Map<String, DataSource> candidatos = new LinkedHashMap<>();
+            candidatos.put("Oracle", crearCandidato(200, true));
+            candidatos.put("H2", crearCandidato(0, true));
+
+            assertEquals("Oracle", databaseConfig.sondearEnParalelo(candidatos));
+        }
+
+        @Test
+        @DisplayName("Debería descartar la base que no responde dentro del límite de arranque")
+        void deberiaDescartarBaseLenta() throws Exception {
+            ReflectionTestUtils.setField(databaseConfig, "timeoutArranqueMs", 300L);
+            Map<String, DataSource> candidatos = new LinkedHashMap<>();
+            candidatos.put("Oracle", crearCandidato(10_000, true));
+            candidatos.put("H2", crearCandidato(0, true));
+
+            long inicio = System.nanoTime();
+            String elegida = databaseConfig.sondearEnParalelo(candidatos);
+
+            assertEquals("H2", elegida);
+            assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(5));
+            Map<?, ?> sondeos = (Map<?, ?>) ReflectionTestUtils.getField(databaseConfig, "sondeos");
+            assertEquals("timeout", ((DatabaseConfig.Sondeo) sondeos.get("Oracle")).resultado());
+            assertEquals("ok", ((DatabaseConfig.Sondeo) sondeos.get("H2")).resultado());
+        }
+
+        @Test
+        @DisplayName("Debería sondear las bases a la vez y no una después de otra")
+        void deberiaSondearEnParalelo() throws Exception {
+            Map<String, DataSource> candidatos = new LinkedHashMap<>();
+            candidatos.put("Oracle", crearCandidato(500, false));
+            candidatos.put("H2", crearCandidato(500, true));
+
+            long inicio = System.nanoTime();
+            String elegida = databaseConfig.sondearEnParalelo(candidatos);
+
+            assertEquals("H2", elegida);
+            assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(950));
+        }
+
+        @Test
+        @DisplayName("Debería retornar null cuando ninguna base está sana")
+        void deberiaRetornarNullSinBasesSanas() throws Exception {
+            Map<String, DataSource> candidatos = new LinkedHashMap<>();
+            candidatos.put("Oracle", crearCandidato(0, false));
+            candidatos.put("H2", null);
+
+            assertNull(databaseConfig.sondearEnParalelo(candidatos));
+        }
+
+        @Test
+        @DisplayName("Debería registrar la duración de los sondeos como métricas")
+        void deberiaRegistrarMetricasDeSondeo() throws Exception {
+            Map<String, DataSource> candidatos = new LinkedHashMap<>();
+            candidatos.put("Oracle", crearCandidato(0, false));
+            candidatos.put("H2", crearCandidato(0, true));
+            databaseConfig.sondearEnParalelo(candidatos);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            databaseConfig.databaseMeterBinder(mock(DataSource.class)).bindTo(registry);
+
+            assertNotNull(registry.find("productos.datasource.sondeo").tags("base", "Oracle", "resultado", "fallo").timeGauge());
+            assertNotNull(registry.find("productos.datasource.sondeo").tags("base", "H2", "resultado", "ok").timeGauge());
+            assertNotNull(registry.find("productos.datasource.seleccion").timeGauge());
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuración de Pools Tests")
+    class ConfiguracionPoolsTests {
+
+        @Test
+        @DisplayName("Debería aplicar la configuración común y la propia de cada base al crear el pool")
+        void deberiaAplicarConfiguracionDelPool() {
+            StandardEnvironment env = new StandardEnvironment();
+            env.getPropertySources().addFirst(new MapPropertySource("pruebas", Map.of(
+                "spring.datasource.hikari.maximum-pool-size", "10",
+                "spring.datasource.hikari.minimum-idle", "2",
+                "spring.datasource.hikari.leak-detection-threshold", "30000",
+                "productos.datasource.h2.hikari.maximum-pool-size", "5",
+                "productos.datasource.oracle.hikari.data-source-properties[oracle.jdbc.implicitStatementCacheSize]", "50")));
+            DatabaseConfig config = new DatabaseConfig(env);
+            ReflectionTestUtils.setField(config, "oracleUrl", "jdbc:oracle:thin:@localhost:1521:xe");
+            ReflectionTestUtils.setField(config, "oracleUsername", "productos");
+            ReflectionTestUtils.setField(config, "oraclePassword", "password");
+            ReflectionTestUtils.setField(config, "oracleDriver", "oracle.jdbc.OracleDriver");
+
+            HikariDataSource h2 = ReflectionTestUtils.invokeMethod(config, "createH2DataSource");
+            HikariDataSource oracle = ReflectionTestUtils.invokeMethod(config, "createOracleDataSource");
+
+            assertEquals("productos-h2", h2.getPoolName());
+            assertEquals(5, h2.getMaximumPoolSize());
+            assertEquals(2, h2.getMinimumIdle());
+            assertEquals(30000, h2.getLeakDetectionThreshold());
+            assertEquals("productos-oracle", oracle.getPoolName());
+            assertEquals(10, oracle.getMaximumPoolSize());
+            assertEquals("50", oracle.getDataSourceProperties().getProperty("oracle.jdbc.implicitStatementCacheSize"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Réplicas de Lectura Tests")
+    class ReplicasTests {
+
+        @Test
+        @DisplayName("Debería retornar la principal sin cambios cuando no hay réplicas")
+        void deberiaRetornarPrincipalSinReplicas() {
+            DataSource principal = mock(DataSource.class);
+            ReflectionTestUtils.setField(databaseConfig, "replicaUrls", new String[0]);
+
+            DataSource result = ReflectionTestUtils.invokeMethod(
+                databaseConfig, "conReplicas", principal, "sa", "password", "org.h2.Driver");
+
+            assertSame(principal, result);
+        }
+
+        @Test
+        @DisplayName("Debería enrutar las lecturas cuando hay réplicas configuradas")
+        void deberiaEnrutarConReplicas() {
+            DataSource principal = mock(DataSource.class);
+            ReflectionTestUtils.setField(databaseConfig, "replicaUrls",
+                new String[] {"jdbc:h2:mem:replica_config_test;DB_CLOSE_DELAY=-1"});
+
+            DataSource result = ReflectionTestUtils.invokeMethod(
+                databaseConfig, "conReplicas", principal, "sa", "password", "org.h2.Driver");
+
+            assertInstanceOf(LazyConnectionDataSourceProxy.class, result);
+            assertInstanceOf(ReadWriteRoutingDataSource.class,
+                ((LazyConnectionDataSourceProxy) result).getTargetDataSource());
+            
+            databaseConfig.destroy();
+        }
+    }
+
     @Nested
     @DisplayName("createH2DataSource Tests - 0% Cobertura")
     class CreateH2DataSourceTests {
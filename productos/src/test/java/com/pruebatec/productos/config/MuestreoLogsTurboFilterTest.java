@@ -0,0 +1,121 @@
+package com.pruebatec.productos.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MuestreoLogsTurboFilter Tests")
+class MuestreoLogsTurboFilterTest {
+
+    private LoggerContext contexto;
+    private MuestreoLogsTurboFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        contexto = new LoggerContext();
+        contexto.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+
+        filtro = new MuestreoLogsTurboFilter();
+        filtro.setContext(contexto);
+        filtro.addCategoria("com.pruebatec.productos.controller=10");
+        filtro.addCategoria("com.pruebatec.productos.controller.ProductoController=2");
+        filtro.addCategoria("com.pruebatec.productos.service=1");
+        filtro.start();
+    }
+
+    private long aceptados(Logger logger, Level level, int eventos) {
+        return IntStream.range(0, eventos)
+                .mapToObj(i -> filtro.decide(null, logger, level, "mensaje {}", new Object[]{i}, null))
+                .filter(respuesta -> respuesta == FilterReply.NEUTRAL)
+                .count();
+    }
+
+    @Nested
+    @DisplayName("Muestreo Tests")
+    class MuestreoTests {
+
+        @Test
+        @DisplayName("Debería dejar pasar uno de cada N eventos INFO de la categoría")
+        void deberiaMuestrearEventosInfo() {
+            Logger logger = contexto.getLogger("com.pruebatec.productos.controller.OtroController");
+
+            assertThat(aceptados(logger, Level.INFO, 100)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Debería usar la categoría con el prefijo más largo")
+        void deberiaUsarPrefijoMasLargo() {
+            Logger logger = contexto.getLogger("com.pruebatec.productos.controller.ProductoController");
+
+            assertThat(aceptados(logger, Level.INFO, 100)).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Debería dejar pasar siempre WARN y ERROR")
+        void deberiaDejarPasarWarnYError() {
+            Logger logger = contexto.getLogger("com.pruebatec.productos.controller.OtroController");
+
+            assertThat(aceptados(logger, Level.WARN, 20)).isEqualTo(20);
+            assertThat(aceptados(logger, Level.ERROR, 20)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Debería dejar pasar todo fuera de las categorías o con tasa 1")
+        void deberiaDejarPasarSinMuestreo() {
+            assertThat(aceptados(contexto.getLogger("org.hibernate.SQL"), Level.INFO, 20)).isEqualTo(20);
+            assertThat(aceptados(contexto.getLogger("com.pruebatec.productos.service.impl.ProductoServiceImpl"),
+                    Level.INFO, 20)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("No debería contar los eventos de niveles deshabilitados")
+        void noDeberiaContarNivelesDeshabilitados() {
+            Logger logger = contexto.getLogger("com.pruebatec.productos.controller.OtroController");
+
+            aceptados(logger, Level.DEBUG, 7);
+
+            // El primer INFO sigue siendo el que pasa
+            assertThat(filtro.decide(null, logger, Level.INFO, "mensaje", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuración Tests")
+    class ConfiguracionTests {
+
+        @Test
+        @DisplayName("Debería ignorar categorías mal formadas")
+        void deberiaIgnorarCategoriasInvalidas() {
+            MuestreoLogsTurboFilter otro = new MuestreoLogsTurboFilter();
+            otro.setContext(contexto);
+            otro.addCategoria("sin-tasa");
+            otro.addCategoria("com.pruebatec=diez");
+            otro.start();
+
+            Logger logger = contexto.getLogger("com.pruebatec.productos.Algo");
+            assertThat(IntStream.range(0, 5)
+                    .mapToObj(i -> otro.decide(null, logger, Level.INFO, "mensaje", null, null)))
+                    .containsOnly(FilterReply.NEUTRAL);
+        }
+
+        @Test
+        @DisplayName("No debería filtrar antes de iniciarse")
+        void noDeberiaFiltrarSinIniciar() {
+            MuestreoLogsTurboFilter detenido = new MuestreoLogsTurboFilter();
+            detenido.addCategoria("com.pruebatec=1000");
+
+            Logger logger = contexto.getLogger("com.pruebatec.productos.Algo");
+            detenido.decide(null, logger, Level.INFO, "mensaje", null, null);
+            assertThat(detenido.decide(null, logger, Level.INFO, "mensaje", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.pruebatec.productos.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enrutamiento de lecturas y escrituras con dos bases H2 en memoria en el papel de principal y réplica
+ */
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource principal;
+    private DataSource replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    private DataSource crearBaseH2(String nombre) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))");
+        jdbc.execute("DELETE FROM origen");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+        return dataSource;
+    }
+
+    private ReadWriteRoutingDataSource crearRouting(Map<String, DataSource> replicas) {
+        // Intervalo largo: las pruebas invocan la verificación de forma explícita
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(principal, replicas, Duration.ofHours(1));
+        routing.verificarReplicas();
+        return routing;
+    }
+
+    private void usar(ReadWriteRoutingDataSource routing) {
+        routingDataSource = routing;
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        jdbcTemplate = new JdbcTemplate(proxy);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private String leerEnTransaccion() {
+        return lectura.execute(estado -> origen());
+    }
+
+    @BeforeEach
+    void setUp() {
+        principal = crearBaseH2("principal_test");
+        replica = crearBaseH2("replica_test");
+        usar(crearRouting(Map.of("replica-1", replica)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @Nested
+    @DisplayName("Enrutamiento Tests")
+    class EnrutamientoTests {
+
+        @Test
+        @DisplayName("Debería enviar las transacciones de solo lectura a la réplica")
+        void deberiaEnviarLecturasALaReplica() {
+            assertThat(leerEnTransaccion()).isEqualTo("replica_test");
+        }
+
+        @Test
+        @DisplayName("Debería enviar las transacciones de escritura a la principal")
+        void deberiaEnviarEscriturasALaPrincipal() {
+            escritura.executeWithoutResult(estado -> jdbcTemplate.update("INSERT INTO origen VALUES ('nuevo')"));
+
+            Integer filasPrincipal = escritura.execute(estado -> jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM origen", Integer.class));
+            assertThat(filasPrincipal).isEqualTo(2);
+            assertThat(new JdbcTemplate(replica).queryForObject("SELECT COUNT(*) FROM origen", Integer.class)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debería usar la principal fuera de una transacción")
+        void deberiaUsarLaPrincipalSinTransaccion() {
+            assertThat(origen()).isEqualTo("principal_test");
+        }
+
+        @Test
+        @DisplayName("Debería repartir las lecturas entre las réplicas")
+        void deberiaRepartirLecturasEntreReplicas() {
+            routingDataSource.close();
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            replicas.put("replica-1", replica);
+            replicas.put("replica-2", crearBaseH2("replica_dos_test"));
+            usar(crearRouting(replicas));
+
+            String primera = leerEnTransaccion();
+            String segunda = leerEnTransaccion();
+
+            assertThat(primera).isNotEqualTo(segunda);
+            assertThat(primera).isIn("replica_test", "replica_dos_test");
+            assertThat(segunda).isIn("replica_test", "replica_dos_test");
+        }
+    }
+
+    @Nested
+    @DisplayName("Fallback Tests")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("Debería leer de la principal cuando la réplica no responde")
+        void deberiaLeerDeLaPrincipalSiLaReplicaFalla() throws SQLException {
+            routingDataSource.close();
+            DataSource caida = mock(DataSource.class);
+            when(caida.getConnection()).thenThrow(new SQLException("Connection refused"));
+            usar(crearRouting(Map.of("replica-1", caida)));
+
+            assertThat(routingDataSource.isReplicaDisponible("replica-1")).isFalse();
+            assertThat(leerEnTransaccion()).isEqualTo("principal_test");
+        }
+
+        @Test
+        @DisplayName("Debería marcar la réplica como no disponible al fallar una conexión y recuperarla luego")
+        void deberiaMarcarYRecuperarLaReplica() throws SQLException {
+            routingDataSource.close();
+            DataSource intermitente = spy(replica);
+            usar(crearRouting(Map.of("replica-1", intermitente)));
+            assertThat(routingDataSource.isReplicaDisponible("replica-1")).isTrue();
+
+            doThrow(new SQLException("Connection reset")).when(intermitente).getConnection();
+            assertThat(leerEnTransaccion()).isEqualTo("principal_test");
+            assertThat(routingDataSource.isReplicaDisponible("replica-1")).isFalse();
+
+            doCallRealMethod().when(intermitente).getConnection();
+            routingDataSource.verificarReplicas();
+            assertThat(routingDataSource.isReplicaDisponible("replica-1")).isTrue();
+            assertThat(leerEnTransaccion()).isEqualTo("replica_test");
+        }
+    }
+
+    @Nested
+    @DisplayName("Métricas Tests")
+    class MetricasTests {
+
+        @Test
+        @DisplayName("Debería exponer la disponibilidad de cada réplica")
+        void deberiaExponerDisponibilidadDeReplicas() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            routingDataSource.registrarMetricas(registry);
+
+            assertThat(registry.get("productos.datasource.replica.disponible").tag("replica", "replica-1")
+                    .gauge().value()).isEqualTo(1.0);
+        }
+    }
+}
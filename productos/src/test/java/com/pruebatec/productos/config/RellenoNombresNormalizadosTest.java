@@ -0,0 +1,91 @@
+package com.pruebatec.productos.config;
+
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.repository.ProductoRepository;
+import com.pruebatec.productos.util.NombreNormalizador;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RellenoNombresNormalizados Tests")
+class RellenoNombresNormalizadosTest {
+
+    private ProductoRepository productoRepository;
+    private RellenoNombresNormalizados relleno;
+
+    @BeforeEach
+    void setUp() {
+        productoRepository = mock(ProductoRepository.class);
+        relleno = new RellenoNombresNormalizados(productoRepository, mock(PlatformTransactionManager.class));
+        when(productoRepository.completarNombreNormalizado(anyLong(), anyString())).thenReturn(1);
+    }
+
+    private static ProductoResumenDto fila(long id, String nombre) {
+        return new ProductoResumenDto(id, nombre, BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Debería completar la misma clave que calcula la aplicación al insertar, también con acentos no españoles")
+    void deberiaCompletarLaMismaClaveQueAlInsertar() {
+        // Given - una fila creada por SQL con acentos franceses y un tabulador al final
+        when(productoRepository.findSinNombreNormalizado(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(fila(1L, "Crème brûlée\t"), fila(2L, "Façade Õ")));
+
+        // When
+        int completadas = relleno.rellenar();
+
+        // Then - la clave de la fila existente es la que calcula un insert nuevo de "Creme brulee"
+        assertEquals(2, completadas);
+        verify(productoRepository).completarNombreNormalizado(1L, NombreNormalizador.normalizar("Creme brulee"));
+        verify(productoRepository).completarNombreNormalizado(1L, "CREME BRULEE");
+        verify(productoRepository).completarNombreNormalizado(2L, "FACADE O");
+    }
+
+    @Test
+    @DisplayName("Debería seguir con las demás filas cuando una duplica el nombre de otro producto activo")
+    void deberiaSeguirConFilasDuplicadas() {
+        // Given
+        when(productoRepository.findSinNombreNormalizado(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(fila(1L, "Crème"), fila(2L, "Teclado")));
+        when(productoRepository.completarNombreNormalizado(1L, "CREME"))
+                .thenThrow(new DataIntegrityViolationException("ux_productos_nombre_activo"));
+
+        // When
+        int completadas = relleno.rellenar();
+
+        // Then
+        assertEquals(1, completadas);
+        verify(productoRepository).completarNombreNormalizado(2L, "TECLADO");
+    }
+
+    @Test
+    @DisplayName("Debería recorrer las filas pendientes por lotes sin repetir IDs")
+    void deberiaRecorrerPorLotes() {
+        // Given
+        List<ProductoResumenDto> lleno = LongStream.rangeClosed(1, RellenoNombresNormalizados.FILAS_POR_LOTE)
+                .mapToObj(id -> fila(id, "Producto " + id))
+                .toList();
+        when(productoRepository.findSinNombreNormalizado(eq(0L), any(Limit.class))).thenReturn(lleno);
+        when(productoRepository.findSinNombreNormalizado(eq((long) RellenoNombresNormalizados.FILAS_POR_LOTE), any(Limit.class)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        int completadas = relleno.rellenar();
+
+        // Then
+        assertEquals(RellenoNombresNormalizados.FILAS_POR_LOTE, completadas);
+        verify(productoRepository, times(2)).findSinNombreNormalizado(anyLong(), any(Limit.class));
+    }
+}
@@ -1,9 +1,22 @@
 package com.pruebatec.productos.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatec.productos.dto.CambioProductoDto;
+import com.pruebatec.productos.dto.CambiosProductosDto;
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoPaginaDto;
 import com.pruebatec.productos.dto.ProductoRequestDto;
 import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ProductosPorIdsDto;
+import com.pruebatec.productos.dto.ProductosPorPrecioDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.dto.ResultadoItemLoteDto;
+import com.pruebatec.productos.dto.ResultadoLoteDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
 import com.pruebatec.productos.exception.ProductoException;
+import com.pruebatec.productos.response.ETagBuilder;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
 import com.pruebatec.productos.service.ProductoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +27,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,6 +39,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -44,6 +63,7 @@ class ProductoControllerTest {
     private ProductoResponseDto producto1;
     private ProductoResponseDto producto2;
     private ProductoRequestDto productoRequestDto;
+    private VersionCatalogoDto versionCatalogo;
 
     @BeforeEach
     void setUp() {
@@ -70,6 +90,9 @@ class ProductoControllerTest {
         productoRequestDto.setNombre("Dell XPS 13");
         productoRequestDto.setPrecio(new BigDecimal("1299.00"));
         productoRequestDto.setDescripcion("Ultrabook premium con pantalla InfinityEdge");
+
+        versionCatalogo = new VersionCatalogoDto(2L, 2L, 2L, LocalDateTime.of(2025, 7, 27, 10, 30));
+        when(productoService.obtenerVersionCatalogo()).thenReturn(versionCatalogo);
     }
 
     @Nested
@@ -139,6 +162,578 @@ class ProductoControllerTest {
 
             verify(productoService).obtenerTodosLosProductos();
         }
+
+        @Test
+        @DisplayName("Debería escribir la instantánea serializada cuando corresponde a la versión actual")
+        void deberiaEscribirInstantaneaSerializada() throws Exception {
+            // Given
+            byte[] json = "{\"success\":true,\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+            when(productoService.obtenerCatalogoSerializado(versionCatalogo))
+                    .thenReturn(new InstantaneaCatalogo.Contenido(versionCatalogo, 0, json, new byte[]{1, 2, 3}));
+
+            // When & Then
+            mockMvc.perform(get("/productos"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", ETagBuilder.deCatalogo(versionCatalogo)))
+                    .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(content().bytes(json));
+
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+
+        @Test
+        @DisplayName("Debería escribir la instantánea comprimida cuando el cliente acepta gzip")
+        void deberiaEscribirInstantaneaComprimida() throws Exception {
+            // Given
+            byte[] gzip = {31, -117, 8, 0};
+            when(productoService.obtenerCatalogoSerializado(versionCatalogo))
+                    .thenReturn(new InstantaneaCatalogo.Contenido(versionCatalogo, 0, new byte[]{'{', '}'}, gzip));
+
+            // When & Then
+            mockMvc.perform(get("/productos").header("Accept-Encoding", "gzip, deflate, br"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(content().bytes(gzip));
+
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+
+        @Test
+        @DisplayName("Debería escribir la instantánea sin comprimir cuando el cliente rechaza gzip con q=0")
+        void deberiaRespetarGzipRechazado() throws Exception {
+            // Given
+            byte[] json = "{\"success\":true,\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+            when(productoService.obtenerCatalogoSerializado(versionCatalogo))
+                    .thenReturn(new InstantaneaCatalogo.Contenido(versionCatalogo, 0, json, new byte[]{31, -117, 8, 0}));
+
+            // When & Then
+            mockMvc.perform(get("/productos").header("Accept-Encoding", "br, gzip;q=0"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(content().bytes(json));
+        }
+
+        @Test
+        @DisplayName("Debería interpretar los tokens y valores q de Accept-Encoding")
+        void deberiaInterpretarAcceptEncoding() {
+            assertThat(ProductoController.aceptaGzip("gzip, deflate, br"), is(true));
+            assertThat(ProductoController.aceptaGzip("GZIP;q=0.5"), is(true));
+            assertThat(ProductoController.aceptaGzip("br, *"), is(true));
+            assertThat(ProductoController.aceptaGzip("gzip;q=0"), is(false));
+            assertThat(ProductoController.aceptaGzip("gzip; q=0.000"), is(false));
+            assertThat(ProductoController.aceptaGzip("*, gzip;q=0"), is(false));
+            assertThat(ProductoController.aceptaGzip("nogzip, x-gzipped"), is(false));
+            assertThat(ProductoController.aceptaGzip("gzip;q=abc"), is(false));
+            assertThat(ProductoController.aceptaGzip(null), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos?after=&limit= - Paginación por cursor")
+    class PaginacionPorCursorTests {
+
+        @Test
+        @DisplayName("Debería retornar página con el siguiente cursor en meta")
+        void deberiaRetornarPaginaConSiguienteCursor() throws Exception {
+            // Given
+            ProductoPaginaDto pagina = new ProductoPaginaDto(Arrays.asList(producto1, producto2), 2L, true, 2);
+            when(productoService.obtenerProductosPaginados(null, 2)).thenReturn(pagina);
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("limit", "2"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data", hasSize(2)))
+                    .andExpect(jsonPath("$.meta.count").value(2))
+                    .andExpect(jsonPath("$.meta.page_size").value(2))
+                    .andExpect(jsonPath("$.meta.additional.next_cursor").value(2))
+                    .andExpect(jsonPath("$.meta.additional.has_more").value(true));
+
+            verify(productoService).obtenerProductosPaginados(null, 2);
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+
+        @Test
+        @DisplayName("Debería retornar última página cuando se envía el cursor")
+        void deberiaRetornarUltimaPaginaConCursor() throws Exception {
+            // Given
+            ProductoPaginaDto pagina = new ProductoPaginaDto(Collections.singletonList(producto2), null, false, 50);
+            when(productoService.obtenerProductosPaginados(1L, null)).thenReturn(pagina);
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("after", "1"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data", hasSize(1)))
+                    .andExpect(jsonPath("$.data[0].id").value(2))
+                    .andExpect(jsonPath("$.meta.additional.has_more").value(false));
+
+            verify(productoService).obtenerProductosPaginados(1L, null);
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando el límite es inválido")
+        void deberiaRetornar400CuandoLimiteEsInvalido() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPaginados(null, 0))
+                    .thenThrow(ProductoException.validacion("limit", 0, "El límite debe estar entre 1 y 500"));
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("limit", "0"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos/changes - Feed de cambios")
+    class ObtenerCambiosTests {
+
+        @Test
+        @DisplayName("Debería retornar cambios y tombstones con la siguiente marca en meta")
+        void deberiaRetornarCambiosConSiguienteMarca() throws Exception {
+            // Given
+            LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30);
+            CambiosProductosDto cambios = new CambiosProductosDto(Arrays.asList(
+                    CambioProductoDto.actualizado(producto1),
+                    CambioProductoDto.desactivado(2L, fecha)), "abc-2", true, 2);
+            when(productoService.obtenerCambios("abc-1", 2)).thenReturn(cambios);
+
+            // When & Then
+            mockMvc.perform(get("/productos/changes").param("since", "abc-1").param("limit", "2"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data", hasSize(2)))
+                    .andExpect(jsonPath("$.data[0].tipo").value("ACTUALIZADO"))
+                    .andExpect(jsonPath("$.data[0].producto.nombre").value("iPhone 15 Pro"))
+                    .andExpect(jsonPath("$.data[1].tipo").value("DESACTIVADO"))
+                    .andExpect(jsonPath("$.data[1].id").value(2))
+                    .andExpect(jsonPath("$.data[1].producto").doesNotExist())
+                    .andExpect(jsonPath("$.meta.count").value(2))
+                    .andExpect(jsonPath("$.meta.page_size").value(2))
+                    .andExpect(jsonPath("$.meta.additional.next_since").value("abc-2"))
+                    .andExpect(jsonPath("$.meta.additional.has_more").value(true));
+
+            verify(productoService).obtenerCambios("abc-1", 2);
+        }
+
+        @Test
+        @DisplayName("Debería retornar lista vacía sin marca en la primera consulta sin cambios")
+        void deberiaRetornarListaVaciaSinCambios() throws Exception {
+            // Given
+            when(productoService.obtenerCambios(null, null))
+                    .thenReturn(new CambiosProductosDto(Collections.emptyList(), null, false, 50));
+
+            // When & Then
+            mockMvc.perform(get("/productos/changes"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data", hasSize(0)))
+                    .andExpect(jsonPath("$.meta.additional.has_more").value(false));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando la marca es inválida")
+        void deberiaRetornar400CuandoMarcaEsInvalida() throws Exception {
+            // Given
+            when(productoService.obtenerCambios("no-valida!", null))
+                    .thenThrow(ProductoException.validacion("since", "no-valida!", "La marca no es válida"));
+
+            // When & Then
+            mockMvc.perform(get("/productos/changes").param("since", "no-valida!"))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos/stream - Stream de cambios SSE")
+    class SuscribirCambiosTests {
+
+        @Test
+        @DisplayName("Debería abrir el stream y enviar los eventos del emisor")
+        void deberiaAbrirStreamYEnviarEventos() throws Exception {
+            // Given
+            SseEmitter emitter = new SseEmitter();
+            when(productoService.suscribirCambios(null)).thenReturn(emitter);
+
+            // When
+            MvcResult resultado = mockMvc.perform(get("/productos/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            emitter.send(SseEmitter.event().id("abc-1").name("producto").data("{\"tipo\":\"CREADO\"}"));
+            emitter.complete();
+
+            // Then
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Accel-Buffering", "no"))
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(content().string(containsString("id:abc-1\nevent:producto\ndata:{\"tipo\":\"CREADO\"}")));
+        }
+
+        @Test
+        @DisplayName("Debería pasar el Last-Event-ID al servicio para reanudar")
+        void deberiaPasarLastEventId() throws Exception {
+            // Given
+            when(productoService.suscribirCambios("abc-7")).thenReturn(new SseEmitter());
+
+            // When & Then
+            mockMvc.perform(get("/productos/stream").header("Last-Event-ID", "abc-7"))
+                    .andExpect(request().asyncStarted());
+
+            verify(productoService).suscribirCambios("abc-7");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos/export - Exportar catálogo NDJSON")
+    class ExportarProductosTests {
+
+        @Test
+        @DisplayName("Debería transmitir el catálogo como NDJSON")
+        void deberiaTransmitirCatalogoComoNdjson() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                OutputStream salida = invocation.getArgument(0);
+                salida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(productoService).exportarProductos(any(OutputStream.class));
+
+            // When
+            MvcResult resultado = mockMvc.perform(get("/productos/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+            verify(productoService).exportarProductos(any(OutputStream.class));
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET condicional - ETag / If-None-Match")
+    class GetCondicionalTests {
+
+        @Test
+        @DisplayName("Debería incluir ETag del catálogo en el listado")
+        void deberiaIncluirETagDelCatalogo() throws Exception {
+            // Given
+            when(productoService.obtenerTodosLosProductos()).thenReturn(Arrays.asList(producto1, producto2));
+
+            // When & Then
+            mockMvc.perform(get("/productos"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", ETagBuilder.deCatalogo(versionCatalogo)))
+                    .andExpect(header().string("Cache-Control", "no-cache"));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 304 sin leer el catálogo cuando el ETag coincide")
+        void deberiaRetornar304CuandoElETagDelCatalogoCoincide() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos")
+                    .header("If-None-Match", ETagBuilder.deCatalogo(versionCatalogo)))
+                    .andDo(print())
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(productoService).obtenerVersionCatalogo();
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+
+        @Test
+        @DisplayName("Debería retornar 200 cuando el catálogo cambió")
+        void deberiaRetornar200CuandoElCatalogoCambio() throws Exception {
+            // Given
+            String etagAnterior = ETagBuilder.deCatalogo(new VersionCatalogoDto(1L, 1L, 1L, LocalDateTime.of(2025, 7, 1, 0, 0)));
+            when(productoService.obtenerTodosLosProductos()).thenReturn(Arrays.asList(producto1, producto2));
+
+            // When & Then
+            mockMvc.perform(get("/productos").header("If-None-Match", etagAnterior))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 304 para una página del cursor sin cambios")
+        void deberiaRetornar304ParaPaginaSinCambios() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos").param("after", "0").param("limit", "10")
+                    .header("If-None-Match", ETagBuilder.deCatalogo(versionCatalogo, "a0l10")))
+                    .andExpect(status().isNotModified());
+
+            verify(productoService, never()).obtenerProductosPaginados(any(), any());
+        }
+
+        @Test
+        @DisplayName("Debería incluir ETag del producto y retornar 304 cuando coincide")
+        void deberiaRetornar304CuandoElETagDelProductoCoincide() throws Exception {
+            // Given
+            when(productoService.obtenerProductoPorId(1L)).thenReturn(producto1);
+            String etag = ETagBuilder.deProducto(producto1);
+
+            // When & Then
+            mockMvc.perform(get("/productos/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", etag));
+
+            mockMvc.perform(get("/productos/1").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos/search - Búsqueda de productos")
+    class BuscarProductosTests {
+
+        @Test
+        @DisplayName("Debería retornar resultados con metadatos de paginación")
+        void deberiaRetornarResultadosPaginados() throws Exception {
+            // Given
+            ResultadoBusquedaDto resultado = new ResultadoBusquedaDto(
+                    Collections.singletonList(new ProductoResumenDto(5L, "Audífonos Sony WH-1000XM4", new BigDecimal("1399000.00"))),
+                    11, 2, 10);
+            when(productoService.buscarProductos("audifonos", 2, 10)).thenReturn(resultado);
+
+            // When & Then
+            mockMvc.perform(get("/productos/search").param("q", "audifonos").param("page", "2").param("size", "10"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data", hasSize(1)))
+                    .andExpect(jsonPath("$.data[0].nombre").value("Audífonos Sony WH-1000XM4"))
+                    .andExpect(jsonPath("$.meta.total").value(11))
+                    .andExpect(jsonPath("$.meta.count").value(1))
+                    .andExpect(jsonPath("$.meta.page").value(2))
+                    .andExpect(jsonPath("$.meta.page_size").value(10));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando falta el texto a buscar")
+        void deberiaRetornar400CuandoFaltaElTexto() throws Exception {
+            // Given
+            when(productoService.buscarProductos(isNull(), isNull(), isNull()))
+                    .thenThrow(ProductoException.validacion("q", null, "El texto a buscar es obligatorio"));
+
+            // When & Then
+            mockMvc.perform(get("/productos/search"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos?precioMin=&precioMax=&sort= - Rango y orden por precio")
+    class ObtenerProductosPorPrecioTests {
+
+        @Test
+        @DisplayName("Debería retornar los productos del rango con el total de coincidencias")
+        void deberiaRetornarProductosDelRango() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPorPrecio(new BigDecimal("20"), new BigDecimal("2000"), "-precio", 1))
+                    .thenReturn(new ProductosPorPrecioDto(Collections.singletonList(producto1), 2));
+
+            // When & Then
+            mockMvc.perform(get("/productos")
+                    .param("precioMin", "20")
+                    .param("precioMax", "2000")
+                    .param("sort", "-precio")
+                    .param("limit", "1"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", ETagBuilder.deCatalogo(versionCatalogo, "p20-2000s-preciol1")))
+                    .andExpect(jsonPath("$.data", hasSize(1)))
+                    .andExpect(jsonPath("$.data[0].id").value(1))
+                    .andExpect(jsonPath("$.meta.total").value(2))
+                    .andExpect(jsonPath("$.meta.count").value(1));
+
+            verify(productoService, never()).obtenerTodosLosProductos();
+            verify(productoService, never()).obtenerProductosPaginados(any(), any());
+        }
+
+        @Test
+        @DisplayName("Debería retornar 304 cuando el rango no cambió")
+        void deberiaRetornar304CuandoNoCambio() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos")
+                    .param("sort", "precio")
+                    .header("If-None-Match", ETagBuilder.deCatalogo(versionCatalogo, "pnull-nullspreciolnull")))
+                    .andExpect(status().isNotModified());
+
+            verify(productoService, never()).obtenerProductosPorPrecio(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando se combina con el cursor")
+        void deberiaRetornar400ConCursor() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos").param("precioMin", "10").param("after", "5"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+
+            verify(productoService, never()).obtenerProductosPorPrecio(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando el servicio rechaza el rango")
+        void deberiaRetornar400CuandoElRangoNoEsValido() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPorPrecio(any(), any(), any(), any()))
+                    .thenThrow(ProductoException.validacion("precioMin", 100, 
+                            "El precio mínimo no puede ser mayor al precio máximo"));
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("precioMin", "100").param("precioMax", "10"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos?ids= - Consulta de varios productos")
+    class ObtenerProductosPorIdsTests {
+
+        @Test
+        @DisplayName("Debería retornar los productos encontrados y los IDs faltantes")
+        void deberiaRetornarEncontradosYFaltantes() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPorIds(Arrays.asList(2L, 1L, 999L)))
+                    .thenReturn(new ProductosPorIdsDto(Arrays.asList(producto2, producto1), Collections.singletonList(999L)));
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("ids", "2,1,999"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.productos", hasSize(2)))
+                    .andExpect(jsonPath("$.data.productos[0].id").value(2))
+                    .andExpect(jsonPath("$.data.productos[1].id").value(1))
+                    .andExpect(jsonPath("$.data.ids_no_encontrados[0]").value(999))
+                    .andExpect(jsonPath("$.meta.total").value(3))
+                    .andExpect(jsonPath("$.meta.count").value(2));
+
+            verify(productoService, never()).obtenerTodosLosProductos();
+            verify(productoService, never()).obtenerVersionCatalogo();
+        }
+
+        @Test
+        @DisplayName("Debería aceptar el parámetro ids repetido")
+        void deberiaAceptarParametroRepetido() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPorIds(Arrays.asList(1L, 2L)))
+                    .thenReturn(new ProductosPorIdsDto(Arrays.asList(producto1, producto2), Collections.emptyList()));
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("ids", "1").param("ids", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.productos", hasSize(2)))
+                    .andExpect(jsonPath("$.data.ids_no_encontrados", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando un ID no es numérico")
+        void deberiaRetornar400CuandoIdNoEsNumerico() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos").param("ids", "1,abc"))
+                    .andExpect(status().isBadRequest());
+
+            verify(productoService, never()).obtenerProductosPorIds(any());
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando el servicio rechaza la lista")
+        void deberiaRetornar400CuandoElServicioRechazaLaLista() throws Exception {
+            // Given
+            when(productoService.obtenerProductosPorIds(any()))
+                    .thenThrow(ProductoException.validacion("ids", 501, "No se pueden consultar más de 500 IDs por petición"));
+
+            // When & Then
+            mockMvc.perform(get("/productos").param("ids", "1,2"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /productos/resumen y /productos/{id}/descripcion - Proyecciones livianas")
+    class ProyeccionesTests {
+
+        @Test
+        @DisplayName("Debería retornar el resumen sin descripción")
+        void deberiaRetornarResumenSinDescripcion() throws Exception {
+            // Given
+            when(productoService.obtenerResumenProductos()).thenReturn(Arrays.asList(
+                    new ProductoResumenDto(1L, "iPhone 15 Pro", new BigDecimal("1299.99")),
+                    new ProductoResumenDto(2L, "MacBook Air M3", new BigDecimal("1899.99"))));
+
+            // When & Then
+            mockMvc.perform(get("/productos/resumen"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", ETagBuilder.deCatalogo(versionCatalogo, "resumen")))
+                    .andExpect(jsonPath("$.data", hasSize(2)))
+                    .andExpect(jsonPath("$.data[0].nombre").value("iPhone 15 Pro"))
+                    .andExpect(jsonPath("$.data[0].precio").value(1299.99))
+                    .andExpect(jsonPath("$.data[0].descripcion").doesNotExist())
+                    .andExpect(jsonPath("$.meta.total").value(2));
+
+            verify(productoService, never()).obtenerTodosLosProductos();
+        }
+
+        @Test
+        @DisplayName("Debería retornar 304 en el resumen cuando el ETag coincide")
+        void deberiaRetornar304EnResumen() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/productos/resumen")
+                    .header("If-None-Match", ETagBuilder.deCatalogo(versionCatalogo, "resumen")))
+                    .andExpect(status().isNotModified());
+
+            verify(productoService, never()).obtenerResumenProductos();
+        }
+
+        @Test
+        @DisplayName("Debería retornar la descripción de un producto")
+        void deberiaRetornarDescripcion() throws Exception {
+            // Given
+            when(productoService.obtenerDescripcionProducto(1L))
+                    .thenReturn(new ProductoDescripcionDto(1L, "El último iPhone con chip A17 Pro"));
+
+            // When & Then
+            mockMvc.perform(get("/productos/1/descripcion"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.id").value(1))
+                    .andExpect(jsonPath("$.data.descripcion").value("El último iPhone con chip A17 Pro"));
+
+            verify(productoService, never()).obtenerProductoPorId(anyLong());
+        }
+
+        @Test
+        @DisplayName("Debería retornar 404 cuando la descripción es de un producto inexistente")
+        void deberiaRetornar404EnDescripcionDeProductoInexistente() throws Exception {
+            // Given
+            when(productoService.obtenerDescripcionProducto(999L)).thenThrow(ProductoException.noEncontrado(999L));
+
+            // When & Then
+            mockMvc.perform(get("/productos/999/descripcion"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
     }
 
     @Nested
@@ -209,6 +804,72 @@ class ProductoControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /productos/batch - Crear productos en lote")
+    class CrearProductosEnLoteTests {
+
+        @Test
+        @DisplayName("Debería retornar 201 con el resultado de cada elemento")
+        void deberiaRetornar201ConResultadoPorElemento() throws Exception {
+            // Given
+            ResultadoLoteDto resultado = new ResultadoLoteDto(2, 1, 1, Arrays.asList(
+                    ResultadoItemLoteDto.creado(0, producto1),
+                    ResultadoItemLoteDto.duplicado(1, "Ya existe un producto con el nombre: MacBook Air M3")));
+            when(productoService.crearProductosEnLote(anyList())).thenReturn(resultado);
+
+            // When & Then
+            mockMvc.perform(post("/productos/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Arrays.asList(productoRequestDto, productoRequestDto))))
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("Lote procesado: 1 creados, 1 rechazados"))
+                    .andExpect(jsonPath("$.data.resultados", hasSize(2)))
+                    .andExpect(jsonPath("$.data.resultados[0].estado").value("CREADO"))
+                    .andExpect(jsonPath("$.data.resultados[0].producto.id").value(1))
+                    .andExpect(jsonPath("$.data.resultados[1].estado").value("DUPLICADO"))
+                    .andExpect(jsonPath("$.data.resultados[1].producto").doesNotExist())
+                    .andExpect(jsonPath("$.meta.total").value(2))
+                    .andExpect(jsonPath("$.meta.additional.created").value(1))
+                    .andExpect(jsonPath("$.meta.additional.rejected").value(1));
+
+            verify(productoService).crearProductosEnLote(argThat(lote -> lote.size() == 2));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 200 cuando todos los elementos fueron rechazados")
+        void deberiaRetornar200CuandoTodosFueronRechazados() throws Exception {
+            // Given
+            ResultadoLoteDto resultado = new ResultadoLoteDto(1, 0, 1, Collections.singletonList(
+                    ResultadoItemLoteDto.invalido(0, "El precio debe ser mayor a 0")));
+            when(productoService.crearProductosEnLote(anyList())).thenReturn(resultado);
+
+            // When & Then
+            mockMvc.perform(post("/productos/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{\"nombre\":\"Cable\",\"precio\":0}]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.resultados[0].estado").value("INVALIDO"))
+                    .andExpect(jsonPath("$.data.resultados[0].error").value("El precio debe ser mayor a 0"));
+        }
+
+        @Test
+        @DisplayName("Debería retornar 400 cuando el lote está vacío")
+        void deberiaRetornar400CuandoElLoteEstaVacio() throws Exception {
+            // Given
+            when(productoService.crearProductosEnLote(anyList()))
+                    .thenThrow(ProductoException.validacion("productos", null, "El lote debe contener al menos un producto"));
+
+            // When & Then
+            mockMvc.perform(post("/productos/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
     @Nested
     @DisplayName("POST /productos - Crear producto")
     class CrearProductoTests {
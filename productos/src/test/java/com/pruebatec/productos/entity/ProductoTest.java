@@ -302,6 +302,23 @@ class ProductoTest {
             assertEquals("N", nuevoProducto.getActivo());
         }
 
+        @Test
+        @DisplayName("Debería calcular el nombre normalizado en onCreate y onUpdate")
+        void deberiaCalcularNombreNormalizado() {
+            Producto nuevoProducto = new Producto();
+            nuevoProducto.setNombre("Audífonos Sony");
+            nuevoProducto.setPrecio(new BigDecimal("10.00"));
+            
+            // Simular @PrePersist
+            nuevoProducto.onCreate();
+            assertEquals("AUDIFONOS SONY", nuevoProducto.getNombreNormalizado());
+            
+            // Simular @PreUpdate tras renombrar
+            nuevoProducto.setNombre("Micrófono Blue Yeti");
+            nuevoProducto.onUpdate();
+            assertEquals("MICROFONO BLUE YETI", nuevoProducto.getNombreNormalizado());
+        }
+
         @Test
         @DisplayName("Debería ejecutar onUpdate correctamente")
         void deberiaEjecutarOnUpdateCorrectamente() {
@@ -0,0 +1,279 @@
+package com.pruebatec.productos.evento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DifusorEventosProductos Tests")
+class DifusorEventosProductosTest {
+
+    private DifusorEventosProductos difusor;
+
+    @BeforeEach
+    void setUp() {
+        difusor = new DifusorEventosProductos(new ObjectMapper().findAndRegisterModules()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE));
+        ReflectionTestUtils.setField(difusor, "tamanoBuffer", 5);
+        ReflectionTestUtils.setField(difusor, "tamanoCola", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        difusor.destroy();
+    }
+
+    /**
+     * Emisor que guarda como texto cada evento enviado; puede bloquearse para simular un cliente lento
+     */
+    private static class EmisorPrueba extends SseEmitter {
+
+        private final BlockingQueue<String> enviados = new LinkedBlockingQueue<>();
+        private final CountDownLatch liberar;
+
+        EmisorPrueba(boolean bloqueado) {
+            this.liberar = new CountDownLatch(bloqueado ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            enviados.add(builder.build().stream()
+                    .map(parte -> parte.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        /**
+         * Espera los siguientes eventos con datos (omite comentarios de conexión y heartbeat)
+         */
+        List<String> esperarEventos(int cantidad) throws InterruptedException {
+            List<String> eventos = new ArrayList<>();
+            while (eventos.size() < cantidad) {
+                String enviado = enviados.poll(5, TimeUnit.SECONDS);
+                assertThat(enviado).as("evento %d de %d", eventos.size() + 1, cantidad).isNotNull();
+                if (enviado.contains("data:")) {
+                    eventos.add(enviado);
+                }
+            }
+            return eventos;
+        }
+
+        void liberar() {
+            liberar.countDown();
+        }
+    }
+
+    private static ProductoEvento evento(long id) {
+        ProductoResponseDto producto = new ProductoResponseDto();
+        producto.setId(id);
+        producto.setNombre("Producto " + id);
+        producto.setPrecio(new BigDecimal("100.00"));
+        producto.setActivo("Y");
+        producto.setFechaActualizacion(LocalDateTime.of(2025, 7, 27, 10, 30));
+        return ProductoEvento.creado(producto);
+    }
+
+    private static String idDe(String evento) {
+        return evento.lines()
+                .filter(linea -> linea.startsWith("id:"))
+                .map(linea -> linea.substring(3))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Publicación Tests")
+    class PublicacionTests {
+
+        @Test
+        @DisplayName("Debería enviar los eventos publicados a todos los suscriptores en orden")
+        void deberiaEnviarEventosATodosLosSuscriptores() throws InterruptedException {
+            EmisorPrueba primero = new EmisorPrueba(false);
+            EmisorPrueba segundo = new EmisorPrueba(false);
+            difusor.suscribir(null, primero);
+            difusor.suscribir(null, segundo);
+
+            difusor.onProductoEvento(evento(1L));
+            difusor.onProductoEvento(evento(2L));
+
+            for (EmisorPrueba emisor : List.of(primero, segundo)) {
+                List<String> eventos = emisor.esperarEventos(2);
+                assertThat(eventos.get(0)).contains("event:producto").contains("\"tipo\":\"CREADO\"")
+                        .contains("\"id\":1").contains("\"fecha_actualizacion\"");
+                assertThat(eventos.get(1)).contains("\"id\":2");
+                assertThat(idDe(eventos.get(0))).endsWith("-1");
+                assertThat(idDe(eventos.get(1))).endsWith("-2");
+            }
+            assertThat(difusor.getSuscriptoresActivos()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("No debería enviar a un suscriptor los eventos anteriores a su conexión")
+        void noDeberiaEnviarEventosAnteriores() throws InterruptedException {
+            difusor.onProductoEvento(evento(1L));
+            EmisorPrueba emisor = new EmisorPrueba(false);
+            difusor.suscribir(null, emisor);
+
+            difusor.onProductoEvento(evento(2L));
+
+            assertThat(emisor.esperarEventos(1).get(0)).contains("\"id\":2");
+        }
+    }
+
+    @Nested
+    @DisplayName("Reanudación Tests")
+    class ReanudacionTests {
+
+        @Test
+        @DisplayName("Debería reenviar los eventos posteriores al Last-Event-ID")
+        void deberiaReenviarEventosPosteriores() throws InterruptedException {
+            EmisorPrueba original = new EmisorPrueba(false);
+            difusor.suscribir(null, original);
+            difusor.onProductoEvento(evento(1L));
+            String primerId = idDe(original.esperarEventos(1).get(0));
+            difusor.onProductoEvento(evento(2L));
+            difusor.onProductoEvento(evento(3L));
+
+            EmisorPrueba reconectado = new EmisorPrueba(false);
+            difusor.suscribir(primerId, reconectado);
+
+            List<String> eventos = reconectado.esperarEventos(2);
+            assertThat(eventos.get(0)).contains("\"id\":2");
+            assertThat(eventos.get(1)).contains("\"id\":3");
+        }
+
+        @Test
+        @DisplayName("Debería enviar resync cuando el Last-Event-ID ya salió del buffer")
+        void deberiaEnviarResyncCuandoIdSalioDelBuffer() throws InterruptedException {
+            EmisorPrueba original = new EmisorPrueba(false);
+            difusor.suscribir(null, original);
+            difusor.onProductoEvento(evento(1L));
+            String primerId = idDe(original.esperarEventos(1).get(0));
+            for (long id = 2; id <= 7; id++) {
+                difusor.onProductoEvento(evento(id)); // El buffer retiene 5 eventos
+            }
+
+            EmisorPrueba reconectado = new EmisorPrueba(false);
+            difusor.suscribir(primerId, reconectado);
+
+            String resync = reconectado.esperarEventos(1).get(0);
+            assertThat(resync).contains("event:resync");
+            assertThat(idDe(resync)).endsWith("-7");
+        }
+
+        @Test
+        @DisplayName("Debería enviar resync cuando el Last-Event-ID es de otra ejecución o inválido")
+        void deberiaEnviarResyncCuandoIdEsDesconocido() throws InterruptedException {
+            for (String id : List.of("abc-1", "sin-numero-x", "1")) {
+                EmisorPrueba emisor = new EmisorPrueba(false);
+                difusor.suscribir(id, emisor);
+
+                assertThat(emisor.esperarEventos(1).get(0)).as(id).contains("event:resync");
+            }
+        }
+
+        @Test
+        @DisplayName("No debería reenviar nada cuando el Last-Event-ID es el último evento")
+        void noDeberiaReenviarCuandoIdEsElUltimo() throws InterruptedException {
+            EmisorPrueba original = new EmisorPrueba(false);
+            difusor.suscribir(null, original);
+            difusor.onProductoEvento(evento(1L));
+            String ultimoId = idDe(original.esperarEventos(1).get(0));
+
+            EmisorPrueba reconectado = new EmisorPrueba(false);
+            difusor.suscribir(ultimoId, reconectado);
+            difusor.onProductoEvento(evento(2L));
+
+            assertThat(reconectado.esperarEventos(1).get(0)).contains("event:producto").contains("\"id\":2");
+        }
+    }
+
+    @Nested
+    @DisplayName("Contrapresión Tests")
+    class ContrapresionTests {
+
+        @Test
+        @DisplayName("Debería descartar los eventos de un cliente lento y enviarle resync sin afectar a los demás")
+        void deberiaEnviarResyncAClienteLento() throws InterruptedException {
+            EmisorPrueba lento = new EmisorPrueba(true);
+            EmisorPrueba rapido = new EmisorPrueba(false);
+            difusor.suscribir(null, lento);
+            difusor.suscribir(null, rapido);
+
+            // La cola de cada suscriptor admite 3 eventos; el cliente rápido consume cada uno antes del siguiente
+            for (long id = 1; id <= 10; id++) {
+                difusor.onProductoEvento(evento(id));
+                assertThat(rapido.esperarEventos(1).get(0)).contains("event:producto").contains("\"id\":" + id);
+            }
+
+            // Cada desborde reemplaza la cola por un resync; queda solo el del último evento publicado
+            lento.liberar();
+            String resync = lento.esperarEventos(1).get(0);
+            assertThat(resync).contains("event:resync");
+            assertThat(idDe(resync)).endsWith("-10");
+
+            difusor.onProductoEvento(evento(11L));
+            assertThat(lento.esperarEventos(1).get(0)).contains("event:producto").contains("\"id\":11");
+        }
+    }
+
+    @Nested
+    @DisplayName("Desconexión Tests")
+    class DesconexionTests {
+
+        @Test
+        @DisplayName("Debería quitar al suscriptor cuando el emisor se completa")
+        void deberiaQuitarSuscriptorAlCompletar() {
+            SseEmitter emitter = difusor.suscribir(null);
+            assertThat(difusor.getSuscriptoresActivos()).isEqualTo(1);
+
+            difusor.destroy();
+
+            assertThat(difusor.getSuscriptoresActivos()).isZero();
+            assertThatThrownBy(() -> emitter.send("x")).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Debería quitar al suscriptor cuando falla el envío")
+        void deberiaQuitarSuscriptorCuandoFallaElEnvio() throws InterruptedException {
+            SseEmitter roto = new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            };
+            difusor.suscribir(null, roto);
+
+            long limite = System.currentTimeMillis() + 5000;
+            while (difusor.getSuscriptoresActivos() > 0 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+
+            assertThat(difusor.getSuscriptoresActivos()).isZero();
+        }
+    }
+}
@@ -611,6 +611,61 @@ class ApiResponseBuilderTest {
             assertEquals(Integer.valueOf(999), meta1.getTotal());
             assertEquals(Integer.valueOf(200), meta2.getTotal());
         }
+
+        @Test
+        @DisplayName("Debería crear metadatos de paginación por cursor")
+        void deberiaCrearMetadatosDePaginacionPorCursor() {
+            // Act
+            ApiResponse.Meta meta = ApiResponseBuilder.createCursorMeta(50, 50, 120L, true);
+            
+            // Assert
+            assertNotNull(meta);
+            assertNull(meta.getTotal()); // keyset no calcula el total
+            assertEquals(Integer.valueOf(50), meta.getCount());
+            assertEquals(Integer.valueOf(50), meta.getPageSize());
+            assertEquals(120L, meta.getAdditional().get("next_cursor"));
+            assertEquals(true, meta.getAdditional().get("has_more"));
+        }
+
+        @Test
+        @DisplayName("Debería crear metadatos de última página sin cursor")
+        void deberiaCrearMetadatosDeUltimaPaginaSinCursor() {
+            // Act
+            ApiResponse.Meta meta = ApiResponseBuilder.createCursorMeta(3, 50, null, false);
+            
+            // Assert
+            assertEquals(Integer.valueOf(3), meta.getCount());
+            assertTrue(meta.getAdditional().containsKey("next_cursor"));
+            assertNull(meta.getAdditional().get("next_cursor"));
+            assertEquals(false, meta.getAdditional().get("has_more"));
+        }
+
+        @Test
+        @DisplayName("Debería crear metadatos del feed de cambios")
+        void deberiaCrearMetadatosDelFeedDeCambios() {
+            // Act
+            ApiResponse.Meta meta = ApiResponseBuilder.createCambiosMeta(2, 50, "hna93dnonm-i", false);
+            
+            // Assert
+            assertNull(meta.getTotal());
+            assertEquals(Integer.valueOf(2), meta.getCount());
+            assertEquals(Integer.valueOf(50), meta.getPageSize());
+            assertEquals("hna93dnonm-i", meta.getAdditional().get("next_since"));
+            assertEquals(false, meta.getAdditional().get("has_more"));
+        }
+
+        @Test
+        @DisplayName("Debería crear metadatos de operación masiva")
+        void deberiaCrearMetadatosDeOperacionMasiva() {
+            // Act
+            ApiResponse.Meta meta = ApiResponseBuilder.createBatchMeta(10, 7, 3);
+            
+            // Assert
+            assertEquals(Integer.valueOf(10), meta.getTotal());
+            assertEquals(Integer.valueOf(7), meta.getCount());
+            assertEquals(7, meta.getAdditional().get("created"));
+            assertEquals(3, meta.getAdditional().get("rejected"));
+        }
     }
 
     @Nested
@@ -0,0 +1,107 @@
+package com.pruebatec.productos.response;
+
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ETagBuilder Tests")
+class ETagBuilderTest {
+
+    private ProductoResponseDto crearProducto(Long id, LocalDateTime fechaActualizacion) {
+        ProductoResponseDto producto = new ProductoResponseDto();
+        producto.setId(id);
+        producto.setFechaActualizacion(fechaActualizacion);
+        return producto;
+    }
+
+    @Nested
+    @DisplayName("ETag de Producto Tests")
+    class ETagDeProductoTests {
+
+        @Test
+        @DisplayName("Debería generar un ETag débil entre comillas para que la respuesta pueda comprimirse")
+        void deberiaGenerarETagDebil() {
+            String etag = ETagBuilder.deProducto(crearProducto(1L, LocalDateTime.of(2025, 7, 27, 10, 30)));
+
+            assertTrue(etag.startsWith("W/\""));
+            assertTrue(etag.endsWith("\""));
+        }
+
+        @Test
+        @DisplayName("Debería ser estable para el mismo producto sin cambios")
+        void deberiaSerEstableSinCambios() {
+            LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30, 0, 123_456_000);
+
+            assertEquals(ETagBuilder.deProducto(crearProducto(1L, fecha)),
+                         ETagBuilder.deProducto(crearProducto(1L, fecha)));
+        }
+
+        @Test
+        @DisplayName("Debería cambiar cuando cambia la fecha de actualización")
+        void deberiaCambiarCuandoCambiaLaFecha() {
+            LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30);
+
+            assertNotEquals(ETagBuilder.deProducto(crearProducto(1L, fecha)),
+                            ETagBuilder.deProducto(crearProducto(1L, fecha.plusNanos(1_000))));
+        }
+
+        @Test
+        @DisplayName("Debería ser diferente para productos distintos")
+        void deberiaSerDiferenteParaProductosDistintos() {
+            LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30);
+
+            assertNotEquals(ETagBuilder.deProducto(crearProducto(1L, fecha)),
+                            ETagBuilder.deProducto(crearProducto(2L, fecha)));
+        }
+
+        @Test
+        @DisplayName("Debería manejar fecha de actualización nula")
+        void deberiaManejarFechaNula() {
+            assertEquals("W/\"p1-0\"", ETagBuilder.deProducto(crearProducto(1L, null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("ETag de Catálogo Tests")
+    class ETagDeCatalogoTests {
+
+        private final LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30);
+
+        @Test
+        @DisplayName("Debería ser estable para la misma versión del catálogo")
+        void deberiaSerEstableParaLaMismaVersion() {
+            assertEquals(ETagBuilder.deCatalogo(new VersionCatalogoDto(18L, 18L, 18L, fecha)),
+                         ETagBuilder.deCatalogo(new VersionCatalogoDto(18L, 18L, 18L, fecha)));
+        }
+
+        @Test
+        @DisplayName("Debería cambiar cuando se desactiva un producto")
+        void deberiaCambiarCuandoSeDesactivaUnProducto() {
+            String antes = ETagBuilder.deCatalogo(new VersionCatalogoDto(18L, 18L, 18L, fecha));
+            String despues = ETagBuilder.deCatalogo(new VersionCatalogoDto(18L, 17L, 18L, fecha.plusSeconds(1)));
+
+            assertNotEquals(antes, despues);
+        }
+
+        @Test
+        @DisplayName("Debería distinguir variantes sobre la misma versión")
+        void deberiaDistinguirVariantes() {
+            VersionCatalogoDto version = new VersionCatalogoDto(18L, 18L, 18L, fecha);
+
+            assertNotEquals(ETagBuilder.deCatalogo(version), ETagBuilder.deCatalogo(version, "a0l10"));
+            assertNotEquals(ETagBuilder.deCatalogo(version, "a0l10"), ETagBuilder.deCatalogo(version, "a10l10"));
+        }
+
+        @Test
+        @DisplayName("Debería manejar catálogo vacío")
+        void deberiaManejarCatalogoVacio() {
+            assertEquals("W/\"c0-0-0-0\"", ETagBuilder.deCatalogo(new VersionCatalogoDto(0L, null, null, null)));
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.pruebatec.productos.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.ProductoEvento;
+import com.pruebatec.productos.repository.ProductoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InstantaneaCatalogo Tests")
+class InstantaneaCatalogoTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    @InjectMocks
+    private InstantaneaCatalogo instantanea;
+
+    private final VersionCatalogoDto version = new VersionCatalogoDto(2L, 2L, 2L, LocalDateTime.of(2025, 7, 27, 10, 30));
+
+    private Producto crearProducto(Long id, String nombre) {
+        return new Producto(id, nombre, new BigDecimal("100.00"), "Descripción " + id,
+                LocalDateTime.now(), LocalDateTime.now(), "Y");
+    }
+
+    private void simularCatalogo() {
+        when(productoRepository.obtenerVersionCatalogo()).thenReturn(version);
+        when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(
+                crearProducto(1L, "iPhone 15 Pro"), crearProducto(2L, "MacBook Air M3")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        instantanea.destroy();
+    }
+
+    @Nested
+    @DisplayName("Construcción Tests")
+    class ConstruccionTests {
+
+        @Test
+        @DisplayName("Debería serializar la respuesta completa del catálogo")
+        void deberiaSerializarRespuestaCompleta() throws IOException {
+            simularCatalogo();
+
+            instantanea.reconstruir();
+
+            InstantaneaCatalogo.Contenido contenido = instantanea.vigente(version);
+            assertThat(contenido).isNotNull();
+            assertThat(contenido.total()).isEqualTo(2);
+
+            JsonNode json = objectMapper.readTree(contenido.json());
+            assertThat(json.get("success").asBoolean()).isTrue();
+            assertThat(json.get("message").asText()).isEqualTo("Productos obtenidos exitosamente");
+            assertThat(json.get("data")).hasSize(2);
+            assertThat(json.get("data").get(1).get("nombre").asText()).isEqualTo("MacBook Air M3");
+            assertThat(json.get("meta").get("total").asInt()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debería comprimir el mismo cuerpo con gzip")
+        void deberiaComprimirConGzip() throws IOException {
+            simularCatalogo();
+
+            instantanea.reconstruir();
+
+            InstantaneaCatalogo.Contenido contenido = instantanea.vigente(version);
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(contenido.gzip()))) {
+                assertThat(gzip.readAllBytes()).isEqualTo(contenido.json());
+            }
+        }
+
+        @Test
+        @DisplayName("Debería descartar la instantánea si el catálogo cambia mientras se lee")
+        void deberiaDescartarSiCambiaLaVersion() {
+            VersionCatalogoDto nueva = new VersionCatalogoDto(3L, 3L, 3L, LocalDateTime.of(2025, 7, 27, 10, 31));
+            when(productoRepository.obtenerVersionCatalogo()).thenReturn(version, nueva);
+            when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(crearProducto(1L, "iPhone 15 Pro")));
+
+            instantanea.reconstruir();
+
+            assertThat(instantanea.vigente(version)).isNull();
+            assertThat(instantanea.vigente(nueva)).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería conservar la instantánea anterior si la reconstrucción falla")
+        void deberiaConservarInstantaneaSiFalla() {
+            simularCatalogo();
+            instantanea.reconstruir();
+
+            when(productoRepository.streamByActivoOrderById("Y")).thenThrow(new RuntimeException("Conexión perdida"));
+            instantanea.reconstruir();
+
+            assertThat(instantanea.vigente(version)).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Vigencia Tests")
+    class VigenciaTests {
+
+        @Test
+        @DisplayName("Debería retornar null antes de la primera construcción")
+        void deberiaRetornarNullSinConstruir() {
+            assertThat(instantanea.vigente(version)).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería retornar null para otra versión del catálogo")
+        void deberiaRetornarNullParaOtraVersion() {
+            simularCatalogo();
+            instantanea.reconstruir();
+
+            VersionCatalogoDto otra = new VersionCatalogoDto(3L, 3L, 3L, LocalDateTime.of(2025, 7, 27, 10, 31));
+
+            assertThat(instantanea.vigente(otra)).isNull();
+            // La consulta con otra versión programa una reconstrucción en segundo plano
+            verify(productoRepository, timeout(2000).times(2)).streamByActivoOrderById("Y");
+        }
+    }
+
+    @Nested
+    @DisplayName("Versión Tests")
+    class VersionTests {
+
+        private final VersionCatalogoDto nueva = new VersionCatalogoDto(3L, 3L, 3L, LocalDateTime.of(2025, 7, 27, 10, 31));
+
+        @Test
+        @DisplayName("Debería reutilizar la versión leída dentro del plazo")
+        void deberiaReutilizarLaVersionDentroDelPlazo() {
+            when(productoRepository.obtenerVersionCatalogo()).thenReturn(version, nueva);
+
+            assertThat(instantanea.version()).isEqualTo(version);
+            assertThat(instantanea.version()).isEqualTo(version);
+
+            verify(productoRepository, times(1)).obtenerVersionCatalogo();
+        }
+
+        @Test
+        @DisplayName("Debería volver a leer la versión al vencer el plazo para ver cambios externos")
+        void deberiaReleerLaVersionAlVencerElPlazo() {
+            ReflectionTestUtils.setField(instantanea, "versionTtlMs", 0L);
+            when(productoRepository.obtenerVersionCatalogo()).thenReturn(version, nueva);
+
+            assertThat(instantanea.version()).isEqualTo(version);
+            assertThat(instantanea.version()).isEqualTo(nueva);
+        }
+
+        @Test
+        @DisplayName("Debería vencer la versión con cada cambio confirmado en esta instancia")
+        void deberiaVencerLaVersionConCadaCambio() {
+            when(productoRepository.obtenerVersionCatalogo()).thenReturn(version, nueva);
+            instantanea.version();
+
+            instantanea.onProductoEvento(ProductoEvento.creado(new ProductoResponseDto(crearProducto(3L, "AirPods"))));
+
+            assertThat(instantanea.version()).isEqualTo(nueva);
+        }
+
+        @Test
+        @DisplayName("Debería leer la versión en una transacción propia de la base principal")
+        void deberiaLeerLaVersionEnLaPrincipal() {
+            when(productoRepository.obtenerVersionCatalogo()).thenReturn(version);
+
+            instantanea.version();
+
+            verify(transactionManager).getTransaction(argThat(definicion -> !definicion.isReadOnly()
+                    && definicion.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.pruebatec.productos.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatec.productos.busqueda.IndiceBusquedaProductos;
+import com.pruebatec.productos.busqueda.IndicePreciosProductos;
+import com.pruebatec.productos.config.CacheConfig;
+import com.pruebatec.productos.dto.ProductoRequestDto;
+import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.exception.ProductoException;
+import com.pruebatec.productos.repository.ProductoRepository;
+import com.pruebatec.productos.evento.DifusorEventosProductos;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
+import com.pruebatec.productos.service.ProductoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica el comportamiento de la cache de productos sobre el servicio real
+ * (proxies de @Cacheable / @CacheEvict), con el repositorio simulado
+ */
+@SpringJUnitConfig({CacheConfig.class, ProductoServiceImpl.class})
+@DisplayName("ProductoServiceImpl Cache Tests")
+class ProductoServiceCacheTest {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ProductoRepository productoRepository;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private IndiceBusquedaProductos indiceBusqueda;
+
+    @MockBean
+    private IndicePreciosProductos indicePrecios;
+
+    @MockBean
+    private InstantaneaCatalogo instantaneaCatalogo;
+
+    @MockBean
+    private DifusorEventosProductos difusorEventos;
+
+    private Producto producto;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS).clear();
+
+        producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Laptop Gaming");
+        producto.setPrecio(new BigDecimal("1500.00"));
+        producto.setActivo("Y");
+        producto.setFechaCreacion(LocalDateTime.now());
+        producto.setFechaActualizacion(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Debería consultar la base de datos solo una vez para el mismo ID")
+    void deberiaConsultarBaseDeDatosSoloUnaVez() {
+        when(productoRepository.findByIdAndActivo(1L, "Y")).thenReturn(Optional.of(producto));
+
+        ProductoResponseDto primera = productoService.obtenerProductoPorId(1L);
+        ProductoResponseDto segunda = productoService.obtenerProductoPorId(1L);
+
+        assertThat(primera.getNombre()).isEqualTo("Laptop Gaming");
+        assertThat(segunda).isEqualTo(primera);
+        verify(productoRepository, times(1)).findByIdAndActivo(1L, "Y");
+    }
+
+    @Test
+    @DisplayName("Debería no guardar en cache los productos no encontrados")
+    void deberiaNoGuardarEnCacheLosNoEncontrados() {
+        when(productoRepository.findByIdAndActivo(999L, "Y")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productoService.obtenerProductoPorId(999L)).isInstanceOf(ProductoException.class);
+        assertThatThrownBy(() -> productoService.obtenerProductoPorId(999L)).isInstanceOf(ProductoException.class);
+
+        verify(productoRepository, times(2)).findByIdAndActivo(999L, "Y");
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada del producto al crearlo")
+    void deberiaInvalidarEntradaAlCrear() {
+        cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS).put(1L, new ProductoResponseDto(producto));
+        when(productoRepository.saveAndFlush(any(Producto.class))).thenReturn(producto);
+
+        ProductoRequestDto request = new ProductoRequestDto();
+        request.setNombre("Laptop Gaming");
+        request.setPrecio(new BigDecimal("1500.00"));
+        productoService.crearProducto(request);
+
+        assertThat(cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS).get(1L)).isNull();
+    }
+}
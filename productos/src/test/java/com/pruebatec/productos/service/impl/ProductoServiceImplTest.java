@@ -1,25 +1,62 @@
 package com.pruebatec.productos.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatec.productos.busqueda.IndiceBusquedaProductos;
+import com.pruebatec.productos.busqueda.IndicePreciosProductos;
+import com.pruebatec.productos.dto.CambioProductoDto;
+import com.pruebatec.productos.dto.CambiosProductosDto;
+import com.pruebatec.productos.dto.ProductoDescripcionDto;
+import com.pruebatec.productos.dto.ProductoPaginaDto;
 import com.pruebatec.productos.dto.ProductoRequestDto;
 import com.pruebatec.productos.dto.ProductoResponseDto;
+import com.pruebatec.productos.dto.ProductoResumenDto;
+import com.pruebatec.productos.dto.ProductosPorIdsDto;
+import com.pruebatec.productos.dto.ProductosPorPrecioDto;
+import com.pruebatec.productos.dto.ResultadoBusquedaDto;
+import com.pruebatec.productos.dto.ResultadoItemLoteDto;
+import com.pruebatec.productos.dto.ResultadoLoteDto;
+import com.pruebatec.productos.dto.VersionCatalogoDto;
 import com.pruebatec.productos.entity.Producto;
+import com.pruebatec.productos.evento.DifusorEventosProductos;
+import com.pruebatec.productos.evento.ProductoEvento;
 import com.pruebatec.productos.exception.ProductoException;
 import com.pruebatec.productos.repository.ProductoRepository;
+import com.pruebatec.productos.response.InstantaneaCatalogo;
+import com.pruebatec.productos.util.MarcaCambios;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,6 +69,27 @@ class ProductoServiceImplTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IndiceBusquedaProductos indiceBusqueda;
+
+    @Mock
+    private IndicePreciosProductos indicePrecios;
+
+    @Mock
+    private InstantaneaCatalogo instantaneaCatalogo;
+
+    @Mock
+    private DifusorEventosProductos difusorEventos;
+
     @InjectMocks
     private ProductoServiceImpl productoService;
 
@@ -66,6 +124,15 @@ class ProductoServiceImplTest {
         productoRequestDto.setDescripcion("Teclado mecánico RGB");
     }
 
+    /**
+     * Violación del índice único de nombres activos, como la traduce Spring desde Hibernate
+     */
+    private DataIntegrityViolationException violacionNombreActivo() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicado", new SQLException("ORA-00001"), 
+                        "JASD.UX_PRODUCTOS_NOMBRE_ACTIVO"));
+    }
+
     @Nested
     @DisplayName("Obtener Todos Los Productos")
     class ObtenerTodosLosProductosTests {
@@ -106,6 +173,664 @@ class ProductoServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Obtener Productos Paginados")
+    class ObtenerProductosPaginadosTests {
+
+        @Test
+        @DisplayName("Debería retornar primera página con cursor cuando hay más productos")
+        void deberiaRetornarPrimeraPaginaConCursorCuandoHayMas() {
+            // Given - se piden 1 + 1 registros para detectar la página siguiente
+            when(productoRepository.findByActivoAndIdGreaterThanOrderById("Y", 0L, Limit.of(2)))
+                    .thenReturn(Arrays.asList(producto1, producto2));
+
+            // When
+            ProductoPaginaDto pagina = productoService.obtenerProductosPaginados(null, 1);
+
+            // Then
+            assertThat(pagina.getProductos()).hasSize(1);
+            assertThat(pagina.getProductos().get(0).getId()).isEqualTo(1L);
+            assertThat(pagina.isHayMas()).isTrue();
+            assertThat(pagina.getSiguienteCursor()).isEqualTo(1L);
+            assertThat(pagina.getLimite()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debería retornar última página sin cursor")
+        void deberiaRetornarUltimaPaginaSinCursor() {
+            // Given
+            when(productoRepository.findByActivoAndIdGreaterThanOrderById("Y", 1L, Limit.of(11)))
+                    .thenReturn(Collections.singletonList(producto2));
+
+            // When
+            ProductoPaginaDto pagina = productoService.obtenerProductosPaginados(1L, 10);
+
+            // Then
+            assertThat(pagina.getProductos()).hasSize(1);
+            assertThat(pagina.getProductos().get(0).getId()).isEqualTo(2L);
+            assertThat(pagina.isHayMas()).isFalse();
+            assertThat(pagina.getSiguienteCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería usar el límite por defecto cuando no se envía")
+        void deberiaUsarLimitePorDefecto() {
+            // Given
+            when(productoRepository.findByActivoAndIdGreaterThanOrderById(eq("Y"), eq(0L), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            ProductoPaginaDto pagina = productoService.obtenerProductosPaginados(null, null);
+
+            // Then
+            assertThat(pagina.getProductos()).isEmpty();
+            assertThat(pagina.getLimite()).isEqualTo(ProductoServiceImpl.LIMITE_POR_DEFECTO);
+            verify(productoRepository).findByActivoAndIdGreaterThanOrderById(
+                    "Y", 0L, Limit.of(ProductoServiceImpl.LIMITE_POR_DEFECTO + 1));
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el límite está fuera de rango")
+        void deberiaLanzarExcepcionCuandoLimiteFueraDeRango() {
+            assertThatThrownBy(() -> productoService.obtenerProductosPaginados(null, 0))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("límite");
+            
+            assertThatThrownBy(() -> productoService.obtenerProductosPaginados(null, ProductoServiceImpl.LIMITE_MAXIMO + 1))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("límite");
+            
+            verifyNoInteractions(productoRepository);
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el cursor es negativo")
+        void deberiaLanzarExcepcionCuandoCursorEsNegativo() {
+            assertThatThrownBy(() -> productoService.obtenerProductosPaginados(-1L, 10))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("cursor");
+            
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Exportar Productos NDJSON")
+    class ExportarProductosTests {
+
+        @Test
+        @DisplayName("Debería escribir un producto JSON por línea")
+        void deberiaEscribirUnProductoPorLinea() throws Exception {
+            // Given
+            when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(producto1, producto2));
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+            // When
+            long exportados = productoService.exportarProductos(salida);
+
+            // Then
+            String contenido = salida.toString(StandardCharsets.UTF_8);
+            String[] lineas = contenido.split("\n");
+            
+            assertThat(exportados).isEqualTo(2);
+            assertThat(contenido).endsWith("\n");
+            assertThat(lineas).hasSize(2);
+            
+            JsonNode primera = objectMapper.readTree(lineas[0]);
+            JsonNode segunda = objectMapper.readTree(lineas[1]);
+            assertThat(primera.get("id").asLong()).isEqualTo(1L);
+            assertThat(primera.get("nombre").asText()).isEqualTo("Laptop Gaming");
+            assertThat(segunda.get("id").asLong()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Debería liberar cada entidad del contexto de persistencia")
+        void deberiaLiberarCadaEntidad() throws Exception {
+            // Given
+            when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.of(producto1, producto2));
+
+            // When
+            productoService.exportarProductos(new ByteArrayOutputStream());
+
+            // Then
+            verify(entityManager).detach(producto1);
+            verify(entityManager).detach(producto2);
+        }
+
+        @Test
+        @DisplayName("Debería no escribir nada cuando no hay productos")
+        void deberiaNoEscribirNadaCuandoNoHayProductos() throws Exception {
+            // Given
+            when(productoRepository.streamByActivoOrderById("Y")).thenReturn(Stream.empty());
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+            // When
+            long exportados = productoService.exportarProductos(salida);
+
+            // Then
+            assertThat(exportados).isZero();
+            assertThat(salida.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Obtener Versión del Catálogo")
+    class ObtenerVersionCatalogoTests {
+
+        @Test
+        @DisplayName("Debería retornar la versión cacheada por la instantánea del catálogo")
+        void deberiaRetornarVersionEnMemoria() {
+            // Given
+            VersionCatalogoDto version = new VersionCatalogoDto(2L, 2L, 2L, LocalDateTime.now());
+            when(instantaneaCatalogo.version()).thenReturn(version);
+
+            // When
+            VersionCatalogoDto resultado = productoService.obtenerVersionCatalogo();
+
+            // Then
+            assertThat(resultado).isEqualTo(version);
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Obtener Cambios")
+    class ObtenerCambiosTests {
+
+        private final LocalDateTime ahoraBaseDatos = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        @BeforeEach
+        void setUp() {
+            lenient().when(productoRepository.obtenerFechaBaseDatos()).thenReturn(ahoraBaseDatos);
+        }
+
+        @Test
+        @DisplayName("Debería recorrer desde el principio cuando no se envía marca")
+        void deberiaRecorrerDesdeElPrincipioSinMarca() {
+            // Given
+            when(productoRepository.findCambiosDesde(eq(MarcaCambios.INICIAL.fecha()), eq(0L), 
+                    any(LocalDateTime.class), eq(Limit.of(ProductoServiceImpl.LIMITE_POR_DEFECTO + 1))))
+                    .thenReturn(Arrays.asList(producto1, producto2));
+
+            // When
+            CambiosProductosDto resultado = productoService.obtenerCambios(null, null);
+
+            // Then
+            assertThat(resultado.getCambios()).extracting(CambioProductoDto::getId).containsExactly(1L, 2L);
+            assertThat(resultado.getCambios()).extracting(CambioProductoDto::getTipo)
+                    .containsOnly(CambioProductoDto.TIPO_ACTUALIZADO);
+            assertThat(resultado.getCambios().get(0).getProducto().getNombre()).isEqualTo("Laptop Gaming");
+            assertThat(resultado.isHayMas()).isFalse();
+            assertThat(resultado.getSiguienteMarca())
+                    .isEqualTo(new MarcaCambios(producto2.getFechaActualizacion(), 2L).codificar());
+        }
+
+        @Test
+        @DisplayName("Debería continuar después de la marca recibida")
+        void deberiaContinuarDespuesDeLaMarca() {
+            // Given
+            LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30, 0, 123_456_000);
+            String since = new MarcaCambios(fecha, 1L).codificar();
+            when(productoRepository.findCambiosDesde(eq(fecha), eq(1L), any(LocalDateTime.class), eq(Limit.of(11))))
+                    .thenReturn(Collections.singletonList(producto2));
+
+            // When
+            CambiosProductosDto resultado = productoService.obtenerCambios(since, 10);
+
+            // Then
+            assertThat(resultado.getCambios()).extracting(CambioProductoDto::getId).containsExactly(2L);
+            assertThat(resultado.getLimite()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Debería retornar los productos desactivados como tombstones")
+        void deberiaRetornarTombstones() {
+            // Given
+            producto2.setActivo("N");
+            when(productoRepository.findCambiosDesde(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(Arrays.asList(producto1, producto2));
+
+            // When
+            CambiosProductosDto resultado = productoService.obtenerCambios(null, 10);
+
+            // Then
+            CambioProductoDto tombstone = resultado.getCambios().get(1);
+            assertThat(tombstone.getTipo()).isEqualTo(CambioProductoDto.TIPO_DESACTIVADO);
+            assertThat(tombstone.getId()).isEqualTo(2L);
+            assertThat(tombstone.getFechaActualizacion()).isEqualTo(producto2.getFechaActualizacion());
+            assertThat(tombstone.getProducto()).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería indicar que hay más cambios y usar el último entregado como marca")
+        void deberiaIndicarQueHayMas() {
+            // Given - se piden 1 + 1 registros para detectar si hay más
+            when(productoRepository.findCambiosDesde(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), eq(Limit.of(2))))
+                    .thenReturn(Arrays.asList(producto1, producto2));
+
+            // When
+            CambiosProductosDto resultado = productoService.obtenerCambios(null, 1);
+
+            // Then
+            assertThat(resultado.getCambios()).hasSize(1);
+            assertThat(resultado.isHayMas()).isTrue();
+            assertThat(resultado.getSiguienteMarca())
+                    .isEqualTo(new MarcaCambios(producto1.getFechaActualizacion(), 1L).codificar());
+        }
+
+        @Test
+        @DisplayName("Debería conservar la marca cuando no hay cambios nuevos")
+        void deberiaConservarMarcaSinCambios() {
+            // Given
+            String since = new MarcaCambios(LocalDateTime.of(2025, 7, 27, 10, 30), 5L).codificar();
+            when(productoRepository.findCambiosDesde(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+
+            // When & Then
+            assertThat(productoService.obtenerCambios(since, 10).getSiguienteMarca()).isEqualTo(since);
+            assertThat(productoService.obtenerCambios(null, 10).getSiguienteMarca()).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería excluir los cambios más recientes que el retraso de seguridad según el reloj de la base de datos")
+        void deberiaAplicarRetrasoDeSeguridad() {
+            // Given
+            when(productoRepository.findCambiosDesde(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            productoService.obtenerCambios(null, 10);
+
+            // Then
+            verify(productoRepository).findCambiosDesde(any(LocalDateTime.class), anyLong(), 
+                    eq(ahoraBaseDatos.minusNanos(ProductoServiceImpl.RETRASO_CAMBIOS_MS * 1_000_000)), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Debería usar el retraso configurado")
+        void deberiaUsarElRetrasoConfigurado() {
+            // Given
+            ReflectionTestUtils.setField(productoService, "retrasoCambiosMs", 120_000L);
+            when(productoRepository.findCambiosDesde(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            productoService.obtenerCambios(null, 10);
+
+            // Then
+            verify(productoRepository).findCambiosDesde(any(LocalDateTime.class), anyLong(), 
+                    eq(ahoraBaseDatos.minusMinutes(2)), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Debería leer el feed en una transacción de escritura para no usar una réplica")
+        void deberiaLeerDelPrimario() throws NoSuchMethodException {
+            Transactional transaccion = ProductoServiceImpl.class
+                    .getMethod("obtenerCambios", String.class, Integer.class)
+                    .getAnnotation(Transactional.class);
+
+            assertThat(transaccion).isNotNull();
+            assertThat(transaccion.readOnly()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando la marca o el límite no son válidos")
+        void deberiaValidarMarcaYLimite() {
+            assertThatThrownBy(() -> productoService.obtenerCambios("no-es-una-marca!", 10))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("marca");
+            
+            assertThatThrownBy(() -> productoService.obtenerCambios(null, ProductoServiceImpl.LIMITE_MAXIMO + 1))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("límite");
+            
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Obtener Catálogo Serializado")
+    class ObtenerCatalogoSerializadoTests {
+
+        @Test
+        @DisplayName("Debería retornar la instantánea vigente sin consultar el repositorio")
+        void deberiaRetornarInstantaneaVigente() {
+            // Given
+            VersionCatalogoDto version = new VersionCatalogoDto(2L, 2L, 2L, LocalDateTime.now());
+            InstantaneaCatalogo.Contenido contenido = new InstantaneaCatalogo.Contenido(version, 2, new byte[]{'{', '}'}, null);
+            when(instantaneaCatalogo.vigente(version)).thenReturn(contenido);
+
+            // When
+            InstantaneaCatalogo.Contenido resultado = productoService.obtenerCatalogoSerializado(version);
+
+            // Then
+            assertThat(resultado).isSameAs(contenido);
+            verifyNoInteractions(productoRepository);
+        }
+
+        @Test
+        @DisplayName("Debería retornar null cuando la instantánea no corresponde a la versión")
+        void deberiaRetornarNullSinInstantaneaVigente() {
+            // Given
+            VersionCatalogoDto version = new VersionCatalogoDto(3L, 3L, 3L, LocalDateTime.now());
+            when(instantaneaCatalogo.vigente(version)).thenReturn(null);
+
+            // When & Then
+            assertThat(productoService.obtenerCatalogoSerializado(version)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Suscribir Cambios")
+    class SuscribirCambiosTests {
+
+        @Test
+        @DisplayName("Debería delegar la suscripción al difusor con el Last-Event-ID")
+        void deberiaDelegarSuscripcionAlDifusor() {
+            // Given
+            SseEmitter emitter = new SseEmitter();
+            when(difusorEventos.suscribir("abc-3")).thenReturn(emitter);
+
+            // When
+            SseEmitter resultado = productoService.suscribirCambios("abc-3");
+
+            // Then
+            assertThat(resultado).isSameAs(emitter);
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Obtener Productos Por IDs")
+    class ObtenerProductosPorIdsTests {
+
+        @Test
+        @DisplayName("Debería retornar encontrados en el orden pedido y los IDs faltantes")
+        void deberiaRetornarEncontradosYFaltantes() {
+            // Given
+            when(productoRepository.findByIdInAndActivo(anyCollection(), eq("Y")))
+                    .thenReturn(Arrays.asList(producto1, producto2));
+
+            // When
+            ProductosPorIdsDto resultado = productoService.obtenerProductosPorIds(Arrays.asList(2L, 999L, 1L, 2L));
+
+            // Then
+            assertThat(resultado.getProductos()).extracting(ProductoResponseDto::getId).containsExactly(2L, 1L);
+            assertThat(resultado.getIdsNoEncontrados()).containsExactly(999L);
+            
+            // Una sola consulta, sin IDs repetidos
+            verify(productoRepository).findByIdInAndActivo(
+                    argThat(ids -> ids.size() == 3 && ids.containsAll(Arrays.asList(1L, 2L, 999L))), eq("Y"));
+            verify(productoRepository, never()).findByIdAndActivo(anyLong(), anyString());
+        }
+
+        @Test
+        @DisplayName("Debería reportar todos los IDs como faltantes cuando no hay coincidencias")
+        void deberiaReportarTodosComoFaltantes() {
+            // Given
+            when(productoRepository.findByIdInAndActivo(anyCollection(), eq("Y"))).thenReturn(Collections.emptyList());
+
+            // When
+            ProductosPorIdsDto resultado = productoService.obtenerProductosPorIds(Arrays.asList(7L, 8L));
+
+            // Then
+            assertThat(resultado.getProductos()).isEmpty();
+            assertThat(resultado.getIdsNoEncontrados()).containsExactly(7L, 8L);
+        }
+
+        @Test
+        @DisplayName("Debería aceptar hasta el máximo de IDs en una sola consulta")
+        void deberiaAceptarElMaximoDeIds() {
+            // Given
+            List<Long> ids = LongStream.rangeClosed(1, ProductoServiceImpl.IDS_MAXIMO).boxed().toList();
+            when(productoRepository.findByIdInAndActivo(anyCollection(), eq("Y"))).thenReturn(Collections.emptyList());
+
+            // When
+            ProductosPorIdsDto resultado = productoService.obtenerProductosPorIds(ids);
+
+            // Then
+            assertThat(resultado.getIdsNoEncontrados()).hasSize(ProductoServiceImpl.IDS_MAXIMO);
+            verify(productoRepository, times(1)).findByIdInAndActivo(anyCollection(), eq("Y"));
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando la lista de IDs no es válida")
+        void deberiaLanzarExcepcionCuandoLaListaNoEsValida() {
+            List<Long> demasiados = LongStream.rangeClosed(1, ProductoServiceImpl.IDS_MAXIMO + 1).boxed().toList();
+
+            assertThatThrownBy(() -> productoService.obtenerProductosPorIds(Collections.emptyList()))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("Debe enviar al menos un ID");
+            assertThatThrownBy(() -> productoService.obtenerProductosPorIds(null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.obtenerProductosPorIds(demasiados))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining(String.valueOf(ProductoServiceImpl.IDS_MAXIMO));
+            assertThatThrownBy(() -> productoService.obtenerProductosPorIds(Arrays.asList(1L, -5L)))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("Todos los IDs deben ser números positivos");
+            assertThatThrownBy(() -> productoService.obtenerProductosPorIds(Arrays.asList(1L, null)))
+                    .isInstanceOf(ProductoException.class);
+            
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Obtener Productos Por Precio")
+    class ObtenerProductosPorPrecioTests {
+
+        @Test
+        @DisplayName("Debería resolver el rango con el índice en memoria cuando está disponible")
+        void deberiaUsarElIndice() {
+            // Given
+            ProductoResponseDto mouse = new ProductoResponseDto(producto2);
+            when(indicePrecios.estaDisponible()).thenReturn(true);
+            when(indicePrecios.buscarPorRango(new BigDecimal("10"), new BigDecimal("100"), true, 5))
+                    .thenReturn(new IndicePreciosProductos.Resultado(List.of(mouse), 1));
+
+            // When
+            ProductosPorPrecioDto resultado = productoService.obtenerProductosPorPrecio(
+                    new BigDecimal("10"), new BigDecimal("100"), "-precio", 5);
+
+            // Then
+            assertThat(resultado.getProductos()).containsExactly(mouse);
+            assertThat(resultado.getTotalResultados()).isEqualTo(1);
+            verifyNoInteractions(productoRepository);
+        }
+
+        @Test
+        @DisplayName("Debería retornar todo el rango en orden ascendente por defecto")
+        void deberiaUsarValoresPorDefecto() {
+            // Given
+            when(indicePrecios.estaDisponible()).thenReturn(true);
+            when(indicePrecios.buscarPorRango(null, null, false, Integer.MAX_VALUE))
+                    .thenReturn(new IndicePreciosProductos.Resultado(Collections.emptyList(), 0));
+
+            // When
+            productoService.obtenerProductosPorPrecio(null, null, null, null);
+
+            // Then
+            verify(indicePrecios).buscarPorRango(null, null, false, Integer.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("Debería consultar la base de datos mientras el índice no está disponible")
+        void deberiaUsarLaBaseDeDatosComoRespaldo() {
+            // Given
+            ProductoResponseDto resumen = new ProductoResponseDto(2L, "Mouse", new BigDecimal("25.99"),
+                    null, null, "Y");
+            when(indicePrecios.estaDisponible()).thenReturn(false);
+            when(productoRepository.findListadoByActivoAndPrecioBetween("Y", BigDecimal.ZERO,
+                    ProductoServiceImpl.PRECIO_MAXIMO, Sort.by(Sort.Direction.ASC, "precio", "id"), Limit.of(1)))
+                    .thenReturn(List.of(resumen));
+            when(productoRepository.countByActivoAndPrecioBetween("Y", BigDecimal.ZERO, ProductoServiceImpl.PRECIO_MAXIMO))
+                    .thenReturn(2L);
+
+            // When
+            ProductosPorPrecioDto resultado = productoService.obtenerProductosPorPrecio(null, null, "precio", 1);
+
+            // Then
+            assertThat(resultado.getTotalResultados()).isEqualTo(2);
+            assertThat(resultado.getProductos()).containsExactly(resumen);
+            assertThat(resultado.getProductos().get(0).getDescripcion()).isNull();
+            verify(indicePrecios, never()).buscarPorRango(any(), any(), anyBoolean(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Debería acotar los precios que superan el máximo de la columna")
+        void deberiaAcotarPreciosEnormes() {
+            // Given
+            when(indicePrecios.estaDisponible()).thenReturn(true);
+            when(indicePrecios.buscarPorRango(null, ProductoServiceImpl.PRECIO_MAXIMO, false, Integer.MAX_VALUE))
+                    .thenReturn(new IndicePreciosProductos.Resultado(Collections.emptyList(), 0));
+
+            // When
+            productoService.obtenerProductosPorPrecio(null, new BigDecimal("1e20"), null, null);
+            ProductosPorPrecioDto sinCoincidencias =
+                    productoService.obtenerProductosPorPrecio(new BigDecimal("1e20"), null, null, null);
+
+            // Then
+            verify(indicePrecios).buscarPorRango(null, ProductoServiceImpl.PRECIO_MAXIMO, false, Integer.MAX_VALUE);
+            assertThat(sinCoincidencias.getTotalResultados()).isZero();
+            assertThat(sinCoincidencias.getProductos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el rango, el orden o el límite no son válidos")
+        void deberiaLanzarExcepcionCuandoNoEsValido() {
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(new BigDecimal("-1"), null, null, null))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("El precio mínimo no puede ser negativo");
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(null, new BigDecimal("-1"), null, null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(
+                    new BigDecimal("100"), new BigDecimal("10"), null, null))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("El precio mínimo no puede ser mayor al precio máximo");
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(null, null, "nombre", null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(null, null, null, 0))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.obtenerProductosPorPrecio(
+                    null, null, null, ProductoServiceImpl.LIMITE_MAXIMO + 1))
+                    .isInstanceOf(ProductoException.class);
+
+            verifyNoInteractions(indicePrecios, productoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Buscar Productos")
+    class BuscarProductosTests {
+
+        @Test
+        @DisplayName("Debería delegar en el índice con la paginación por defecto")
+        void deberiaDelegarEnElIndice() {
+            // Given
+            ResultadoBusquedaDto esperado = new ResultadoBusquedaDto(Collections.emptyList(), 0, 1, 20);
+            when(indiceBusqueda.buscar("laptop", 1, ProductoServiceImpl.BUSQUEDA_TAMANO_POR_DEFECTO)).thenReturn(esperado);
+
+            // When
+            ResultadoBusquedaDto resultado = productoService.buscarProductos("laptop", null, null);
+
+            // Then
+            assertThat(resultado).isSameAs(esperado);
+            verifyNoInteractions(productoRepository);
+        }
+
+        @Test
+        @DisplayName("Debería pasar la paginación pedida al índice")
+        void deberiaPasarLaPaginacion() {
+            // Given
+            when(indiceBusqueda.buscar("mouse", 3, 10)).thenReturn(new ResultadoBusquedaDto(Collections.emptyList(), 0, 3, 10));
+
+            // When
+            productoService.buscarProductos("mouse", 3, 10);
+
+            // Then
+            verify(indiceBusqueda).buscar("mouse", 3, 10);
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando la consulta o la paginación no son válidas")
+        void deberiaLanzarExcepcionCuandoNoEsValida() {
+            assertThatThrownBy(() -> productoService.buscarProductos(null, null, null))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("El texto a buscar es obligatorio");
+            assertThatThrownBy(() -> productoService.buscarProductos("   ", null, null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.buscarProductos("x".repeat(201), null, null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.buscarProductos("laptop", 0, null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.buscarProductos("laptop", 1, 101))
+                    .isInstanceOf(ProductoException.class);
+            
+            verifyNoInteractions(indiceBusqueda);
+        }
+    }
+
+    @Nested
+    @DisplayName("Proyecciones Livianas")
+    class ProyeccionesTests {
+
+        @Test
+        @DisplayName("Debería retornar el resumen usando la proyección del repositorio")
+        void deberiaRetornarResumen() {
+            // Given
+            List<ProductoResumenDto> resumen = Arrays.asList(
+                    new ProductoResumenDto(1L, "Laptop Gaming", new BigDecimal("1500.00")),
+                    new ProductoResumenDto(2L, "Mouse Inalámbrico", new BigDecimal("25.99")));
+            when(productoRepository.findResumenByActivo("Y")).thenReturn(resumen);
+
+            // When
+            List<ProductoResumenDto> resultado = productoService.obtenerResumenProductos();
+
+            // Then
+            assertThat(resultado).containsExactlyElementsOf(resumen);
+            verify(productoRepository, never()).findByActivoOrderById(anyString());
+        }
+
+        @Test
+        @DisplayName("Debería retornar la descripción del producto")
+        void deberiaRetornarDescripcion() {
+            // Given
+            when(productoRepository.findDescripcionByIdAndActivo(1L, "Y"))
+                    .thenReturn(Optional.of(new ProductoDescripcionDto(1L, "Laptop para gaming de alta gama")));
+
+            // When
+            ProductoDescripcionDto resultado = productoService.obtenerDescripcionProducto(1L);
+
+            // Then
+            assertThat(resultado.getDescripcion()).isEqualTo("Laptop para gaming de alta gama");
+            verify(productoRepository, never()).findByIdAndActivo(anyLong(), anyString());
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el producto de la descripción no existe")
+        void deberiaLanzarExcepcionCuandoNoExiste() {
+            // Given
+            when(productoRepository.findDescripcionByIdAndActivo(999L, "Y")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> productoService.obtenerDescripcionProducto(999L))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("Producto con ID 999 no fue encontrado");
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el ID de la descripción no es válido")
+        void deberiaLanzarExcepcionCuandoIdNoEsValido() {
+            assertThatThrownBy(() -> productoService.obtenerDescripcionProducto(0L))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.obtenerDescripcionProducto(null))
+                    .isInstanceOf(ProductoException.class);
+            
+            verifyNoInteractions(productoRepository);
+        }
+    }
+
     @Nested
     @DisplayName("Obtener Producto Por ID")
     class ObtenerProductoPorIdTests {
@@ -179,9 +904,6 @@ class ProductoServiceImplTest {
         @DisplayName("Debería crear producto exitosamente")
         void deberiaCrearProductoExitosamente() {
             // Given
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y"))
-                    .thenReturn(false);
-            
             Producto productoGuardado = new Producto();
             productoGuardado.setId(3L);
             productoGuardado.setNombre("Teclado Mecánico");
@@ -191,7 +913,7 @@ class ProductoServiceImplTest {
             productoGuardado.setFechaCreacion(LocalDateTime.now());
             productoGuardado.setFechaActualizacion(LocalDateTime.now());
             
-            when(productoRepository.save(any(Producto.class))).thenReturn(productoGuardado);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenReturn(productoGuardado);
 
             // When
             ProductoResponseDto resultado = productoService.crearProducto(productoRequestDto);
@@ -203,30 +925,62 @@ class ProductoServiceImplTest {
             assertThat(resultado.getPrecio()).isEqualTo(new BigDecimal("89.99"));
             assertThat(resultado.getDescripcion()).isEqualTo("Teclado mecánico RGB");
             
-            verify(productoRepository).existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y");
-            verify(productoRepository).save(argThat(producto -> 
+            verify(productoRepository).saveAndFlush(argThat(producto -> 
                 producto.getNombre().equals("Teclado Mecánico") &&
+                producto.getNombreNormalizado().equals("TECLADO MECANICO") &&
                 producto.getPrecio().equals(new BigDecimal("89.99")) &&
                 producto.getActivo().equals("Y") &&
                 producto.getFechaCreacion() != null &&
                 producto.getFechaActualizacion() != null
             ));
+            verify(eventPublisher).publishEvent(argThat((Object evento) -> 
+                evento instanceof ProductoEvento productoEvento &&
+                productoEvento.getTipo() == ProductoEvento.Tipo.CREADO &&
+                productoEvento.getProducto().getId().equals(3L)
+            ));
         }
 
         @Test
         @DisplayName("Debería lanzar excepción cuando nombre ya existe")
         void deberiaLanzarExcepcionCuandoNombreYaExiste() {
             // Given
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y"))
-                    .thenReturn(true);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenThrow(violacionNombreActivo());
 
             // When & Then
             assertThatThrownBy(() -> productoService.crearProducto(productoRequestDto))
                     .isInstanceOf(ProductoException.class)
-                    .hasMessageContaining("Ya existe");
+                    .hasMessageContaining("Ya existe")
+                    .extracting("tipoError").isEqualTo(ProductoException.TipoError.DUPLICADO);
             
-            verify(productoRepository).existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y");
-            verify(productoRepository, never()).save(any(Producto.class));
+            verify(productoRepository).saveAndFlush(any(Producto.class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Debería detectar el duplicado por el mensaje cuando el driver no expone la restricción")
+        void deberiaDetectarDuplicadoPorMensaje() {
+            // Given
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenThrow(new DataIntegrityViolationException(
+                    "could not execute statement",
+                    new SQLException("Unique index or primary key violation: \"PUBLIC.UX_PRODUCTOS_NOMBRE_ACTIVO_INDEX_F\"")));
+
+            // When & Then
+            assertThatThrownBy(() -> productoService.crearProducto(productoRequestDto))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining("Ya existe");
+        }
+
+        @Test
+        @DisplayName("Debería propagar otras violaciones de integridad")
+        void deberiaPropagarOtrasViolacionesDeIntegridad() {
+            // Given
+            DataIntegrityViolationException violacion = new DataIntegrityViolationException("check violado",
+                    new ConstraintViolationException("check violado", new SQLException("check"), "SYS_C0012345"));
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenThrow(violacion);
+
+            // When & Then
+            assertThatThrownBy(() -> productoService.crearProducto(productoRequestDto))
+                    .isSameAs(violacion);
         }
 
         @Test
@@ -312,14 +1066,16 @@ class ProductoServiceImplTest {
         void deberiaManejarNombresConDiferentesCasosParaDuplicados() {
             // Given
             productoRequestDto.setNombre("TECLADO mecánico");
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("TECLADO mecánico", "Y"))
-                    .thenReturn(true);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenThrow(violacionNombreActivo());
 
             // When & Then
             assertThatThrownBy(() -> productoService.crearProducto(productoRequestDto))
-                    .isInstanceOf(ProductoException.class);
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("Ya existe un producto con el nombre: TECLADO mecánico");
             
-            verify(productoRepository).existsByNombreIgnoreCaseAndActivo("TECLADO mecánico", "Y");
+            // Mayúsculas y tildes se comparan por la misma clave que usa el índice único
+            verify(productoRepository).saveAndFlush(argThat(producto -> 
+                producto.getNombreNormalizado().equals("TECLADO MECANICO")));
         }
 
         @Test
@@ -327,9 +1083,6 @@ class ProductoServiceImplTest {
         void deberiaPermitirCrearProductoConDescripcionNula() {
             // Given
             productoRequestDto.setDescripcion(null);
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y"))
-                    .thenReturn(false);
-            
             Producto productoGuardado = new Producto();
             productoGuardado.setId(3L);
             productoGuardado.setNombre("Teclado Mecánico");
@@ -339,7 +1092,7 @@ class ProductoServiceImplTest {
             productoGuardado.setFechaCreacion(LocalDateTime.now());
             productoGuardado.setFechaActualizacion(LocalDateTime.now());
             
-            when(productoRepository.save(any(Producto.class))).thenReturn(productoGuardado);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenReturn(productoGuardado);
 
             // When
             ProductoResponseDto resultado = productoService.crearProducto(productoRequestDto);
@@ -348,16 +1101,13 @@ class ProductoServiceImplTest {
             assertThat(resultado).isNotNull();
             assertThat(resultado.getDescripcion()).isNull();
             
-            verify(productoRepository).save(any(Producto.class));
+            verify(productoRepository).saveAndFlush(any(Producto.class));
         }
 
         @Test
         @DisplayName("Debería verificar que se establezcan fechas de creación y actualización")
         void deberiaVerificarQueSeEstablezcanFechas() {
             // Given
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y"))
-                    .thenReturn(false);
-            
             Producto productoGuardado = new Producto();
             productoGuardado.setId(3L);
             productoGuardado.setNombre("Teclado Mecánico");
@@ -367,14 +1117,14 @@ class ProductoServiceImplTest {
             productoGuardado.setFechaCreacion(LocalDateTime.now());
             productoGuardado.setFechaActualizacion(LocalDateTime.now());
             
-            when(productoRepository.save(any(Producto.class))).thenReturn(productoGuardado);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenReturn(productoGuardado);
 
             // When
             ProductoResponseDto resultado = productoService.crearProducto(productoRequestDto);
 
             // Then
             assertThat(resultado).isNotNull();
-            verify(productoRepository).save(argThat(producto -> 
+            verify(productoRepository).saveAndFlush(argThat(producto -> 
                 producto.getFechaCreacion() != null &&
                 producto.getFechaActualizacion() != null &&
                 producto.getActivo().equals("Y")
@@ -385,9 +1135,6 @@ class ProductoServiceImplTest {
         @DisplayName("Debería verificar que se use el repositorio correctamente para verificar duplicados")
         void deberiaVerificarUsoCorrectoDelRepositorioParaDuplicados() {
             // Given
-            when(productoRepository.existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y"))
-                    .thenReturn(false);
-            
             Producto productoGuardado = new Producto();
             productoGuardado.setId(3L);
             productoGuardado.setNombre("Teclado Mecánico");
@@ -397,16 +1144,15 @@ class ProductoServiceImplTest {
             productoGuardado.setFechaCreacion(LocalDateTime.now());
             productoGuardado.setFechaActualizacion(LocalDateTime.now());
             
-            when(productoRepository.save(any(Producto.class))).thenReturn(productoGuardado);
+            when(productoRepository.saveAndFlush(any(Producto.class))).thenReturn(productoGuardado);
 
             // When
             productoService.crearProducto(productoRequestDto);
 
             // Then
-            // Verificar que se llame primero la verificación de duplicado
-            verify(productoRepository).existsByNombreIgnoreCaseAndActivo("Teclado Mecánico", "Y");
-            // Luego el guardado
-            verify(productoRepository).save(any(Producto.class));
+            // Sin consulta previa de duplicados: la unicidad la garantiza el índice al hacer flush
+            verify(productoRepository).saveAndFlush(any(Producto.class));
+            verifyNoMoreInteractions(productoRepository);
         }
 
         @Test
@@ -435,4 +1181,171 @@ class ProductoServiceImplTest {
             verify(productoRepository, never()).findByIdAndActivo(id, "N");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Crear Productos En Lote")
+    class CrearProductosEnLoteTests {
+
+        private final AtomicLong secuencia = new AtomicLong(100);
+
+        private ProductoRequestDto request(String nombre, String precio) {
+            ProductoRequestDto request = new ProductoRequestDto();
+            request.setNombre(nombre);
+            request.setPrecio(precio != null ? new BigDecimal(precio) : null);
+            return request;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void simularGuardado() {
+            when(productoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Producto> productos = invocation.getArgument(0);
+                productos.forEach(producto -> producto.setId(secuencia.incrementAndGet()));
+                return productos;
+            });
+        }
+
+        @Test
+        @DisplayName("Debería crear todos los productos válidos del lote")
+        void deberiaCrearTodosLosProductosValidos() {
+            // Given
+            when(productoRepository.findNombresActivosExistentes(anyCollection())).thenReturn(Collections.emptyList());
+            simularGuardado();
+
+            // When
+            ResultadoLoteDto resultado = productoService.crearProductosEnLote(Arrays.asList(
+                    request("Monitor 27", "899.00"), request("Hub USB-C", "45.50")));
+
+            // Then
+            assertThat(resultado.getTotal()).isEqualTo(2);
+            assertThat(resultado.getCreados()).isEqualTo(2);
+            assertThat(resultado.getRechazados()).isZero();
+            assertThat(resultado.getResultados())
+                    .extracting(ResultadoItemLoteDto::getEstado)
+                    .containsExactly(ResultadoItemLoteDto.Estado.CREADO, ResultadoItemLoteDto.Estado.CREADO);
+            assertThat(resultado.getResultados().get(0).getProducto().getId()).isEqualTo(101L);
+            assertThat(resultado.getResultados().get(1).getProducto().getNombre()).isEqualTo("Hub USB-C");
+            
+            verify(entityManager).flush();
+            verify(entityManager).clear();
+            verify(eventPublisher, times(2)).publishEvent(any(ProductoEvento.class));
+            verify(productoRepository, never()).saveAndFlush(any(Producto.class));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar elementos inválidos sin afectar al resto")
+        void deberiaRechazarElementosInvalidos() {
+            // Given
+            when(productoRepository.findNombresActivosExistentes(anyCollection())).thenReturn(Collections.emptyList());
+            simularGuardado();
+
+            // When
+            ResultadoLoteDto resultado = productoService.crearProductosEnLote(Arrays.asList(
+                    request("", "10.00"), request("Cable HDMI", "15.00"), request("Cargador", null)));
+
+            // Then
+            assertThat(resultado.getCreados()).isEqualTo(1);
+            assertThat(resultado.getRechazados()).isEqualTo(2);
+            assertThat(resultado.getResultados())
+                    .extracting(ResultadoItemLoteDto::getEstado)
+                    .containsExactly(ResultadoItemLoteDto.Estado.INVALIDO, 
+                                     ResultadoItemLoteDto.Estado.CREADO, 
+                                     ResultadoItemLoteDto.Estado.INVALIDO);
+            assertThat(resultado.getResultados().get(0).getError()).isEqualTo("El nombre del producto es obligatorio");
+            assertThat(resultado.getResultados().get(2).getIndice()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar nombres existentes y repetidos dentro del lote")
+        void deberiaRechazarDuplicados() {
+            // Given
+            when(productoRepository.findNombresActivosExistentes(anyCollection()))
+                    .thenReturn(Collections.singletonList("LAPTOP GAMING"));
+            simularGuardado();
+
+            // When
+            ResultadoLoteDto resultado = productoService.crearProductosEnLote(Arrays.asList(
+                    request("LAPTOP GAMING", "10.00"), request("Tablet", "300.00"), request("tablet", "310.00")));
+
+            // Then
+            assertThat(resultado.getCreados()).isEqualTo(1);
+            assertThat(resultado.getResultados())
+                    .extracting(ResultadoItemLoteDto::getEstado)
+                    .containsExactly(ResultadoItemLoteDto.Estado.DUPLICADO, 
+                                     ResultadoItemLoteDto.Estado.CREADO, 
+                                     ResultadoItemLoteDto.Estado.DUPLICADO);
+            assertThat(resultado.getResultados().get(0).getError())
+                    .isEqualTo("Ya existe un producto con el nombre: LAPTOP GAMING");
+            assertThat(resultado.getResultados().get(2).getError()).contains("elemento 1");
+            
+            verify(productoRepository).findNombresActivosExistentes(
+                    argThat(nombres -> nombres.size() == 2 && nombres.contains("LAPTOP GAMING") && nombres.contains("TABLET")));
+        }
+
+        @Test
+        @DisplayName("Debería consultar duplicados e insertar por bloques")
+        void deberiaConsultarEInsertarPorBloques() {
+            // Given
+            List<ProductoRequestDto> lote = IntStream.range(0, 1200)
+                    .mapToObj(i -> request("Producto " + i, "1.00"))
+                    .toList();
+            when(productoRepository.findNombresActivosExistentes(anyCollection())).thenReturn(Collections.emptyList());
+            simularGuardado();
+
+            // When
+            ResultadoLoteDto resultado = productoService.crearProductosEnLote(lote);
+
+            // Then
+            assertThat(resultado.getCreados()).isEqualTo(1200);
+            verify(productoRepository, times(2)).findNombresActivosExistentes(anyCollection());
+            verify(productoRepository, times(1200 / ProductoServiceImpl.FILAS_POR_BATCH)).saveAll(anyList());
+            verify(entityManager, times(1200 / ProductoServiceImpl.FILAS_POR_BATCH)).clear();
+        }
+
+        @Test
+        @DisplayName("Debería reportar conflicto cuando otro proceso crea un nombre del lote")
+        void deberiaReportarConflictoConcurrente() {
+            // Given
+            when(productoRepository.findNombresActivosExistentes(anyCollection())).thenReturn(Collections.emptyList());
+            when(productoRepository.saveAll(anyList())).thenThrow(violacionNombreActivo());
+
+            // When & Then
+            assertThatThrownBy(() -> productoService.crearProductosEnLote(Collections.singletonList(productoRequestDto)))
+                    .isInstanceOf(ProductoException.class)
+                    .extracting("tipoError").isEqualTo(ProductoException.TipoError.DUPLICADO);
+        }
+
+        @Test
+        @DisplayName("Debería no insertar cuando todos los elementos son rechazados")
+        void deberiaNoInsertarCuandoTodosSonRechazados() {
+            // Given
+            when(productoRepository.findNombresActivosExistentes(anyCollection()))
+                    .thenReturn(Collections.singletonList("LAPTOP GAMING"));
+
+            // When
+            ResultadoLoteDto resultado = productoService.crearProductosEnLote(Arrays.asList(
+                    request("Laptop Gaming", "10.00"), request(null, "10.00")));
+
+            // Then
+            assertThat(resultado.getCreados()).isZero();
+            assertThat(resultado.getRechazados()).isEqualTo(2);
+            verify(productoRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción cuando el lote está vacío o supera el máximo")
+        void deberiaLanzarExcepcionCuandoElLoteNoEsValido() {
+            List<ProductoRequestDto> loteGrande = Collections.nCopies(ProductoServiceImpl.LOTE_MAXIMO + 1, productoRequestDto);
+
+            assertThatThrownBy(() -> productoService.crearProductosEnLote(Collections.emptyList()))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessage("El lote debe contener al menos un producto");
+            assertThatThrownBy(() -> productoService.crearProductosEnLote(null))
+                    .isInstanceOf(ProductoException.class);
+            assertThatThrownBy(() -> productoService.crearProductosEnLote(loteGrande))
+                    .isInstanceOf(ProductoException.class)
+                    .hasMessageContaining(String.valueOf(ProductoServiceImpl.LOTE_MAXIMO));
+            
+            verifyNoInteractions(productoRepository);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pruebatec.productos.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MarcaCambios Tests")
+class MarcaCambiosTest {
+
+    @Test
+    @DisplayName("Debería recuperar la misma fecha e ID al decodificar")
+    void deberiaRecuperarFechaEId() {
+        MarcaCambios marca = new MarcaCambios(LocalDateTime.of(2025, 7, 27, 10, 30, 15, 123_456_000), 18L);
+
+        assertEquals(marca, MarcaCambios.decodificar(marca.codificar()));
+    }
+
+    @Test
+    @DisplayName("Debería conservar la precisión de microsegundos (TIMESTAMP de Oracle)")
+    void deberiaConservarMicrosegundos() {
+        LocalDateTime fecha = LocalDateTime.of(2025, 7, 27, 10, 30, 15, 123_456_789);
+
+        MarcaCambios decodificada = MarcaCambios.decodificar(new MarcaCambios(fecha, 1L).codificar());
+
+        assertEquals(123_456_000, decodificada.fecha().getNano());
+    }
+
+    @Test
+    @DisplayName("Debería codificar la marca inicial")
+    void deberiaCodificarMarcaInicial() {
+        assertEquals("0-0", MarcaCambios.INICIAL.codificar());
+        assertEquals(MarcaCambios.INICIAL, MarcaCambios.decodificar("0-0"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar marcas mal formadas")
+    void deberiaRechazarMarcasInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> MarcaCambios.decodificar("abc"));
+        assertThrows(IllegalArgumentException.class, () -> MarcaCambios.decodificar("-5"));
+        assertThrows(IllegalArgumentException.class, () -> MarcaCambios.decodificar("hna93dnonm-"));
+        assertThrows(IllegalArgumentException.class, () -> MarcaCambios.decodificar("hna9!dnonm-5"));
+        assertThrows(IllegalArgumentException.class, () -> MarcaCambios.decodificar("hna93dnonm--5"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.pruebatec.productos.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NombreNormalizador Tests")
+class NombreNormalizadorTest {
+
+    @Test
+    @DisplayName("Debería convertir a mayúsculas")
+    void deberiaConvertirAMayusculas() {
+        assertEquals("MOUSE LOGITECH", NombreNormalizador.normalizar("Mouse Logitech"));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar tildes, diéresis y eñes")
+    void deberiaEliminarTildes() {
+        assertEquals("AUDIFONOS SONY", NombreNormalizador.normalizar("Audífonos Sony"));
+        assertEquals("PINGUINO", NombreNormalizador.normalizar("pingüino"));
+        assertEquals("ANO NUEVO", NombreNormalizador.normalizar("Año Nuevo"));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar cualquier marca diacrítica, no solo las del español")
+    void deberiaEliminarMarcasNoEspanolas() {
+        assertEquals("CREME BRULEE", NombreNormalizador.normalizar("Crème brûlée"));
+        assertEquals("FACADE NAIVE", NombreNormalizador.normalizar("façade naïve"));
+        assertEquals("CAO", NombreNormalizador.normalizar("Ção"));
+    }
+
+    @Test
+    @DisplayName("Debería descartar caracteres de control en los extremos")
+    void deberiaDescartarControlesEnLosExtremos() {
+        assertEquals("MOUSE", NombreNormalizador.normalizar("\tMouse\n"));
+    }
+
+    @Test
+    @DisplayName("Debería producir la misma clave para variantes del mismo nombre")
+    void deberiaProducirLaMismaClave() {
+        assertEquals(NombreNormalizador.normalizar("Teclado Mecánico"),
+                     NombreNormalizador.normalizar("  TECLADO MECANICO "));
+    }
+
+    @Test
+    @DisplayName("Debería conservar caracteres que no son letras")
+    void deberiaConservarOtrosCaracteres() {
+        assertEquals("MONITOR SAMSUNG 24\" F24T450FQL", NombreNormalizador.normalizar("Monitor Samsung 24\" F24T450FQL"));
+    }
+
+    @Test
+    @DisplayName("Debería retornar null cuando el nombre es null")
+    void deberiaRetornarNullCuandoEsNull() {
+        assertNull(NombreNormalizador.normalizar(null));
+    }
+}